@@ -0,0 +1,48 @@
+package com.backend.benchmark;
+
+import com.backend.common.utils.DateUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日期工具类基准
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DateUtilsBenchmark {
+
+    private LocalDateTime dateTime = LocalDateTime.of(2024, 5, 20, 13, 14, 15);
+
+    private String text = "2024-05-20 13:14:15";
+
+    @Benchmark
+    public String format() {
+        return DateUtils.format(dateTime);
+    }
+
+    @Benchmark
+    public String formatWithPattern() {
+        return DateUtils.format(dateTime, DateUtils.DEFAULT_DATE_PATTERN);
+    }
+
+    @Benchmark
+    public String formatNow() {
+        return DateUtils.formatNow();
+    }
+
+    @Benchmark
+    public LocalDateTime parse() {
+        return DateUtils.parse(text);
+    }
+}
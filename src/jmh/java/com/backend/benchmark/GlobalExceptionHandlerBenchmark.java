@@ -0,0 +1,93 @@
+package com.backend.benchmark;
+
+import com.backend.common.exception.BusinessException;
+import com.backend.common.exception.GlobalExceptionHandler;
+import com.backend.common.result.Result;
+import com.backend.common.result.ResultCode;
+import com.backend.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindException;
+
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 全局异常处理器错误路径基准
+ * 异常对象在准备阶段创建，只测量处理器本身（消息拼接、日志、响应构建）；
+ * 日志级别由 src/jmh/resources/logback-test.xml 控制，默认不输出
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GlobalExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    private BusinessException businessException;
+
+    private BindException bindException;
+
+    private ConstraintViolationException constraintViolationException;
+
+    private DuplicateKeyException duplicateKeyException;
+
+    private RuntimeException runtimeException;
+
+    @Setup
+    public void setUp() {
+        businessException = BusinessException.of(ResultCode.DATA_NOT_FOUND, "用户不存在");
+
+        User invalid = new User();
+        invalid.setUsername("ab");
+        invalid.setPassword("123");
+        invalid.setEmail("not-an-email");
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        constraintViolationException = new ConstraintViolationException(validator.validate(invalid));
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(invalid, "user");
+        bindingResult.rejectValue("username", "Size", "用户名长度必须在3-50个字符之间");
+        bindingResult.rejectValue("email", "Email", "邮箱格式不正确");
+        bindException = new BindException(bindingResult);
+
+        duplicateKeyException = new DuplicateKeyException("Duplicate entry 'admin' for key 'sys_user.uk_username'");
+        runtimeException = new IllegalStateException("unexpected");
+    }
+
+    @Benchmark
+    public Result<Void> businessException() {
+        return handler.handleBusinessException(businessException);
+    }
+
+    @Benchmark
+    public Result<Void> bindException() {
+        return handler.handleBindException(bindException);
+    }
+
+    @Benchmark
+    public Result<Void> constraintViolation() {
+        return handler.handleConstraintViolationException(constraintViolationException);
+    }
+
+    @Benchmark
+    public Result<Void> duplicateKey() {
+        return handler.handleDuplicateKeyException(duplicateKeyException);
+    }
+
+    @Benchmark
+    public Result<Void> runtimeException() {
+        return handler.handleRuntimeException(runtimeException);
+    }
+}
@@ -0,0 +1,56 @@
+package com.backend.benchmark;
+
+import com.backend.common.metrics.LatencyHistogram;
+import com.backend.common.metrics.RequestMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 接口延迟记录开销基准
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestMetricsBenchmark {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    private final RequestMetrics requestMetrics = new RequestMetrics();
+
+    private Method handler;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = RequestMetricsBenchmark.class.getMethod("recordEndpoint");
+    }
+
+    @Benchmark
+    public void recordHistogram() {
+        histogram.record(ThreadLocalRandom.current().nextLong(50_000, 5_000_000));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordHistogramContended() {
+        histogram.record(ThreadLocalRandom.current().nextLong(50_000, 5_000_000));
+    }
+
+    @Benchmark
+    public void recordEndpoint() {
+        requestMetrics.endpoint(handler, () -> "GET", () -> "/user/{id}")
+                .record(200, ThreadLocalRandom.current().nextLong(50_000, 5_000_000));
+    }
+}
@@ -0,0 +1,100 @@
+package com.backend.benchmark;
+
+import com.backend.common.result.PageResult;
+import com.backend.common.result.Result;
+import com.backend.entity.User;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 响应结果构建与 JSON 序列化基准
+ * ObjectMapper 按 application.yml 中 spring.jackson 的配置构建，与接口实际输出一致
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResultBenchmark {
+
+    @Param({"1", "20", "500"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private List<User> users;
+
+    private Result<PageResult<User>> pageResult;
+
+    private Result<User> userResult;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .dateFormat(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"))
+                .timeZone(TimeZone.getTimeZone("GMT+8"))
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+        users = new ArrayList<>(pageSize);
+        LocalDateTime now = LocalDateTime.of(2024, 5, 20, 13, 14, 15);
+        for (int i = 0; i < pageSize; i++) {
+            User user = new User();
+            user.setId(1_000_000L + i);
+            user.setUsername("user" + i);
+            user.setPassword("secret" + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setPhone(String.valueOf(13800000000L + i));
+            user.setRealName("用户" + i);
+            user.setStatus(i % 2);
+            user.setVersion(0);
+            user.setCreateTime(now);
+            user.setUpdateTime(now);
+            users.add(user);
+        }
+        pageResult = buildPage();
+        userResult = Result.success("查询成功", users.get(0));
+    }
+
+    @Benchmark
+    public Result<User> buildSuccess() {
+        return Result.success("查询成功", users.get(0));
+    }
+
+    @Benchmark
+    public Result<PageResult<User>> buildPage() {
+        return Result.success("查询成功", PageResult.of(users, 10_000L, 1L, (long) pageSize));
+    }
+
+    @Benchmark
+    public Result<Void> buildError() {
+        return Result.error("查询失败");
+    }
+
+    @Benchmark
+    public String serializeUser() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(userResult);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pageResult);
+    }
+}
@@ -0,0 +1,65 @@
+package com.backend.benchmark;
+
+import com.backend.common.utils.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 字符串工具类基准
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StringUtilsBenchmark {
+
+    private String blank = "   \t  ";
+
+    private String text = "  api-foundation  ";
+
+    private String camel = "userRoleCacheRebuildInterval";
+
+    private String underscore = "user_role_cache_rebuild_interval";
+
+    private List<String> parts = Arrays.asList("admin", "test", "demo", "guest", "operator");
+
+    @Benchmark
+    public boolean isBlank() {
+        return StringUtils.isBlank(blank);
+    }
+
+    @Benchmark
+    public String trimToNull() {
+        return StringUtils.trimToNull(text);
+    }
+
+    @Benchmark
+    public String camelToUnderscore() {
+        return StringUtils.camelToUnderscore(camel);
+    }
+
+    @Benchmark
+    public String underscoreToCamel() {
+        return StringUtils.underscoreToCamel(underscore);
+    }
+
+    @Benchmark
+    public String join() {
+        return StringUtils.join(parts, ",");
+    }
+
+    @Benchmark
+    public String leftPad() {
+        return StringUtils.leftPad("42", 10, '0');
+    }
+}
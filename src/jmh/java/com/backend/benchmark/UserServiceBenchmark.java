@@ -0,0 +1,149 @@
+package com.backend.benchmark;
+
+import com.alibaba.druid.filter.FilterAdapter;
+import com.alibaba.druid.filter.FilterChain;
+import com.alibaba.druid.proxy.jdbc.StatementProxy;
+import com.backend.ApiFoundationApplication;
+import com.backend.common.result.PageResult;
+import com.backend.entity.User;
+import com.backend.service.UserRoleService;
+import com.backend.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户服务基准
+ * 使用 H2 内存库（MySQL 兼容模式）启动完整的非 Web 应用上下文，表结构和数据见 src/jmh/resources/benchmark；
+ * 测量的是服务层及以下（缓存、索引、MyBatis、连接池）的开销，不代表 MySQL 上的绝对耗时
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserServiceBenchmark {
+
+    /**
+     * 循环访问的用户数，小于用户缓存容量，按 id/用户名查询走缓存命中路径
+     */
+    private static final int HOT_USERS = 100;
+
+    private ConfigurableApplicationContext context;
+
+    private UserService userService;
+
+    private UserRoleService userRoleService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ApiFoundationApplication.class)
+                .web(WebApplicationType.NONE)
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .registerSingleton("h2FetchSizeFilter", new H2FetchSizeFilter()))
+                // 命令行参数优先级高于 application.yml
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.druid.filters=stat",
+                        "--spring.datasource.druid.validation-query=SELECT 1",
+                        "--spring.sql.init.mode=always",
+                        "--spring.sql.init.schema-locations=classpath:benchmark/schema.sql",
+                        "--spring.sql.init.data-locations=classpath:benchmark/data.sql",
+                        "--spring.jpa.hibernate.ddl-auto=none",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--logging.level.com.backend=error",
+                        "--logging.level.org.hibernate=error",
+                        "--logging.level.org.springframework=error");
+        userService = context.getBean(UserService.class);
+        userRoleService = context.getBean(UserRoleService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 每个线程独立的查询参数序列
+     */
+    @State(Scope.Thread)
+    public static class Keys {
+
+        private int next;
+
+        long nextId() {
+            next = next % HOT_USERS + 1;
+            return next;
+        }
+    }
+
+    /**
+     * H2 不接受 MySQL 流式读取使用的负数 fetchSize，忽略该设置，使启动时的索引构建能正常完成
+     */
+    private static final class H2FetchSizeFilter extends FilterAdapter {
+
+        @Override
+        public void statement_setFetchSize(FilterChain chain, StatementProxy statement, int rows) throws SQLException {
+            if (rows >= 0) {
+                chain.statement_setFetchSize(statement, rows);
+            }
+        }
+    }
+
+    @Benchmark
+    public User getById(Keys keys) {
+        return userService.getById(keys.nextId());
+    }
+
+    @Benchmark
+    public User getUserByUsername(Keys keys) {
+        return userService.getUserByUsername("user" + keys.nextId());
+    }
+
+    @Benchmark
+    public boolean existsByUsernameMissing(Keys keys) {
+        return userService.existsByUsername("missing" + keys.nextId());
+    }
+
+    @Benchmark
+    public PageResult<User> getUserPage() {
+        return userService.getUserPage(1L, 20L, null, null, null, true);
+    }
+
+    @Benchmark
+    public PageResult<User> getUserPageByUsername() {
+        return userService.getUserPage(1L, 20L, "user12", null, null, true);
+    }
+
+    @Benchmark
+    public PageResult<User> getUserPageByCursor() {
+        return userService.getUserPageByCursor(null, 20L, null, null, 0);
+    }
+
+    @Benchmark
+    public UserService.UserStatistics getUserStatistics() {
+        return userService.getUserStatistics();
+    }
+
+    @Benchmark
+    public boolean hasRole(Keys keys) {
+        return userRoleService.hasRole(keys.nextId(), "USER");
+    }
+}
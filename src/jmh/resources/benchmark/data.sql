@@ -0,0 +1,17 @@
+-- 基准测试数据：10000 个用户，每 10 个禁用 1 个（DATABASE_TO_LOWER 下 SYSTEM_RANGE 的列名需加引号）
+
+INSERT INTO sys_user (username, password, email, phone, real_name, status, remark)
+SELECT 'user' || "X", '123456', 'user' || "X" || '@example.com', CAST(13800000000 + "X" AS VARCHAR),
+       '用户' || "X", CASE WHEN MOD("X", 10) = 0 THEN 1 ELSE 0 END, '基准测试用户'
+FROM SYSTEM_RANGE(1, 10000);
+
+INSERT INTO sys_role (role_name, role_code, description, status) VALUES
+('超级管理员', 'SUPER_ADMIN', '系统超级管理员，拥有所有权限', 0),
+('管理员', 'ADMIN', '系统管理员，拥有大部分权限', 0),
+('普通用户', 'USER', '普通用户，拥有基础权限', 0);
+
+INSERT INTO sys_user_role (user_id, role_id) SELECT "X", 3 FROM SYSTEM_RANGE(1, 10000);
+
+INSERT INTO sys_config (config_key, config_value, config_type, description, is_system) VALUES
+('user.password.min.length', '6', 'NUMBER', '用户密码最小长度', 1),
+('user.session.timeout', '30', 'NUMBER', '用户会话超时时间（分钟）', 1);
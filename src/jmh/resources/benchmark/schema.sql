@@ -0,0 +1,79 @@
+-- 基准测试用 H2 表结构（MySQL 兼容模式），与 sql/init.sql 保持列一致
+
+CREATE TABLE sys_user (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(50) NOT NULL,
+    password VARCHAR(100) NOT NULL,
+    email VARCHAR(100) DEFAULT NULL,
+    phone VARCHAR(20) DEFAULT NULL,
+    real_name VARCHAR(50) DEFAULT NULL,
+    avatar VARCHAR(500) DEFAULT NULL,
+    status INT NOT NULL DEFAULT 0,
+    remark VARCHAR(500) DEFAULT NULL,
+    version INT NOT NULL DEFAULT 0,
+    create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    update_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    create_by VARCHAR(50) DEFAULT 'system',
+    update_by VARCHAR(50) DEFAULT 'system',
+    deleted INT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_username UNIQUE (username),
+    CONSTRAINT uk_email UNIQUE (email),
+    CONSTRAINT uk_phone UNIQUE (phone)
+);
+CREATE INDEX idx_status ON sys_user (status);
+CREATE INDEX idx_create_time ON sys_user (create_time);
+
+CREATE TABLE sys_role (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    role_name VARCHAR(50) NOT NULL,
+    role_code VARCHAR(50) NOT NULL,
+    description VARCHAR(200) DEFAULT NULL,
+    status INT NOT NULL DEFAULT 0,
+    create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    update_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    create_by VARCHAR(50) DEFAULT 'system',
+    update_by VARCHAR(50) DEFAULT 'system',
+    deleted INT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_role_code UNIQUE (role_code)
+);
+
+CREATE TABLE sys_user_role (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    create_by VARCHAR(50) DEFAULT 'system',
+    CONSTRAINT uk_user_role UNIQUE (user_id, role_id)
+);
+
+CREATE TABLE sys_config (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    config_key VARCHAR(100) NOT NULL,
+    config_value TEXT,
+    config_type VARCHAR(20) NOT NULL DEFAULT 'STRING',
+    description VARCHAR(200) DEFAULT NULL,
+    is_system INT NOT NULL DEFAULT 0,
+    create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    update_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    create_by VARCHAR(50) DEFAULT 'system',
+    update_by VARCHAR(50) DEFAULT 'system',
+    deleted INT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_config_key UNIQUE (config_key)
+);
+
+CREATE TABLE sys_operation_log (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT DEFAULT NULL,
+    username VARCHAR(50) DEFAULT NULL,
+    operation VARCHAR(100) NOT NULL,
+    method VARCHAR(200) NOT NULL,
+    params TEXT,
+    result TEXT,
+    ip VARCHAR(50) DEFAULT NULL,
+    location VARCHAR(200) DEFAULT NULL,
+    user_agent VARCHAR(500) DEFAULT NULL,
+    execute_time BIGINT DEFAULT NULL,
+    status INT NOT NULL DEFAULT 0,
+    error_msg TEXT,
+    create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,35 @@
+package com.backend.common.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 操作日志注解
+ * 标注的接口方法执行后异步写入 sys_operation_log
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OperLog {
+
+    /**
+     * 操作类型，如 "创建用户"
+     */
+    String value();
+
+    /**
+     * 是否记录请求参数
+     */
+    boolean saveParams() default true;
+
+    /**
+     * 是否记录返回结果
+     */
+    boolean saveResult() default true;
+}
@@ -0,0 +1,224 @@
+package com.backend.common.aspect;
+
+import com.backend.common.annotation.OperLog;
+import com.backend.common.result.Result;
+import com.backend.common.result.ResultCode;
+import com.backend.common.utils.CachedClock;
+import com.backend.common.utils.RequestUtils;
+import com.backend.config.OperationLogProperties;
+import com.backend.entity.OperationLog;
+import com.backend.service.support.OperationLogWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * 操作日志切面
+ * 请求线程只做有上限的序列化并提交给 {@link OperationLogWriter}，不访问数据库；
+ * 返回 CompletionStage 的异步接口在完成时记录结果。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Slf4j
+@Aspect
+@Component
+public class OperLogAspect {
+
+    private static final int STATUS_SUCCESS = 0;
+
+    private static final int STATUS_FAILURE = 1;
+
+    private static final String MASK = "******";
+
+    /**
+     * 与 sys_operation_log 的列宽一致：ip VARCHAR(50)，user_agent VARCHAR(500)；error_msg 沿用 500 的上限。
+     * 超长的值会让整批写入失败，ip 来自可伪造的 X-Forwarded-For，同样需要截断
+     */
+    private static final int MAX_IP_LENGTH = 50;
+
+    private static final int MAX_TEXT_LENGTH = 500;
+
+    /**
+     * 序列化原文上限为最大保存长度的倍数，超出部分在后台压缩前就已放弃
+     */
+    private static final int RAW_LIMIT_FACTOR = 8;
+
+    private final OperationLogWriter operationLogWriter;
+
+    private final OperationLogProperties config;
+
+    private final ObjectMapper objectMapper;
+
+    public OperLogAspect(OperationLogWriter operationLogWriter, OperationLogProperties config,
+                         ObjectMapper objectMapper) {
+        this.operationLogWriter = operationLogWriter;
+        this.config = config;
+        this.objectMapper = objectMapper;
+    }
+
+    @Around("@annotation(operLog)")
+    public Object around(ProceedingJoinPoint joinPoint, OperLog operLog) throws Throwable {
+        if (!config.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        long start = System.currentTimeMillis();
+        // 异步接口完成时可能已不在请求线程上，客户端信息先取出
+        String ip = null;
+        String userAgent = null;
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+            ip = truncate(RequestUtils.clientIp(request), MAX_IP_LENGTH);
+            userAgent = truncate(request.getHeader("User-Agent"), MAX_TEXT_LENGTH);
+        }
+
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            record(joinPoint, operLog, null, e, start, ip, userAgent);
+            throw e;
+        }
+        if (result instanceof CompletionStage) {
+            // 异步执行的接口在完成时记录，耗时包含排队时间
+            String clientIp = ip;
+            String clientUserAgent = userAgent;
+            ((CompletionStage<?>) result).whenComplete((value, error) -> record(joinPoint, operLog, value,
+                    error instanceof CompletionException && error.getCause() != null ? error.getCause() : error,
+                    start, clientIp, clientUserAgent));
+        } else {
+            record(joinPoint, operLog, result, null, start, ip, userAgent);
+        }
+        return result;
+    }
+
+    private void record(ProceedingJoinPoint joinPoint, OperLog operLog, Object result, Throwable error, long start,
+                        String ip, String userAgent) {
+        try {
+            OperationLog operationLog = build(joinPoint, operLog, result, error, System.currentTimeMillis() - start);
+            operationLog.setIp(ip);
+            operationLog.setUserAgent(userAgent);
+            operationLogWriter.submit(operationLog);
+        } catch (Exception e) {
+            log.warn("记录操作日志失败: {}", e.getMessage());
+        }
+    }
+
+    private OperationLog build(ProceedingJoinPoint joinPoint, OperLog operLog, Object result, Throwable error,
+                               long executeTime) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        OperationLog operationLog = new OperationLog();
+        operationLog.setOperation(operLog.value());
+        operationLog.setMethod(signature.getDeclaringType().getName() + "." + signature.getName());
+        if (operLog.saveParams()) {
+            operationLog.setParams(toJson(params(signature.getParameterNames(), joinPoint.getArgs())));
+        }
+        if (operLog.saveResult() && result != null) {
+            operationLog.setResult(toJson(result));
+        }
+
+        operationLog.setStatus(STATUS_SUCCESS);
+        if (error != null) {
+            operationLog.setStatus(STATUS_FAILURE);
+            operationLog.setErrorMsg(truncate(error.getMessage() != null ? error.getMessage() : error.getClass().getName(),
+                    MAX_TEXT_LENGTH));
+        } else if (result instanceof Result && !ResultCode.SUCCESS.getCode().equals(((Result<?>) result).getCode())) {
+            operationLog.setStatus(STATUS_FAILURE);
+            operationLog.setErrorMsg(truncate(((Result<?>) result).getMessage(), MAX_TEXT_LENGTH));
+        }
+        operationLog.setExecuteTime(executeTime);
+        operationLog.setCreateTime(CachedClock.now());
+        return operationLog;
+    }
+
+    /**
+     * 参数名到参数值，跳过请求、响应和流对象，密码类参数脱敏
+     */
+    private static Map<String, Object> params(String[] names, Object[] args) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg instanceof ServletRequest || arg instanceof ServletResponse || arg instanceof MultipartFile
+                    || arg instanceof InputStream || arg instanceof OutputStream
+                    || arg instanceof Reader || arg instanceof Writer) {
+                continue;
+            }
+            String name = names != null && i < names.length ? names[i] : "arg" + i;
+            params.put(name, name.toLowerCase().contains("password") ? MASK : arg);
+        }
+        return params;
+    }
+
+    private String toJson(Object value) {
+        LimitedWriter writer = new LimitedWriter(config.getMaxPayloadLength() * RAW_LIMIT_FACTOR);
+        try {
+            objectMapper.writeValue(writer, value);
+        } catch (Exception e) {
+            if (!writer.exceeded) {
+                return "序列化失败: " + e.getMessage();
+            }
+        }
+        return writer.exceeded ? writer.builder + "...(已截断)" : writer.builder.toString();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    /**
+     * 达到上限后中止序列化，避免大请求体在请求线程上完整序列化
+     */
+    private static final class LimitedWriter extends Writer {
+
+        private final StringBuilder builder = new StringBuilder();
+
+        private final int limit;
+
+        private boolean exceeded;
+
+        private LimitedWriter(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            int remaining = limit - builder.length();
+            if (length > remaining) {
+                builder.append(buffer, offset, Math.max(0, remaining));
+                exceeded = true;
+                throw new IOException("超过长度上限");
+            }
+            builder.append(buffer, offset, length);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.backend.common.collection;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 字符串布隆过滤器
+ * 位数组基于 AtomicLongArray，支持多线程无锁写入和读取；
+ * 下标由两个 64 位哈希组合（h1 + i * h2）后对位数取模，位数不受 int 范围限制（上限约 2^37 位）
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+public class BloomFilter {
+
+    /**
+     * 由第一个哈希派生第二个哈希时的扰动常量
+     */
+    private static final long SECOND_HASH_SEED = 0x9E3779B97F4A7C15L;
+
+    private final AtomicLongArray bits;
+
+    private final long bitSize;
+
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions 预计元素数量
+     * @param falsePositiveRate  期望误判率
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(expectedInsertions, 1L);
+        long m = (long) (-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1L, (m + 63) >>> 6));
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+    }
+
+    /**
+     * 添加元素
+     */
+    public void put(String value) {
+        long h1 = hash(value);
+        long h2 = fmix64(h1 ^ SECOND_HASH_SEED);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = bitIndex(h1 + i * h2, bitSize);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    /**
+     * 判断元素是否可能存在，返回 false 时一定不存在
+     */
+    public boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = fmix64(h1 ^ SECOND_HASH_SEED);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = bitIndex(h1 + i * h2, bitSize);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 位数组大小（bit）
+     */
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * 64 位组合哈希映射到位下标，位数组超过 2^31 位时高位同样可达
+     */
+    static long bitIndex(long combinedHash, long bitSize) {
+        return (combinedHash & Long.MAX_VALUE) % bitSize;
+    }
+
+    /**
+     * 64位哈希：FNV-1a 累加字符后做 MurmurHash3 的 fmix64 混淆
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return fmix64(h);
+    }
+
+    private static long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93c185a5ec5L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
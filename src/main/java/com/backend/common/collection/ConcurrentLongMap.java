@@ -0,0 +1,183 @@
+package com.backend.common.collection;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+
+/**
+ * long 键的开放寻址哈希表（单写多读）
+ * 读取无锁、不装箱、不分配对象；写入需由调用方串行化（或通过本类的同步方法）。
+ * 值为 null 表示删除，删除的槽位在扩容时清理。值对象发布后不应再修改。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public class ConcurrentLongMap<V> {
+
+    private static final long EMPTY_KEY = 0L;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private volatile Table<V> table;
+
+    /**
+     * 键 0 单独存放，0 在槽位中表示空
+     */
+    private volatile V zeroValue;
+
+    private int used;
+
+    public ConcurrentLongMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public ConcurrentLongMap(int expectedSize) {
+        this.table = new Table<>(capacityFor(expectedSize));
+    }
+
+    public V get(long key) {
+        if (key == EMPTY_KEY) {
+            return zeroValue;
+        }
+        Table<V> current = table;
+        int mask = current.mask;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            long slot = current.keys.get(i);
+            if (slot == key) {
+                return current.values.get(i);
+            }
+            if (slot == EMPTY_KEY) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * 写入，value 为 null 时等同删除
+     */
+    public synchronized void put(long key, V value) {
+        if (key == EMPTY_KEY) {
+            zeroValue = value;
+            return;
+        }
+        Table<V> current = table;
+        int index = indexOf(current, key);
+        if (index >= 0) {
+            current.values.set(index, value);
+            return;
+        }
+        if (value == null) {
+            return;
+        }
+        if ((used + 1) * 4L > current.keys.length() * 3L) {
+            current = resize(current);
+        }
+        insert(current, key, value);
+        used++;
+    }
+
+    public void remove(long key) {
+        put(key, null);
+    }
+
+    /**
+     * 遍历当前存在的键值，遍历期间的写入可能可见也可能不可见
+     */
+    public void forEach(BiConsumer<Long, V> action) {
+        V zero = zeroValue;
+        if (zero != null) {
+            action.accept(EMPTY_KEY, zero);
+        }
+        Table<V> current = table;
+        for (int i = 0; i < current.keys.length(); i++) {
+            long key = current.keys.get(i);
+            V value = current.values.get(i);
+            if (key != EMPTY_KEY && value != null) {
+                action.accept(key, value);
+            }
+        }
+    }
+
+    /**
+     * 当前存在的键数量（遍历计数）
+     */
+    public int size() {
+        int[] size = {0};
+        forEach((key, value) -> size[0]++);
+        return size[0];
+    }
+
+    private Table<V> resize(Table<V> current) {
+        int live = 0;
+        for (int i = 0; i < current.keys.length(); i++) {
+            if (current.keys.get(i) != EMPTY_KEY && current.values.get(i) != null) {
+                live++;
+            }
+        }
+        Table<V> resized = new Table<>(capacityFor(live + 1));
+        for (int i = 0; i < current.keys.length(); i++) {
+            long key = current.keys.get(i);
+            V value = current.values.get(i);
+            if (key != EMPTY_KEY && value != null) {
+                insert(resized, key, value);
+            }
+        }
+        used = live;
+        table = resized;
+        return resized;
+    }
+
+    private static int indexOf(Table<?> table, long key) {
+        int mask = table.mask;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            long slot = table.keys.get(i);
+            if (slot == key) {
+                return i;
+            }
+            if (slot == EMPTY_KEY) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * 先写值再写键，读取方看到键时一定能看到值
+     */
+    private static <V> void insert(Table<V> table, long key, V value) {
+        int mask = table.mask;
+        int i = mix(key) & mask;
+        while (table.keys.get(i) != EMPTY_KEY) {
+            i = (i + 1) & mask;
+        }
+        table.values.set(i, value);
+        table.keys.set(i, key);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3L < expectedSize * 4L + 4) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static final class Table<V> {
+
+        private final AtomicLongArray keys;
+
+        private final AtomicReferenceArray<V> values;
+
+        private final int mask;
+
+        private Table(int capacity) {
+            this.keys = new AtomicLongArray(capacity);
+            this.values = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.backend.common.collection;
+
+import java.util.Arrays;
+
+/**
+ * 基本类型 int 列表
+ * 直接存放在 int 数组中，避免 Integer 装箱，用于倒排索引的记录列表
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public class IntList {
+
+    private static final int[] EMPTY = new int[0];
+
+    private int[] values;
+
+    private int size;
+
+    public IntList() {
+        this.values = EMPTY;
+    }
+
+    public IntList(int initialCapacity) {
+        this.values = initialCapacity == 0 ? EMPTY : new int[initialCapacity];
+    }
+
+    /**
+     * 追加元素
+     */
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(4, size + (size >> 1)));
+        }
+        values[size++] = value;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 在升序列表的 [from, size) 范围内二分查找第一个不小于 value 的位置
+     */
+    public int lowerBound(int value, int from) {
+        int low = from;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 释放多余容量
+     */
+    public void trimToSize() {
+        if (values.length > size) {
+            values = size == 0 ? EMPTY : Arrays.copyOf(values, size);
+        }
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
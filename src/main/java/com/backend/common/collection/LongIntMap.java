@@ -0,0 +1,157 @@
+package com.backend.common.collection;
+
+/**
+ * long 键、int 值的开放寻址哈希表（线性探测）
+ * 键和值直接存放在基本类型数组中，不装箱，每个条目约 12 字节；删除时回移后续条目，不留墓碑。
+ * 非线程安全，由调用方加锁。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public class LongIntMap {
+
+    private static final long EMPTY_KEY = 0L;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+
+    private int[] values;
+
+    private int mask;
+
+    private int size;
+
+    /**
+     * 键 0 单独存放，0 在槽位中表示空
+     */
+    private boolean hasZero;
+
+    private int zeroValue;
+
+    public LongIntMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongIntMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * 查询键对应的值，不存在时返回 missing
+     */
+    public int get(long key, int missing) {
+        if (key == EMPTY_KEY) {
+            return hasZero ? zeroValue : missing;
+        }
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            long slot = keys[i];
+            if (slot == key) {
+                return values[i];
+            }
+            if (slot == EMPTY_KEY) {
+                return missing;
+            }
+        }
+    }
+
+    public void put(long key, int value) {
+        if (key == EMPTY_KEY) {
+            if (!hasZero) {
+                hasZero = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int i = mix(key) & mask;
+        while (keys[i] != EMPTY_KEY) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        if (size * 4L > keys.length * 3L) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * 删除键，返回原值，不存在时返回 missing
+     */
+    public int remove(long key, int missing) {
+        if (key == EMPTY_KEY) {
+            if (!hasZero) {
+                return missing;
+            }
+            hasZero = false;
+            size--;
+            return zeroValue;
+        }
+        int i = mix(key) & mask;
+        while (keys[i] != key) {
+            if (keys[i] == EMPTY_KEY) {
+                return missing;
+            }
+            i = (i + 1) & mask;
+        }
+        int previous = values[i];
+        // 把探测链上后续的条目前移到空出的位置，保证查找不会提前遇到空槽
+        int gap = i;
+        for (int j = (gap + 1) & mask; keys[j] != EMPTY_KEY; j = (j + 1) & mask) {
+            int home = mix(keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = EMPTY_KEY;
+        size--;
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY_KEY) {
+                int j = mix(key) & mask;
+                while (keys[j] != EMPTY_KEY) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = key;
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3L < expectedSize * 4L + 4) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
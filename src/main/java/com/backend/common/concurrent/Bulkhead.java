@@ -0,0 +1,186 @@
+package com.backend.common.concurrent;
+
+import com.backend.common.datasource.RoutingContext;
+import com.backend.common.exception.BulkheadRejectedException;
+import com.backend.common.exception.BusinessException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 隔离舱：固定线程数、有界队列的执行器
+ * 队列满时立即以 BulkheadRejectedException（HTTP 503）失败；排队超过超时时间仍未开始执行时以同样的异常结束，出队后直接跳过。
+ * 排队超时只作用于排队阶段：已开始执行的任务一定返回真实结果，写操作不会出现“返回失败但实际已提交”的情况。
+ * 请求整体的期限由各类别的请求超时单独控制，超过时由 MVC 按异步请求超时返回，已开始的任务仍会执行完毕。
+ * <p>
+ * 任务在线程池中执行，结束后清除主库固定标记，避免带到下一个请求。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public class Bulkhead {
+
+    /**
+     * 请求属性：处理该请求的隔离舱的请求超时（毫秒）
+     */
+    public static final String REQUEST_TIMEOUT_ATTRIBUTE = Bulkhead.class.getName() + ".REQUEST_TIMEOUT";
+
+    private final String name;
+
+    private final ThreadPoolExecutor executor;
+
+    private final ScheduledExecutorService timer;
+
+    private final long timeoutNanos;
+
+    private final long requestTimeoutMillis;
+
+    private final LongAdder submitted = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder timeouts = new LongAdder();
+
+    private final LongAdder skipped = new LongAdder();
+
+    /**
+     * @param async 为 false 时在调用线程上同步执行，不排队也不计超时
+     */
+    Bulkhead(String name, int threads, int queueCapacity, long timeoutNanos, long requestTimeoutMillis,
+             ScheduledExecutorService timer, boolean async) {
+        this.name = name;
+        this.timer = timer;
+        this.timeoutNanos = timeoutNanos;
+        this.requestTimeoutMillis = requestTimeoutMillis;
+        if (async) {
+            AtomicInteger sequence = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                Thread thread = new Thread(runnable, "bulkhead-" + name + "-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.executor.allowCoreThreadTimeOut(true);
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * 在隔离舱中处理请求
+     * 任务抛出的业务异常和数据库连接异常原样交给全局异常处理（隔离舱拒绝、连接池耗尽返回 503），
+     * 其他运行时异常由 fallback 转换为失败结果。
+     * 在请求线程上调用时记下本类别的请求超时，由 BulkheadConfig 注册的拦截器设置为该请求的异步超时。
+     */
+    public <T> CompletableFuture<T> execute(Supplier<T> task, Function<RuntimeException, T> fallback) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(REQUEST_TIMEOUT_ATTRIBUTE, requestTimeoutMillis, RequestAttributes.SCOPE_REQUEST);
+        }
+        return submit(() -> {
+            try {
+                return task.get();
+            } catch (BusinessException | TransientDataAccessResourceException | CannotGetJdbcConnectionException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                return fallback.apply(e);
+            }
+        });
+    }
+
+    /**
+     * 提交任务，返回的 Future 以任务结果、任务异常、拒绝或排队超时结束
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        submitted.increment();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (executor == null) {
+            run(task, future);
+            return future;
+        }
+        // 执行线程和超时定时器谁先置位谁决定结果：开始执行后超时不再生效
+        AtomicBoolean started = new AtomicBoolean();
+        try {
+            executor.execute(() -> {
+                if (!started.compareAndSet(false, true)) {
+                    skipped.increment();
+                    return;
+                }
+                run(task, future);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            future.completeExceptionally(new BulkheadRejectedException("服务繁忙（" + name + "），请稍后重试"));
+            return future;
+        }
+        ScheduledFuture<?> timeout = timer.schedule(() -> {
+            if (started.compareAndSet(false, true)) {
+                timeouts.increment();
+                future.completeExceptionally(new BulkheadRejectedException("排队超时（" + name + "），请稍后重试"));
+            }
+        }, timeoutNanos, TimeUnit.NANOSECONDS);
+        future.whenComplete((value, error) -> timeout.cancel(false));
+        return future;
+    }
+
+    private static <T> void run(Supplier<T> task, CompletableFuture<T> future) {
+        try {
+            future.complete(task.get());
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        } finally {
+            RoutingContext.clear();
+        }
+    }
+
+    public long getTimeoutMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(timeoutNanos);
+    }
+
+    public long getRequestTimeoutMillis() {
+        return requestTimeoutMillis;
+    }
+
+    /**
+     * 隔离舱统计
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("async", executor != null);
+        stats.put("threads", executor == null ? 0 : executor.getMaximumPoolSize());
+        stats.put("active", executor == null ? 0 : executor.getActiveCount());
+        stats.put("queued", executor == null ? 0 : executor.getQueue().size());
+        stats.put("queueCapacity", executor == null ? 0
+                : executor.getQueue().size() + executor.getQueue().remainingCapacity());
+        stats.put("timeoutMillis", getTimeoutMillis());
+        stats.put("requestTimeoutMillis", requestTimeoutMillis);
+        stats.put("submitted", submitted.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("timeouts", timeouts.sum());
+        stats.put("skipped", skipped.sum());
+        return stats;
+    }
+
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
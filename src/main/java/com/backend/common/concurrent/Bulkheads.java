@@ -0,0 +1,93 @@
+package com.backend.common.concurrent;
+
+import com.backend.config.BulkheadProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * 用户接口的隔离舱：单条查询、搜索、单条写入、批量操作各自一个有界线程池
+ * 线程数之和应不超过连接池上限，慢搜索最多占满自己的线程和队列，单条查询和写入不受影响。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class Bulkheads implements DisposableBean {
+
+    private final ScheduledThreadPoolExecutor timer;
+
+    private final Bulkhead pointRead;
+
+    private final Bulkhead search;
+
+    private final Bulkhead write;
+
+    private final Bulkhead bulk;
+
+    public Bulkheads(BulkheadProperties properties) {
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "bulkhead-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+        this.pointRead = create("point-read", properties.getPointRead(), properties.isEnabled());
+        this.search = create("search", properties.getSearch(), properties.isEnabled());
+        this.write = create("write", properties.getWrite(), properties.isEnabled());
+        this.bulk = create("bulk", properties.getBulk(), properties.isEnabled());
+        log.info("接口隔离舱初始化完成，异步执行: {}", properties.isEnabled());
+    }
+
+    public Bulkhead pointRead() {
+        return pointRead;
+    }
+
+    public Bulkhead search() {
+        return search;
+    }
+
+    public Bulkhead write() {
+        return write;
+    }
+
+    public Bulkhead bulk() {
+        return bulk;
+    }
+
+    /**
+     * 各隔离舱统计
+     */
+    public Map<String, Object> stats() {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (Bulkhead bulkhead : all()) {
+            items.add(bulkhead.stats());
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("bulkheads", items);
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        all().forEach(Bulkhead::shutdown);
+        timer.shutdownNow();
+    }
+
+    private List<Bulkhead> all() {
+        return Arrays.asList(pointRead, search, write, bulk);
+    }
+
+    private Bulkhead create(String name, BulkheadProperties.Pool config, boolean async) {
+        return new Bulkhead(name, config.getThreads(), config.getQueueCapacity(), config.getTimeout().toNanos(),
+                config.getRequestTimeout().toMillis(), timer, async);
+    }
+}
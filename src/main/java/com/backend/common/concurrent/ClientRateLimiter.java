@@ -0,0 +1,143 @@
+package com.backend.common.concurrent;
+
+import com.backend.config.AdmissionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按客户端的令牌桶限速
+ * 采用 GCRA（通用信元速率算法）表示令牌桶：每个客户端只保存一个理论到达时间（TAT），
+ * 每个请求把 TAT 推后一个发放间隔，TAT 超前当前时间超过突发容量时拒绝。TAT 用 CAS 更新，不加锁；
+ * 客户端表为 ConcurrentHashMap，按哈希分段，不同客户端之间没有竞争。
+ * <p>
+ * TAT 不晚于当前时间的客户端令牌已回满，与不存在等价，定时清理；
+ * 跟踪的客户端数达到上限后，新客户端共用一个桶，直到清理腾出位置。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Slf4j
+public class ClientRateLimiter {
+
+    /**
+     * 超出跟踪上限的客户端共用的桶
+     */
+    static final String OVERFLOW_CLIENT = "(other)";
+
+    private static final int TOP_CLIENTS = 10;
+
+    private final AdmissionProperties.Client config;
+
+    /**
+     * 令牌发放间隔
+     */
+    private final long emissionNanos;
+
+    /**
+     * TAT 允许超前当前时间的最大值，即突发容量
+     */
+    private final long toleranceNanos;
+
+    private final Map<String, AtomicLong> clients = new ConcurrentHashMap<>();
+
+    private final LongAdder allowed = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    public ClientRateLimiter(AdmissionProperties.Client config) {
+        this.config = config;
+        this.emissionNanos = Math.max(1L, (long) (1e9 / Math.max(1e-3, config.getRate())));
+        this.toleranceNanos = emissionNanos * Math.max(1, config.getBurst());
+    }
+
+    /**
+     * 尝试消耗客户端的一个令牌
+     *
+     * @return 0 表示放行，否则为下一个令牌可用前的纳秒数
+     */
+    public long tryAcquire(String client) {
+        AtomicLong tat = bucket(client);
+        long now = System.nanoTime();
+        while (true) {
+            long current = tat.get();
+            long next = (current - now > 0 ? current : now) + emissionNanos;
+            long excess = next - now - toleranceNanos;
+            if (excess > 0) {
+                rejected.increment();
+                return excess;
+            }
+            if (tat.compareAndSet(current, next)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    private AtomicLong bucket(String client) {
+        AtomicLong tat = clients.get(client);
+        if (tat != null) {
+            return tat;
+        }
+        if (clients.size() >= config.getMaxClients()) {
+            client = OVERFLOW_CLIENT;
+        }
+        return clients.computeIfAbsent(client, key -> new AtomicLong(System.nanoTime()));
+    }
+
+    /**
+     * 清理令牌已回满的客户端
+     * 与并发请求存在竞争：刚被移除的桶上的一次扣减会丢失，相当于多放行一个请求
+     */
+    @Scheduled(initialDelayString = "${app.admission.client.cleanup-interval:PT1M}",
+            fixedDelayString = "${app.admission.client.cleanup-interval:PT1M}")
+    public void cleanup() {
+        long now = System.nanoTime();
+        int before = clients.size();
+        clients.values().removeIf(tat -> tat.get() - now <= 0);
+        log.debug("限速客户端清理: {} -> {}", before, clients.size());
+    }
+
+    /**
+     * 限速统计，hottest 为积压最多的客户端（积压 = TAT 超前当前时间的部分，超过突发容量即被拒绝）
+     */
+    public Map<String, Object> stats() {
+        long now = System.nanoTime();
+        List<Map.Entry<String, Long>> backlogs = new ArrayList<>();
+        clients.forEach((client, tat) -> {
+            long backlog = tat.get() - now;
+            if (backlog > 0) {
+                backlogs.add(new AbstractMap.SimpleImmutableEntry<>(client, backlog));
+            }
+        });
+        backlogs.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+
+        List<Map<String, Object>> hottest = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : backlogs.subList(0, Math.min(TOP_CLIENTS, backlogs.size()))) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("client", entry.getKey());
+            item.put("tokens", Math.max(0L, (toleranceNanos - entry.getValue()) / emissionNanos));
+            item.put("limited", entry.getValue() + emissionNanos > toleranceNanos);
+            hottest.add(item);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", config.isEnabled());
+        stats.put("rate", config.getRate());
+        stats.put("burst", config.getBurst());
+        stats.put("clients", clients.size());
+        stats.put("maxClients", config.getMaxClients());
+        stats.put("allowed", allowed.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("hottest", hottest);
+        return stats;
+    }
+}
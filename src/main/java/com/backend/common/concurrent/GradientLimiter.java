@@ -0,0 +1,165 @@
+package com.backend.common.concurrent;
+
+import com.backend.config.AdmissionProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按延迟梯度调整的并发上限
+ * 每个窗口比较窗口平均延迟与无排队时的延迟基线：梯度 = 容忍倍数 × 基线 / 窗口延迟，限制在 [0.5, 1]；
+ * 新上限 = 上限 × 梯度 + √上限，平滑后限制在配置范围内。延迟不高于基线的容忍倍数时上限逐步增长，
+ * 延迟升高（请求开始排队）时上限按比例收缩。窗口内峰值并发不到上限一半时不调整，避免空闲时上限无限增长。
+ * <p>
+ * 基线取各窗口平均延迟的低位：更低的窗口立即采用，更高的只按 baselineWindows 缓慢跟随。
+ * 若用长期平均作基线，持续排队时基线会随之升高，上限停在排队状态；取单个请求的最小延迟则会被个别极快的接口拉低。
+ * <p>
+ * 在途请求数和窗口统计都是分段计数器（LongAdder），放行时先加一再读总数，超过上限则撤回并拒绝，
+ * 并发放行时只会多拒绝、不会超出上限。窗口结束后第一个完成的请求通过 CAS 取得调整权，调整不加锁。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public class GradientLimiter {
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final AdmissionProperties.Limit config;
+
+    private final LongAdder inflight = new LongAdder();
+
+    private final LongAdder windowSamples = new LongAdder();
+
+    private final LongAdder windowRttNanos = new LongAdder();
+
+    private final LongAccumulator windowPeak = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder windowRejected = new LongAdder();
+
+    private final LongAdder admitted = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final AtomicLong nextUpdateNanos;
+
+    private volatile int limit;
+
+    /**
+     * 未取整的上限，只由取得调整权的线程写入
+     */
+    private volatile double estimatedLimit;
+
+    /**
+     * 延迟基线，0 表示尚无数据
+     */
+    private volatile double baselineRttNanos;
+
+    private volatile Map<String, Object> lastWindow = new LinkedHashMap<>();
+
+    public GradientLimiter(AdmissionProperties.Limit config) {
+        this.config = config;
+        this.estimatedLimit = clamp(config.getInitialLimit());
+        this.limit = (int) estimatedLimit;
+        this.nextUpdateNanos = new AtomicLong(System.nanoTime() + config.getWindow().toNanos());
+    }
+
+    /**
+     * 尝试放行一个请求，放行后必须调用 {@link #release(long)}
+     */
+    public boolean tryAcquire() {
+        inflight.increment();
+        long current = inflight.sum();
+        if (current > limit) {
+            inflight.decrement();
+            windowRejected.increment();
+            rejected.increment();
+            return false;
+        }
+        windowPeak.accumulate(current);
+        admitted.increment();
+        return true;
+    }
+
+    /**
+     * 请求完成，记录从放行到完成的延迟
+     *
+     * @param startNanos 放行时的 System.nanoTime()
+     */
+    public void release(long startNanos) {
+        inflight.decrement();
+        long now = System.nanoTime();
+        windowRttNanos.add(now - startNanos);
+        windowSamples.increment();
+
+        long next = nextUpdateNanos.get();
+        if (now - next >= 0 && windowSamples.sum() >= config.getMinWindowSamples()
+                && nextUpdateNanos.compareAndSet(next, now + config.getWindow().toNanos())) {
+            update();
+        }
+    }
+
+    private void update() {
+        long samples = windowSamples.sumThenReset();
+        long rttNanos = windowRttNanos.sumThenReset();
+        long peak = windowPeak.getThenReset();
+        long intervalRejected = windowRejected.sumThenReset();
+        if (samples == 0) {
+            return;
+        }
+
+        double shortRtt = Math.max(1D, (double) rttNanos / samples);
+        double baseline = baselineRttNanos;
+        baseline = baseline == 0 ? shortRtt
+                : Math.min(shortRtt, baseline + (shortRtt - baseline) / Math.max(1, config.getBaselineWindows()));
+        baselineRttNanos = baseline;
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1D, config.getTolerance() * baseline / shortRtt));
+        double estimated = estimatedLimit;
+        if (config.isAdaptive() && peak * 2 >= estimated) {
+            double target = estimated * gradient + Math.sqrt(estimated);
+            double smoothing = Math.max(0.01, Math.min(1D, config.getSmoothing()));
+            estimated = clamp(estimated * (1 - smoothing) + target * smoothing);
+            estimatedLimit = estimated;
+            limit = (int) estimated;
+        }
+
+        Map<String, Object> window = new LinkedHashMap<>();
+        window.put("samples", samples);
+        window.put("rttMillis", shortRtt / 1e6);
+        window.put("baselineRttMillis", baseline / 1e6);
+        window.put("gradient", gradient);
+        window.put("peakInflight", peak);
+        window.put("rejected", intervalRejected);
+        window.put("limit", limit);
+        lastWindow = window;
+    }
+
+    private double clamp(double value) {
+        int min = Math.max(1, config.getMinLimit());
+        return Math.max(min, Math.min(Math.max(min, config.getMaxLimit()), value));
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * 并发上限统计
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("adaptive", config.isAdaptive());
+        stats.put("limit", limit);
+        stats.put("minLimit", config.getMinLimit());
+        stats.put("maxLimit", config.getMaxLimit());
+        stats.put("inflight", inflight.sum());
+        stats.put("baselineRttMillis", baselineRttNanos / 1e6);
+        stats.put("admitted", admitted.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("lastWindow", lastWindow);
+        return stats;
+    }
+}
@@ -0,0 +1,106 @@
+package com.backend.common.datasource;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.backend.common.utils.DateUtils;
+import com.backend.config.RoutingDataSourceProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 连接池上限自适应控制器
+ * 定时读取各连接池的等待时长、借出速率和峰值占用，在配置范围内调整 Druid 的 maxActive：
+ * 连接全部借出且出现等待（平均等待超过阈值、有等待线程、快速失败或超时）时按 1/4 扩容；
+ * 连续多个周期峰值占用不超过上限一半时按 1/4 缩容。每次调整记录日志并保留最近的记录。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Slf4j
+public class AdaptivePoolController {
+
+    private final RoutingDataSourceProperties.Pool config;
+
+    private final List<AdaptivePoolDataSource> pools = new CopyOnWriteArrayList<>();
+
+    private final Deque<Map<String, Object>> decisions = new ArrayDeque<>();
+
+    private long lastAdjustNanos = System.nanoTime();
+
+    public AdaptivePoolController(RoutingDataSourceProperties.Pool config) {
+        this.config = config;
+    }
+
+    /**
+     * 纳入控制的连接池，启用自适应时初始上限限制在配置范围内
+     */
+    public AdaptivePoolDataSource register(DruidDataSource pool) {
+        if (config.isAdaptive()) {
+            int lower = Math.max(config.getMinActive(), pool.getMinIdle());
+            int limit = Math.min(config.getMaxActive(), Math.max(lower, pool.getMaxActive()));
+            if (limit != pool.getMaxActive()) {
+                log.info("连接池 {} 初始上限调整到自适应范围: {} -> {}", pool.getName(), pool.getMaxActive(), limit);
+                pool.setMaxActive(limit);
+            }
+        }
+        AdaptivePoolDataSource dataSource = new AdaptivePoolDataSource(pool, config);
+        pools.add(dataSource);
+        return dataSource;
+    }
+
+    @Scheduled(initialDelayString = "${app.datasource.pool.adjust-interval:PT1S}",
+            fixedDelayString = "${app.datasource.pool.adjust-interval:PT1S}")
+    public synchronized void adjust() {
+        long now = System.nanoTime();
+        long intervalNanos = now - lastAdjustNanos;
+        lastAdjustNanos = now;
+        for (AdaptivePoolDataSource pool : pools) {
+            String decision;
+            try {
+                decision = pool.adjust(intervalNanos);
+            } catch (RuntimeException e) {
+                log.warn("连接池 {} 上限调整失败", pool.getName(), e);
+                continue;
+            }
+            if (decision != null) {
+                log.info("连接池 {} 上限调整: {}", pool.getName(), decision);
+                record(pool.getName(), decision);
+            }
+        }
+    }
+
+    /**
+     * 各连接池状态及最近的调整记录（新的在前）
+     */
+    public synchronized Map<String, Object> stats() {
+        List<Map<String, Object>> items = new ArrayList<>(pools.size());
+        for (AdaptivePoolDataSource pool : pools) {
+            items.add(pool.stats());
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("adaptive", config.isAdaptive());
+        stats.put("latencyBudgetMillis", config.getLatencyBudget().toMillis());
+        stats.put("growWaitMillis", config.getGrowWait().toMillis());
+        stats.put("pools", items);
+        stats.put("decisions", new ArrayList<>(decisions));
+        return stats;
+    }
+
+    private void record(String pool, String decision) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("time", DateUtils.formatNow());
+        item.put("pool", pool);
+        item.put("decision", decision);
+        decisions.addFirst(item);
+        while (decisions.size() > config.getHistorySize()) {
+            decisions.removeLast();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.backend.common.datasource;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.alibaba.druid.pool.GetConnectionTimeoutException;
+import com.backend.config.RoutingDataSourceProperties;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 带延迟预算的 Druid 连接池包装
+ * 获取连接的等待不超过预算；连接已全部借出时按 Little 定律估算等待时间（前面的等待线程数 × 平均占用时长 / 上限），
+ * 预计超过预算时直接失败，不再排队。失败抛出 SQLTransientConnectionException，
+ * 经 Spring 异常转换为 TransientDataAccessResourceException，对外返回 DATABASE_CONNECTION_ERROR。
+ * <p>
+ * 借出次数、等待时长、峰值占用按周期累计，由 {@link AdaptivePoolController} 定时读取并调整上限。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public class AdaptivePoolDataSource extends DelegatingDataSource {
+
+    private final DruidDataSource pool;
+
+    private final RoutingDataSourceProperties.Pool config;
+
+    private final LongAdder borrows = new LongAdder();
+
+    /**
+     * 成功借出的次数及借出前看到的占用数之和，用于估算平均占用连接数
+     */
+    private final LongAdder acquired = new LongAdder();
+
+    private final LongAdder activeSum = new LongAdder();
+
+    private final LongAdder waitNanos = new LongAdder();
+
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+    private final LongAccumulator peakActive = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder timeouts = new LongAdder();
+
+    private final LongAdder totalBorrows = new LongAdder();
+
+    private final LongAdder totalRejected = new LongAdder();
+
+    private final LongAdder totalTimeouts = new LongAdder();
+
+    /**
+     * 连接平均占用时长的估算，0 表示尚无数据
+     */
+    private volatile long holdNanos;
+
+    /**
+     * 连续空闲（峰值占用不超过上限一半）的周期数
+     */
+    private int idleIntervals;
+
+    private volatile Map<String, Object> lastInterval = new LinkedHashMap<>();
+
+    public AdaptivePoolDataSource(DruidDataSource pool, RoutingDataSourceProperties.Pool config) {
+        super(pool);
+        this.pool = pool;
+        this.config = config;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long budgetNanos = config.getLatencyBudget().toNanos();
+        long expectedNanos = expectedWaitNanos();
+        if (expectedNanos > budgetNanos) {
+            rejected.increment();
+            totalRejected.increment();
+            throw new SQLTransientConnectionException(String.format("连接池 %s 已满，预计等待 %dms，超过预算 %dms",
+                    pool.getName(), expectedNanos / 1_000_000, budgetNanos / 1_000_000));
+        }
+
+        int activeBefore = pool.getActiveCount();
+        long start = System.nanoTime();
+        try {
+            Connection connection = pool.getConnection(Math.max(1, budgetNanos / 1_000_000));
+            acquired.increment();
+            activeSum.add(activeBefore);
+            peakActive.accumulate(pool.getActiveCount());
+            return connection;
+        } catch (GetConnectionTimeoutException e) {
+            timeouts.increment();
+            totalTimeouts.increment();
+            throw new SQLTransientConnectionException(String.format("连接池 %s 获取连接超过预算 %dms",
+                    pool.getName(), budgetNanos / 1_000_000), e);
+        } finally {
+            long waited = System.nanoTime() - start;
+            borrows.increment();
+            totalBorrows.increment();
+            waitNanos.add(waited);
+            maxWaitNanos.accumulate(waited);
+        }
+    }
+
+    /**
+     * 连接全部借出时的预计等待时间，有空闲连接或还能新建连接时为 0
+     */
+    private long expectedWaitNanos() {
+        long hold = holdNanos;
+        int limit = pool.getMaxActive();
+        if (hold == 0 || pool.getPoolingCount() > 0 || pool.getActiveCount() < limit) {
+            return 0;
+        }
+        return (pool.getNotEmptyWaitThreadCount() + 1L) * hold / limit;
+    }
+
+    /**
+     * 结束一个统计周期并计算新的上限，由控制器单线程调用
+     *
+     * @return 调整原因，不需要调整时返回 null
+     */
+    String adjust(long intervalNanos) {
+        long intervalBorrows = borrows.sumThenReset();
+        long intervalAcquired = acquired.sumThenReset();
+        long intervalActiveSum = activeSum.sumThenReset();
+        long intervalWaitNanos = waitNanos.sumThenReset();
+        long intervalMaxWait = maxWaitNanos.getThenReset();
+        long intervalRejected = rejected.sumThenReset();
+        long intervalTimeouts = timeouts.sumThenReset();
+        int active = pool.getActiveCount();
+        int waiting = pool.getNotEmptyWaitThreadCount();
+        int peak = (int) Math.max(peakActive.getThenReset(), active);
+        int limit = pool.getMaxActive();
+
+        // Little 定律：平均占用时长 = 平均占用连接数 / 借出速率
+        // 借出前看到的占用数的均值即时间平均（不含自己）；连接用满时恰为上限，估算为 上限 / 归还速率
+        if (intervalAcquired > 0) {
+            double averageActive = (double) intervalActiveSum / intervalAcquired;
+            holdNanos = Math.max(1, (long) (averageActive * intervalNanos / intervalAcquired));
+        }
+        long averageWaitNanos = intervalBorrows == 0 ? 0 : intervalWaitNanos / intervalBorrows;
+
+        Map<String, Object> interval = new LinkedHashMap<>();
+        interval.put("borrows", intervalBorrows);
+        interval.put("borrowRate", intervalNanos == 0 ? 0D : intervalBorrows * 1e9 / intervalNanos);
+        interval.put("avgWaitMillis", averageWaitNanos / 1e6);
+        interval.put("maxWaitMillis", intervalMaxWait / 1e6);
+        interval.put("peakActive", peak);
+        interval.put("rejected", intervalRejected);
+        interval.put("timeouts", intervalTimeouts);
+        lastInterval = interval;
+
+        if (!config.isAdaptive()) {
+            return null;
+        }
+        boolean congested = averageWaitNanos >= config.getGrowWait().toNanos() || waiting > 0
+                || intervalRejected > 0 || intervalTimeouts > 0;
+        // 只有连接确实全部借出时才扩容；连接未用满仍在等待说明瓶颈在数据库，扩容只会加重负载
+        if (congested && peak >= limit) {
+            idleIntervals = 0;
+            int target = Math.min(config.getMaxActive(), limit + Math.max(1, limit / 4));
+            if (target > limit) {
+                pool.setMaxActive(target);
+                return String.format("扩容 %d -> %d，平均等待 %.1fms，等待线程 %d，快速失败 %d，超时 %d",
+                        limit, target, averageWaitNanos / 1e6, waiting, intervalRejected, intervalTimeouts);
+            }
+            return null;
+        }
+        if (peak * 2 > limit) {
+            idleIntervals = 0;
+            return null;
+        }
+        if (++idleIntervals < config.getShrinkAfter()) {
+            return null;
+        }
+        idleIntervals = 0;
+        int target = Math.max(lowerBound(), limit - Math.max(1, limit / 4));
+        if (target < limit) {
+            pool.setMaxActive(target);
+            return String.format("缩容 %d -> %d，连续 %d 个周期峰值占用不超过一半（最近峰值 %d）",
+                    limit, target, config.getShrinkAfter(), peak);
+        }
+        return null;
+    }
+
+    /**
+     * 上限不低于配置下限和 Druid 的 min-idle
+     */
+    private int lowerBound() {
+        return Math.max(config.getMinActive(), pool.getMinIdle());
+    }
+
+    /**
+     * 连接池统计
+     */
+    Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", pool.getName());
+        stats.put("limit", pool.getMaxActive());
+        stats.put("minLimit", lowerBound());
+        stats.put("maxLimit", config.getMaxActive());
+        stats.put("active", pool.getActiveCount());
+        stats.put("idle", pool.getPoolingCount());
+        stats.put("waiting", pool.getNotEmptyWaitThreadCount());
+        stats.put("holdMillis", holdNanos / 1e6);
+        stats.put("totalBorrows", totalBorrows.sum());
+        stats.put("totalRejected", totalRejected.sum());
+        stats.put("totalTimeouts", totalTimeouts.sum());
+        stats.put("lastInterval", lastInterval);
+        return stats;
+    }
+
+    public String getName() {
+        return pool.getName();
+    }
+}
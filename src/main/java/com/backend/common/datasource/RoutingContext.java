@@ -0,0 +1,37 @@
+package com.backend.common.datasource;
+
+/**
+ * 数据源路由上下文
+ * 记录当前线程是否已在主库上执行过写事务；置位后同一请求内的只读事务也走主库，保证读到自己的写入。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public final class RoutingContext {
+
+    private static final ThreadLocal<Boolean> WRITE_PINNED = new ThreadLocal<>();
+
+    private RoutingContext() {
+    }
+
+    /**
+     * 固定到主库
+     */
+    public static void pinToPrimary() {
+        WRITE_PINNED.set(Boolean.TRUE);
+    }
+
+    /**
+     * 是否已固定到主库
+     */
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(WRITE_PINNED.get());
+    }
+
+    /**
+     * 清除固定，请求结束时调用
+     */
+    public static void clear() {
+        WRITE_PINNED.remove();
+    }
+}
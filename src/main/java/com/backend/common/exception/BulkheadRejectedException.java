@@ -0,0 +1,16 @@
+package com.backend.common.exception;
+
+import com.backend.common.result.ResultCode;
+
+/**
+ * 隔离舱拒绝异常（队列已满或排队超时），由全局异常处理返回 HTTP 503
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public class BulkheadRejectedException extends BusinessException {
+
+    public BulkheadRejectedException(String message) {
+        super(ResultCode.SERVICE_UNAVAILABLE, message);
+    }
+}
@@ -3,14 +3,21 @@ package com.backend.common.exception;
 import com.backend.common.result.Result;
 import com.backend.common.result.ResultCode;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import java.util.stream.Collectors;
@@ -74,6 +81,36 @@ public class GlobalExceptionHandler {
         return Result.error(ResultCode.VALIDATION_ERROR.getCode(), message);
     }
 
+    /**
+     * 处理唯一约束冲突
+     */
+    @ExceptionHandler(DuplicateKeyException.class)
+    @ResponseStatus(HttpStatus.OK)
+    public Result<Void> handleDuplicateKeyException(DuplicateKeyException e) {
+        log.warn("唯一约束冲突: {}", e.getMostSpecificCause().getMessage());
+        return Result.error(ResultCode.DATA_ALREADY_EXISTS.getCode(), ResultCode.DATA_ALREADY_EXISTS.getMessage());
+    }
+
+    /**
+     * 处理隔离舱拒绝（队列已满或排队超时），与准入控制一样返回 503，便于客户端和负载均衡重试
+     */
+    @ExceptionHandler(BulkheadRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Result<Void> handleBulkheadRejectedException(BulkheadRejectedException e) {
+        log.warn("隔离舱拒绝: {}", e.getMessage());
+        return Result.error(e.getCode(), e.getMessage());
+    }
+
+    /**
+     * 处理获取数据库连接失败（连接池快速失败或等待超过延迟预算）
+     */
+    @ExceptionHandler({TransientDataAccessResourceException.class, CannotGetJdbcConnectionException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Result<Void> handleConnectionException(DataAccessException e) {
+        log.warn("数据库连接获取失败: {}", e.getMostSpecificCause().getMessage());
+        return Result.error(ResultCode.DATABASE_CONNECTION_ERROR.getCode(), ResultCode.DATABASE_CONNECTION_ERROR.getMessage());
+    }
+
     /**
      * 处理非法参数异常
      */
@@ -84,6 +121,20 @@ public class GlobalExceptionHandler {
         return Result.error(ResultCode.BAD_REQUEST.getCode(), e.getMessage());
     }
 
+    /**
+     * 处理异步请求超时（隔离舱中已开始执行的任务超过容器超时仍未完成）
+     * 写操作可能仍在执行并最终提交，返回 OUTCOME_UNKNOWN，客户端不能直接重试
+     */
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    public Result<Void> handleAsyncRequestTimeoutException(HttpServletRequest request) {
+        log.warn("异步请求超时: {} {}", request.getMethod(), request.getRequestURI());
+        if (HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())) {
+            return Result.error(ResultCode.SERVICE_UNAVAILABLE.getCode(), "处理超时，请稍后重试");
+        }
+        return Result.error(ResultCode.OUTCOME_UNKNOWN.getCode(), ResultCode.OUTCOME_UNKNOWN.getMessage());
+    }
+
     /**
      * 处理运行时异常
      */
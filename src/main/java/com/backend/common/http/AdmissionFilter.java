@@ -0,0 +1,135 @@
+package com.backend.common.http;
+
+import com.backend.common.concurrent.ClientRateLimiter;
+import com.backend.common.concurrent.GradientLimiter;
+import com.backend.common.result.EncodedResult;
+import com.backend.common.utils.CachedClock;
+import com.backend.common.utils.RequestUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 准入控制过滤器
+ * 先按客户端限速，再按节点并发上限放行；任一超出时直接写出预编码的 503 响应，不进入 Spring MVC。
+ * 限速拒绝带 Retry-After。异步请求在异步处理完成时才释放并发名额，延迟包含在隔离舱中排队的时间。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private final GradientLimiter limiter;
+
+    /**
+     * 为 null 时不按客户端限速
+     */
+    private final ClientRateLimiter rateLimiter;
+
+    private final int trustedProxies;
+
+    private final List<String> excludePaths;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final EncodedResult overloaded;
+
+    private final EncodedResult throttled;
+
+    public AdmissionFilter(GradientLimiter limiter, ClientRateLimiter rateLimiter, int trustedProxies,
+                           Collection<String> excludePaths, EncodedResult overloaded, EncodedResult throttled) {
+        this.limiter = limiter;
+        this.rateLimiter = rateLimiter;
+        this.trustedProxies = trustedProxies;
+        this.excludePaths = new ArrayList<>(excludePaths);
+        this.overloaded = overloaded;
+        this.throttled = throttled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : excludePaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (rateLimiter != null) {
+            String client = RequestUtils.clientIp(request, trustedProxies);
+            long waitNanos = rateLimiter.tryAcquire(client);
+            if (waitNanos > 0) {
+                long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+                reject(response, throttled);
+                return;
+            }
+        }
+        if (!limiter.tryAcquire()) {
+            reject(response, overloaded);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseListener(start));
+            } else {
+                limiter.release(start);
+            }
+        }
+    }
+
+    private static void reject(HttpServletResponse response, EncodedResult result) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        result.writeTo(response, CachedClock.currentTimeMillis());
+    }
+
+    /**
+     * 异步请求完成时释放并发名额，超时和异常之后也总会回调 onComplete
+     */
+    private final class ReleaseListener implements AsyncListener {
+
+        private final long start;
+
+        private ReleaseListener(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limiter.release(start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,495 @@
+package com.backend.common.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * gzip 响应压缩过滤器
+ * 客户端支持 gzip 时先缓存响应体的前 minSize 字节：达到阈值且内容类型可压缩时改为 gzip 输出，
+ * 未达到阈值或提前 flush 时原样输出。压缩流使用同步刷新，流式响应的 flush 仍能及时送达。
+ * <p>
+ * 压缩响应的强 ETag 追加 -gzip 后缀以区分编码；请求中的 If-None-Match 去掉该后缀后再交给控制器比较。
+ * <p>
+ * 不使用容器的 server.compression：Tomcat 默认不压缩带强 ETag 的响应（noCompressionStrongETag），
+ * 用户查询接口恰好都带强 ETag；容器压缩也不区分编码改写 ETag，不记录压缩率和耗时。
+ * 只支持 gzip，Brotli 需要本地库编码器，不在本过滤器范围内。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+
+    private static final String ETAG_SUFFIX = "-gzip\"";
+
+    private final int minSize;
+
+    private final Set<String> mimeTypes = new HashSet<>();
+
+    private final EncodingMetrics metrics;
+
+    public CompressionFilter(int minSize, Collection<String> mimeTypes, EncodingMetrics metrics) {
+        this.minSize = Math.max(1, minSize);
+        mimeTypes.forEach(type -> this.mimeTypes.add(type.trim().toLowerCase(Locale.ROOT)));
+        this.metrics = metrics;
+    }
+
+    /**
+     * 异步请求在异步分派结束时才完成响应
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CompressingResponse compressing = WebUtils.getNativeResponse(response, CompressingResponse.class);
+        if (compressing == null) {
+            if (!acceptsGzip(request) || "HEAD".equals(request.getMethod())) {
+                chain.doFilter(request, response);
+                return;
+            }
+            String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+            boolean gzipETag = ifNoneMatch != null && ifNoneMatch.contains(ETAG_SUFFIX);
+            compressing = new CompressingResponse(response, gzipETag);
+            request = gzipETag ? new ETagRequest(request) : request;
+            response = compressing;
+        }
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            compressing.abandon();
+            throw e;
+        }
+        if (!isAsyncStarted(request)) {
+            compressing.finish();
+        }
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (headers != null && headers.hasMoreElements()) {
+            for (String coding : headers.nextElement().split(",")) {
+                String[] parts = coding.split(";");
+                String name = parts[0].trim();
+                if (!GZIP.equalsIgnoreCase(name) && !"*".equals(name)) {
+                    continue;
+                }
+                boolean rejected = false;
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim();
+                    if (parameter.startsWith("q=")) {
+                        try {
+                            rejected = Double.parseDouble(parameter.substring(2)) <= 0;
+                        } catch (NumberFormatException e) {
+                            rejected = true;
+                        }
+                    }
+                }
+                if (!rejected) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String stripSuffix(String value) {
+        return value == null ? null : value.replace(ETAG_SUFFIX, "\"");
+    }
+
+    /**
+     * 去掉 If-None-Match 中 ETag 的 -gzip 后缀
+     */
+    private static final class ETagRequest extends HttpServletRequestWrapper {
+
+        private ETagRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            String value = super.getHeader(name);
+            return HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) ? stripSuffix(value) : value;
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            Enumeration<String> values = super.getHeaders(name);
+            if (!HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) || values == null) {
+                return values;
+            }
+            List<String> stripped = new ArrayList<>();
+            while (values.hasMoreElements()) {
+                stripped.add(stripSuffix(values.nextElement()));
+            }
+            return Collections.enumeration(stripped);
+        }
+    }
+
+    /**
+     * 延迟决定是否压缩的响应
+     */
+    private final class CompressingResponse extends HttpServletResponseWrapper {
+
+        private final boolean gzipETagRequested;
+
+        private ByteArrayOutputStream buffer;
+
+        private boolean decided;
+
+        private boolean finished;
+
+        /**
+         * 决定前设置的 Content-Length，原样输出时再设置，压缩时丢弃
+         */
+        private long contentLength = -1;
+
+        private OutputStream target;
+
+        private GZIPOutputStream gzip;
+
+        private CountingOutputStream compressedCounter;
+
+        private long rawBytes;
+
+        private long compressNanos;
+
+        private ServletOutputStream outputStream;
+
+        private PrintWriter writer;
+
+        private CompressingResponse(HttpServletResponse response, boolean gzipETagRequested) {
+            super(response);
+            this.gzipETagRequested = gzipETagRequested;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (outputStream == null) {
+                outputStream = new CompressingOutputStream();
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            setContentLengthLong(len);
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (!decided) {
+                contentLength = len;
+            } else if (gzip == null) {
+                super.setContentLengthLong(len);
+            }
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(value == null ? -1 : Long.parseLong(value.trim()));
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(value == null ? -1 : Long.parseLong(value.trim()));
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(value);
+            } else {
+                super.setIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            flushOutput();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            if (!decided) {
+                buffer = null;
+                contentLength = -1;
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (!decided) {
+                buffer = null;
+            }
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            abandon();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            abandon();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            abandon();
+            super.sendRedirect(location);
+        }
+
+        /**
+         * 放弃压缩和已缓存的内容（出错时由容器生成错误响应）
+         */
+        private void abandon() {
+            if (!decided) {
+                decided = true;
+                buffer = null;
+            }
+        }
+
+        /**
+         * 请求处理结束，输出缓存的内容并结束压缩流
+         */
+        private void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (writer != null) {
+                writer.flush();
+            }
+            if (!decided) {
+                decide(false);
+            }
+            if (gzipETagRequested && getStatus() == HttpServletResponse.SC_NOT_MODIFIED) {
+                // 304 的 ETag 与客户端持有的压缩版本保持一致
+                tagETag();
+            }
+            if (gzip != null) {
+                long start = System.nanoTime();
+                gzip.finish();
+                compressNanos += System.nanoTime() - start;
+                metrics.recordCompressed(rawBytes, compressedCounter.count, compressNanos);
+            }
+        }
+
+        private void write(byte[] bytes, int offset, int length) throws IOException {
+            if (!decided) {
+                if (buffer == null) {
+                    buffer = new ByteArrayOutputStream(Math.min(minSize, 8192));
+                }
+                buffer.write(bytes, offset, length);
+                if (buffer.size() >= minSize) {
+                    decide(true);
+                }
+                return;
+            }
+            if (gzip != null) {
+                long start = System.nanoTime();
+                gzip.write(bytes, offset, length);
+                compressNanos += System.nanoTime() - start;
+                rawBytes += length;
+            } else {
+                target().write(bytes, offset, length);
+            }
+        }
+
+        private void flushOutput() throws IOException {
+            if (!decided) {
+                decide(false);
+            }
+            if (gzip != null) {
+                long start = System.nanoTime();
+                gzip.flush();
+                compressNanos += System.nanoTime() - start;
+            } else {
+                target().flush();
+            }
+        }
+
+        private void decide(boolean reachedThreshold) throws IOException {
+            decided = true;
+            boolean compressible = compressible();
+            if (compressible) {
+                addVary();
+            }
+            if (reachedThreshold && compressible) {
+                super.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+                tagETag();
+                compressedCounter = new CountingOutputStream(super.getOutputStream());
+                gzip = new GZIPOutputStream(compressedCounter, 8192, true);
+            } else {
+                if (compressible) {
+                    metrics.recordUncompressed();
+                }
+                if (contentLength >= 0) {
+                    super.setContentLengthLong(contentLength);
+                }
+            }
+            ByteArrayOutputStream buffered = buffer;
+            buffer = null;
+            if (buffered != null && buffered.size() > 0) {
+                byte[] bytes = buffered.toByteArray();
+                write(bytes, 0, bytes.length);
+            }
+        }
+
+        private OutputStream target() throws IOException {
+            if (target == null) {
+                target = super.getOutputStream();
+            }
+            return target;
+        }
+
+        private boolean compressible() {
+            int status = getStatus();
+            String contentType = getContentType();
+            if (status < 200 || status == HttpServletResponse.SC_NO_CONTENT
+                    || status == HttpServletResponse.SC_NOT_MODIFIED || contentType == null
+                    || containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+                return false;
+            }
+            int semicolon = contentType.indexOf(';');
+            String mimeType = semicolon < 0 ? contentType : contentType.substring(0, semicolon);
+            return mimeTypes.contains(mimeType.trim().toLowerCase(Locale.ROOT));
+        }
+
+        private void addVary() {
+            for (String vary : getHeaders(HttpHeaders.VARY)) {
+                if (vary.toLowerCase(Locale.ROOT).contains("accept-encoding") || vary.trim().equals("*")) {
+                    return;
+                }
+            }
+            super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        private void tagETag() {
+            String etag = getHeader(HttpHeaders.ETAG);
+            if (etag != null && !etag.startsWith("W/") && etag.endsWith("\"") && !etag.endsWith(ETAG_SUFFIX)) {
+                super.setHeader(HttpHeaders.ETAG, etag.substring(0, etag.length() - 1) + ETAG_SUFFIX);
+            }
+        }
+
+        private final class CompressingOutputStream extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                CompressingResponse.this.write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                CompressingResponse.this.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                flushOutput();
+            }
+
+            @Override
+            public void close() throws IOException {
+                finish();
+                target().close();
+            }
+
+            @Override
+            public boolean isReady() {
+                try {
+                    return CompressingResponse.super.getOutputStream().isReady();
+                } catch (IOException e) {
+                    return false;
+                }
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                try {
+                    CompressingResponse.super.getOutputStream().setWriteListener(writeListener);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 统计压缩后的字节数
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.backend.common.http;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 响应编码与压缩统计
+ * 按格式统计响应数、字节数和编码耗时；压缩统计压缩前后字节数，用于比较各编码方式的收益。
+ * 耗时包含写出到容器缓冲区的时间，大响应会计入部分网络写出时间。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public class EncodingMetrics {
+
+    private final Map<String, Meter> encoders = new ConcurrentHashMap<>();
+
+    private final LongAdder compressed = new LongAdder();
+
+    private final LongAdder uncompressed = new LongAdder();
+
+    private final LongAdder rawBytes = new LongAdder();
+
+    private final LongAdder compressedBytes = new LongAdder();
+
+    private final LongAdder compressNanos = new LongAdder();
+
+    /**
+     * 记录一次响应编码
+     */
+    public void recordEncode(String format, long bytes, long nanos) {
+        Meter meter = encoders.computeIfAbsent(format, key -> new Meter());
+        meter.count.increment();
+        meter.bytes.add(bytes);
+        meter.nanos.add(nanos);
+    }
+
+    /**
+     * 记录一次压缩的响应
+     */
+    public void recordCompressed(long raw, long compressed, long nanos) {
+        this.compressed.increment();
+        rawBytes.add(raw);
+        compressedBytes.add(compressed);
+        compressNanos.add(nanos);
+    }
+
+    /**
+     * 记录一次可压缩但未达到阈值的响应
+     */
+    public void recordUncompressed() {
+        uncompressed.increment();
+    }
+
+    /**
+     * 统计信息
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> encoderStats = new LinkedHashMap<>();
+        encoders.forEach((format, meter) -> {
+            long count = meter.count.sum();
+            long bytes = meter.bytes.sum();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", count);
+            stats.put("bytes", bytes);
+            stats.put("avgBytes", count == 0 ? 0 : bytes / count);
+            stats.put("avgMicros", count == 0 ? 0D : meter.nanos.sum() / 1000D / count);
+            encoderStats.put(format, stats);
+        });
+
+        long count = compressed.sum();
+        long raw = rawBytes.sum();
+        long output = compressedBytes.sum();
+        Map<String, Object> compression = new LinkedHashMap<>();
+        compression.put("compressed", count);
+        compression.put("belowThreshold", uncompressed.sum());
+        compression.put("rawBytes", raw);
+        compression.put("compressedBytes", output);
+        compression.put("ratio", raw == 0 ? 0D : (double) output / raw);
+        compression.put("avgMicros", count == 0 ? 0D : compressNanos.sum() / 1000D / count);
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("encoders", encoderStats);
+        stats.put("gzip", compression);
+        return stats;
+    }
+
+    private static final class Meter {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder bytes = new LongAdder();
+
+        private final LongAdder nanos = new LongAdder();
+    }
+}
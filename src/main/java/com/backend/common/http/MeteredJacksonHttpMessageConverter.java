@@ -0,0 +1,57 @@
+package com.backend.common.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * 记录字节数和编码耗时的 Jackson 二进制格式（CBOR、Smile）消息转换器
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public class MeteredJacksonHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    private final String format;
+
+    private final EncodingMetrics metrics;
+
+    private boolean varyByAccept;
+
+    /**
+     * @param objectMapper 使用对应格式 JsonFactory 构建的 ObjectMapper
+     * @param format       统计中的格式名称
+     */
+    public MeteredJacksonHttpMessageConverter(ObjectMapper objectMapper, MediaType mediaType, String format,
+                                              EncodingMetrics metrics) {
+        super(objectMapper, mediaType);
+        this.format = format;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 存在按 Accept 协商的多种格式时，响应带上 Vary: Accept
+     */
+    public void setVaryByAccept(boolean varyByAccept) {
+        this.varyByAccept = varyByAccept;
+    }
+
+    @Override
+    protected void addDefaultHeaders(HttpHeaders headers, Object object, MediaType contentType) throws IOException {
+        super.addDefaultHeaders(headers, object, contentType);
+        if (varyByAccept) {
+            ResponseFormats.addVary(headers);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        MeteredOutputMessage.write(metrics, format, outputMessage,
+                metered -> super.writeInternal(object, type, metered));
+    }
+}
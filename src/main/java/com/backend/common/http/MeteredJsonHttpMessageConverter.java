@@ -0,0 +1,50 @@
+package com.backend.common.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * 记录字节数和编码耗时的 JSON 消息转换器
+ * 继承 MappingJackson2HttpMessageConverter，按类型查找 JSON 转换器的组件（如 Swagger）不受影响
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public class MeteredJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final EncodingMetrics metrics;
+
+    private boolean varyByAccept;
+
+    public MeteredJsonHttpMessageConverter(ObjectMapper objectMapper, EncodingMetrics metrics) {
+        super(objectMapper);
+        this.metrics = metrics;
+    }
+
+    /**
+     * 存在按 Accept 协商的多种格式时，响应带上 Vary: Accept
+     */
+    public void setVaryByAccept(boolean varyByAccept) {
+        this.varyByAccept = varyByAccept;
+    }
+
+    @Override
+    protected void addDefaultHeaders(HttpHeaders headers, Object object, MediaType contentType) throws IOException {
+        super.addDefaultHeaders(headers, object, contentType);
+        if (varyByAccept) {
+            ResponseFormats.addVary(headers);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        MeteredOutputMessage.write(metrics, "json", outputMessage,
+                metered -> super.writeInternal(object, type, metered));
+    }
+}
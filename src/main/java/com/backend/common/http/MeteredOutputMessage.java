@@ -0,0 +1,74 @@
+package com.backend.common.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 统计写出字节数的输出消息，供计量的消息转换器使用
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class MeteredOutputMessage implements HttpOutputMessage {
+
+    /**
+     * 消息体写出，同转换器的 writeInternal
+     */
+    interface BodyWriter {
+
+        void write(HttpOutputMessage outputMessage) throws IOException;
+    }
+
+    private final HttpOutputMessage delegate;
+
+    private OutputStream body;
+
+    private long bytes;
+
+    private MeteredOutputMessage(HttpOutputMessage delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 写出消息体并记录字节数和耗时
+     */
+    static void write(EncodingMetrics metrics, String format, HttpOutputMessage outputMessage, BodyWriter writer)
+            throws IOException {
+        MeteredOutputMessage metered = new MeteredOutputMessage(outputMessage);
+        long start = System.nanoTime();
+        try {
+            writer.write(metered);
+        } finally {
+            metrics.recordEncode(format, metered.bytes, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public OutputStream getBody() throws IOException {
+        if (body == null) {
+            body = new FilterOutputStream(delegate.getBody()) {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    bytes++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    bytes += len;
+                }
+            };
+        }
+        return body;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return delegate.getHeaders();
+    }
+}
@@ -0,0 +1,108 @@
+package com.backend.common.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按 Accept 预先确定响应的表示格式（JSON / CBOR / Smile）
+ * 与 Spring MVC 写出响应时的选择规则一致：可接受类型与可产生类型两两取更具体者，按具体程度和 q 值排序后取第一个。
+ * 强 ETag 需要在查询之前区分表示格式，否则持有 JSON 版本 ETag 的缓存会对 CBOR 请求得到 304 并复用错误的响应体。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public class ResponseFormats {
+
+    private final HeaderContentNegotiationStrategy negotiation = new HeaderContentNegotiationStrategy();
+
+    /**
+     * 可产生的类型及其 ETag 后缀，按消息转换器的顺序排列，JSON 在前且无后缀
+     */
+    private final Map<MediaType, String> suffixes = new LinkedHashMap<>();
+
+    public ResponseFormats(boolean cbor, boolean smile, MediaType smileType) {
+        suffixes.put(MediaType.APPLICATION_JSON, "");
+        if (cbor) {
+            suffixes.put(MediaType.APPLICATION_CBOR, "-cbor");
+        }
+        if (smile) {
+            suffixes.put(smileType, "-smile");
+        }
+    }
+
+    /**
+     * 是否存在按 Accept 协商的多种格式，存在时响应需带 Vary: Accept
+     */
+    public boolean negotiated() {
+        return suffixes.size() > 1;
+    }
+
+    /**
+     * 请求将得到的表示格式对应的 ETag 后缀，JSON（包括无法协商时）为空串
+     */
+    public String etagSuffix(HttpServletRequest request) {
+        MediaType selected = select(request);
+        return selected == null ? "" : suffixes.get(selected);
+    }
+
+    /**
+     * 给强 ETag 追加表示格式后缀
+     */
+    public static String tag(String etag, String suffix) {
+        if (etag == null || suffix.isEmpty() || !etag.endsWith("\"")) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + suffix + "\"";
+    }
+
+    /**
+     * Vary 头中追加 Accept（已包含时不重复）
+     */
+    public static void addVary(HttpHeaders headers) {
+        for (String vary : headers.getVary()) {
+            if (HttpHeaders.ACCEPT.equalsIgnoreCase(vary) || "*".equals(vary)) {
+                return;
+            }
+        }
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+
+    private MediaType select(HttpServletRequest request) {
+        List<MediaType> acceptable;
+        try {
+            acceptable = negotiation.resolveMediaTypes(new ServletWebRequest(request));
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return null;
+        }
+        List<MediaType> candidates = new ArrayList<>();
+        for (MediaType accept : acceptable) {
+            for (MediaType produce : suffixes.keySet()) {
+                if (accept.isCompatibleWith(produce)) {
+                    MediaType produceWithQuality = produce.copyQualityValue(accept);
+                    candidates.add(MediaType.SPECIFICITY_COMPARATOR.compare(accept, produceWithQuality) <= 0
+                            ? accept : produceWithQuality);
+                }
+            }
+        }
+        MediaType.sortBySpecificityAndQuality(candidates);
+        for (MediaType candidate : candidates) {
+            if (candidate.isConcrete()) {
+                for (MediaType produce : suffixes.keySet()) {
+                    if (produce.isCompatibleWith(candidate)) {
+                        return produce;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,141 @@
+package com.backend.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁延迟直方图（HDR 风格的对数-线性分桶）
+ * 以微秒为单位，每个 2 的幂区间再线性划分 32 个子桶，相对误差约 3%，超过约 19 小时的值计入最后一个桶。
+ * 记录为一次原子自增和一次累加，不加锁、不分配对象。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int MAX_EXPONENT = 36;
+
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final LongAdder sumMicros = new LongAdder();
+
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * 记录一次耗时
+     */
+    public void record(long nanos) {
+        long micros = nanos <= 0 ? 0 : nanos / 1000;
+        counts.getAndIncrement(index(micros));
+        sumMicros.add(micros);
+        long max;
+        while (micros > (max = maxMicros.get()) && !maxMicros.compareAndSet(max, micros)) {
+            // 重试直到写入更大的值
+        }
+    }
+
+    /**
+     * 当前数据的快照（读取期间的并发写入可能部分计入）
+     */
+    public Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot();
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = counts.get(i);
+            snapshot.counts[i] = count;
+            snapshot.count += count;
+        }
+        snapshot.sumMicros = sumMicros.sum();
+        snapshot.maxMicros = maxMicros.get();
+        return snapshot;
+    }
+
+    static int index(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) (micros >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * 桶内的最大值
+     */
+    static long highestValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long lowest = (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * 直方图快照，可合并多个快照
+     */
+    public static final class Snapshot {
+
+        private final long[] counts = new long[BUCKETS];
+
+        private long count;
+
+        private long sumMicros;
+
+        private long maxMicros;
+
+        /**
+         * 合并另一个快照
+         */
+        public Snapshot add(Snapshot other) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += other.counts[i];
+            }
+            count += other.count;
+            sumMicros += other.sumMicros;
+            maxMicros = Math.max(maxMicros, other.maxMicros);
+            return this;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSumMicros() {
+            return sumMicros;
+        }
+
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+
+        /**
+         * 百分位数（微秒），取所在桶的最大值，不超过记录到的最大值
+         *
+         * @param percentile 0 到 100
+         */
+        public long percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValue(i), maxMicros);
+                }
+            }
+            return maxMicros;
+        }
+    }
+}
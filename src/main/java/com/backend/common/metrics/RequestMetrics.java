@@ -0,0 +1,253 @@
+package com.backend.common.metrics;
+
+import com.backend.common.collection.ConcurrentLongMap;
+import com.backend.common.result.ResultCode;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 接口延迟统计
+ * 按“接口 + 结果码”分别记录延迟直方图。每个统计周期轮换一次：请求写入当前周期，
+ * 上一周期在下一次轮换时才合并到累计数据中，保证合并时已没有请求在写入。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Component
+public class RequestMetrics {
+
+    private static final double[] QUANTILES = {50, 99, 99.9};
+
+    private static final String[] QUANTILE_LABELS = {"0.5", "0.99", "0.999"};
+
+    private final Map<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * 上一周期的起止时间，用于计算近期吞吐量
+     */
+    private volatile long intervalStartNanos = startNanos;
+
+    private volatile long lastIntervalNanos;
+
+    /**
+     * 获取接口的统计，首次访问时按给定的名称创建
+     */
+    public Endpoint endpoint(Method handler, Supplier<String> method, Supplier<String> uri) {
+        Endpoint endpoint = endpoints.get(handler);
+        if (endpoint == null) {
+            endpoint = endpoints.computeIfAbsent(handler, key -> new Endpoint(method.get(), uri.get()));
+        }
+        return endpoint;
+    }
+
+    /**
+     * 轮换统计周期
+     */
+    @Scheduled(initialDelayString = "${app.metrics.interval:PT1M}", fixedDelayString = "${app.metrics.interval:PT1M}")
+    public synchronized void rotate() {
+        long now = System.nanoTime();
+        for (Endpoint endpoint : endpoints.values()) {
+            endpoint.byCode.forEach((code, series) -> series.rotate());
+        }
+        lastIntervalNanos = now - intervalStartNanos;
+        intervalStartNanos = now;
+    }
+
+    /**
+     * 各接口的累计与上一周期统计，延迟单位为毫秒
+     */
+    public synchronized Map<String, Object> stats() {
+        double uptimeSeconds = (System.nanoTime() - startNanos) / 1e9;
+        double intervalSeconds = lastIntervalNanos / 1e9;
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (Endpoint endpoint : sortedEndpoints()) {
+            LatencyHistogram.Snapshot total = new LatencyHistogram.Snapshot();
+            LatencyHistogram.Snapshot recent = new LatencyHistogram.Snapshot();
+            long totalErrors = 0;
+            long recentErrors = 0;
+            Map<String, Object> codes = new TreeMap<>();
+            for (Map.Entry<Long, Series> entry : endpoint.codes().entrySet()) {
+                LatencyHistogram.Snapshot cumulative = entry.getValue().cumulative();
+                LatencyHistogram.Snapshot lastInterval = entry.getValue().lastInterval();
+                total.add(cumulative);
+                recent.add(lastInterval);
+                if (isError(entry.getKey())) {
+                    totalErrors += cumulative.getCount();
+                    recentErrors += lastInterval.getCount();
+                }
+                codes.put(String.valueOf(entry.getKey()), summary(cumulative));
+            }
+
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("endpoint", endpoint.method + " " + endpoint.uri);
+            item.putAll(summary(total));
+            item.put("throughput", uptimeSeconds == 0 ? 0D : total.getCount() / uptimeSeconds);
+            item.put("errorRate", rate(totalErrors, total.getCount()));
+            Map<String, Object> lastInterval = summary(recent);
+            lastInterval.put("throughput", intervalSeconds == 0 ? 0D : recent.getCount() / intervalSeconds);
+            lastInterval.put("errorRate", rate(recentErrors, recent.getCount()));
+            item.put("lastInterval", lastInterval);
+            item.put("codes", codes);
+            items.add(item);
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("uptimeSeconds", (long) uptimeSeconds);
+        stats.put("intervalSeconds", intervalSeconds);
+        stats.put("endpoints", items);
+        return stats;
+    }
+
+    /**
+     * Prometheus 文本格式（summary，单位秒）
+     */
+    public synchronized String prometheus() {
+        StringBuilder text = new StringBuilder(4096);
+        text.append("# HELP http_server_requests_seconds Request latency by endpoint and result code\n");
+        text.append("# TYPE http_server_requests_seconds summary\n");
+        StringBuilder max = new StringBuilder(1024);
+        max.append("# HELP http_server_requests_seconds_max Maximum request latency by endpoint and result code\n");
+        max.append("# TYPE http_server_requests_seconds_max gauge\n");
+        for (Endpoint endpoint : sortedEndpoints()) {
+            for (Map.Entry<Long, Series> entry : endpoint.codes().entrySet()) {
+                LatencyHistogram.Snapshot snapshot = entry.getValue().cumulative();
+                String labels = "method=\"" + escape(endpoint.method) + "\",uri=\"" + escape(endpoint.uri)
+                        + "\",code=\"" + entry.getKey() + "\"";
+                for (int i = 0; i < QUANTILES.length; i++) {
+                    text.append("http_server_requests_seconds{").append(labels)
+                            .append(",quantile=\"").append(QUANTILE_LABELS[i]).append("\"} ")
+                            .append(seconds(snapshot.percentile(QUANTILES[i]))).append('\n');
+                }
+                text.append("http_server_requests_seconds_count{").append(labels).append("} ")
+                        .append(snapshot.getCount()).append('\n');
+                text.append("http_server_requests_seconds_sum{").append(labels).append("} ")
+                        .append(seconds(snapshot.getSumMicros())).append('\n');
+                max.append("http_server_requests_seconds_max{").append(labels).append("} ")
+                        .append(seconds(snapshot.getMaxMicros())).append('\n');
+            }
+        }
+        return text.append(max).toString();
+    }
+
+    private List<Endpoint> sortedEndpoints() {
+        List<Endpoint> sorted = new ArrayList<>(endpoints.values());
+        sorted.sort(Comparator.comparing((Endpoint endpoint) -> endpoint.uri).thenComparing(endpoint -> endpoint.method));
+        return sorted;
+    }
+
+    private static Map<String, Object> summary(LatencyHistogram.Snapshot snapshot) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", snapshot.getCount());
+        summary.put("p50", millis(snapshot.percentile(50)));
+        summary.put("p99", millis(snapshot.percentile(99)));
+        summary.put("p999", millis(snapshot.percentile(99.9)));
+        summary.put("max", millis(snapshot.getMaxMicros()));
+        return summary;
+    }
+
+    /**
+     * 成功和 304 以外的结果码都计为错误
+     */
+    private static boolean isError(long code) {
+        return code != ResultCode.SUCCESS.getCode() && code != 304;
+    }
+
+    private static double rate(long part, long total) {
+        return total == 0 ? 0D : (double) part / total;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000D;
+    }
+
+    private static double seconds(long micros) {
+        return micros / 1e6;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * 单个接口的统计
+     */
+    public static final class Endpoint {
+
+        private final String method;
+
+        private final String uri;
+
+        private final ConcurrentLongMap<Series> byCode = new ConcurrentLongMap<>(8);
+
+        private Endpoint(String method, String uri) {
+            this.method = method;
+            this.uri = uri;
+        }
+
+        /**
+         * 记录一次请求
+         */
+        public void record(int code, long nanos) {
+            Series series = byCode.get(code);
+            if (series == null) {
+                series = createSeries(code);
+            }
+            series.current.record(nanos);
+        }
+
+        private synchronized Series createSeries(int code) {
+            Series series = byCode.get(code);
+            if (series == null) {
+                series = new Series();
+                byCode.put(code, series);
+            }
+            return series;
+        }
+
+        private Map<Long, Series> codes() {
+            Map<Long, Series> codes = new TreeMap<>();
+            byCode.forEach(codes::put);
+            return codes;
+        }
+    }
+
+    /**
+     * 单个“接口 + 结果码”的直方图，由外层锁保护轮换与读取
+     */
+    private static final class Series {
+
+        private volatile LatencyHistogram current = new LatencyHistogram();
+
+        /**
+         * 上一周期，下次轮换时合并到累计数据
+         */
+        private volatile LatencyHistogram retired = new LatencyHistogram();
+
+        private final LatencyHistogram.Snapshot merged = new LatencyHistogram.Snapshot();
+
+        private void rotate() {
+            merged.add(retired.snapshot());
+            retired = current;
+            current = new LatencyHistogram();
+        }
+
+        private LatencyHistogram.Snapshot cumulative() {
+            return new LatencyHistogram.Snapshot().add(merged).add(retired.snapshot()).add(current.snapshot());
+        }
+
+        private LatencyHistogram.Snapshot lastInterval() {
+            return retired.snapshot();
+        }
+    }
+}
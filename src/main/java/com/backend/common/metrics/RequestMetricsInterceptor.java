@@ -0,0 +1,64 @@
+package com.backend.common.metrics;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 记录接口延迟的拦截器
+ * 请求开始时记下时间，完成后（包括响应体写出、异步请求的异步分派）按接口和结果码记录；
+ * 结果码取响应中的 Result.code，没有时取 HTTP 状态码。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    /**
+     * 请求开始时间
+     */
+    static final String START_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".START";
+
+    /**
+     * 响应中的 Result.code，由 {@link ResultCodeAdvice} 设置
+     */
+    static final String CODE_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".CODE";
+
+    private final RequestMetrics requestMetrics;
+
+    public RequestMetricsInterceptor(RequestMetrics requestMetrics) {
+        this.requestMetrics = requestMetrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 异步分派会再次进入，保留首次分派的开始时间
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod) || !(start instanceof Long)) {
+            return;
+        }
+        long nanos = System.nanoTime() - (Long) start;
+        Object code = request.getAttribute(CODE_ATTRIBUTE);
+        int resultCode = code instanceof Integer ? (Integer) code
+                : ex != null ? 500 : response.getStatus();
+        requestMetrics.endpoint(((HandlerMethod) handler).getMethod(), request::getMethod, () -> uri(request))
+                .record(resultCode, nanos);
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : request.getServletPath();
+    }
+}
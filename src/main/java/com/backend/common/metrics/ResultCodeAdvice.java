@@ -0,0 +1,43 @@
+package com.backend.common.metrics;
+
+import com.backend.common.result.Result;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 在响应写出前记下 Result.code，供延迟统计按结果码分类
+ * 返回 ResponseEntity 的接口（如带 ETag 的查询）响应体同样是 Result，一并处理
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@ControllerAdvice
+public class ResultCodeAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        Class<?> type = returnType.getParameterType();
+        return Result.class.isAssignableFrom(type) || HttpEntity.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof Result && request instanceof ServletServerHttpRequest) {
+            Integer code = ((Result<?>) body).getCode();
+            if (code != null) {
+                ((ServletServerHttpRequest) request).getServletRequest()
+                        .setAttribute(RequestMetricsInterceptor.CODE_ATTRIBUTE, code);
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,199 @@
+package com.backend.common.metrics;
+
+import com.backend.config.SqlProfilerProperties;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.springframework.stereotype.Component;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQL 语句耗时统计
+ * 按 MappedStatement 汇总执行次数、延迟分布、返回行数和错误数，慢语句按间隔采集一次执行计划。
+ * 统计按累计耗时排序，用于判断数据库时间主要消耗在哪些语句上。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Component
+public class SqlProfiler {
+
+    static final String OTHER = "(other)";
+
+    private final SqlProfilerProperties config;
+
+    private final Map<String, StatementMetrics> statements = new ConcurrentHashMap<>();
+
+    private final long startNanos = System.nanoTime();
+
+    public SqlProfiler(SqlProfilerProperties config) {
+        this.config = config;
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    public boolean isSlow(long nanos) {
+        return nanos >= config.getSlowThreshold().toNanos();
+    }
+
+    /**
+     * 获取语句的统计，语句数达到上限后新语句合并到 (other)
+     */
+    public StatementMetrics statement(String id, SqlCommandType type) {
+        StatementMetrics metrics = statements.get(id);
+        if (metrics == null) {
+            String key = statements.size() < config.getMaxStatements() ? id : OTHER;
+            metrics = statements.computeIfAbsent(key, k -> new StatementMetrics(k, k.equals(id) ? type : null));
+        }
+        return metrics;
+    }
+
+    /**
+     * 是否需要为该语句采集执行计划，同一语句在间隔内只有一个调用方返回 true
+     */
+    public boolean shouldExplain(StatementMetrics metrics) {
+        long now = System.nanoTime();
+        long next = metrics.nextExplainNanos.get();
+        return (next == 0 || now - next >= 0)
+                && metrics.nextExplainNanos.compareAndSet(next, now + config.getExplainInterval().toNanos());
+    }
+
+    /**
+     * 各语句统计，按累计耗时降序，延迟单位为毫秒
+     */
+    public Map<String, Object> stats() {
+        List<Map.Entry<StatementMetrics, LatencyHistogram.Snapshot>> sorted = new ArrayList<>(statements.size());
+        long totalMicros = 0;
+        for (StatementMetrics metrics : statements.values()) {
+            LatencyHistogram.Snapshot snapshot = metrics.latency.snapshot();
+            sorted.add(new AbstractMap.SimpleImmutableEntry<>(metrics, snapshot));
+            totalMicros += snapshot.getSumMicros();
+        }
+        sorted.sort(Comparator.comparingLong(
+                (Map.Entry<StatementMetrics, LatencyHistogram.Snapshot> entry) -> entry.getValue().getSumMicros()).reversed());
+
+        List<Map<String, Object>> items = new ArrayList<>(sorted.size());
+        for (Map.Entry<StatementMetrics, LatencyHistogram.Snapshot> entry : sorted) {
+            StatementMetrics metrics = entry.getKey();
+            LatencyHistogram.Snapshot snapshot = entry.getValue();
+            long rowsCounted = metrics.rowsCounted.sum();
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("statement", metrics.id);
+            item.put("type", metrics.type);
+            item.put("count", snapshot.getCount());
+            item.put("errors", metrics.errors.sum());
+            item.put("slowCount", metrics.slow.sum());
+            item.put("totalMillis", millis(snapshot.getSumMicros()));
+            item.put("share", totalMicros == 0 ? 0D : (double) snapshot.getSumMicros() / totalMicros);
+            item.put("p50", millis(snapshot.percentile(50)));
+            item.put("p99", millis(snapshot.percentile(99)));
+            item.put("p999", millis(snapshot.percentile(99.9)));
+            item.put("max", millis(snapshot.getMaxMicros()));
+            item.put("avgRows", rowsCounted == 0 ? 0D : (double) metrics.rows.sum() / rowsCounted);
+            item.put("maxRows", metrics.maxRows.get());
+            item.put("sql", truncate(metrics.sql));
+            item.put("explain", metrics.explain);
+            items.add(item);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", config.isEnabled());
+        stats.put("uptimeSeconds", (System.nanoTime() - startNanos) / 1_000_000_000L);
+        stats.put("slowThresholdMillis", config.getSlowThreshold().toMillis());
+        stats.put("totalMillis", millis(totalMicros));
+        stats.put("statements", items);
+        return stats;
+    }
+
+    String truncate(String sql) {
+        if (sql == null || sql.length() <= config.getMaxSqlLength()) {
+            return sql;
+        }
+        return sql.substring(0, config.getMaxSqlLength()) + "...";
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000D;
+    }
+
+    /**
+     * 单条语句的统计，记录为无锁累加
+     */
+    public static final class StatementMetrics {
+
+        private final String id;
+
+        private final SqlCommandType type;
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private final LongAdder errors = new LongAdder();
+
+        private final LongAdder slow = new LongAdder();
+
+        private final LongAdder rows = new LongAdder();
+
+        /**
+         * 已知行数的执行次数（游标查询的行数在执行时未知）
+         */
+        private final LongAdder rowsCounted = new LongAdder();
+
+        private final LongAccumulator maxRows = new LongAccumulator(Math::max, 0);
+
+        private final AtomicLong nextExplainNanos = new AtomicLong();
+
+        /**
+         * 最近一次执行的 SQL（动态 SQL 取最近的一种）
+         */
+        private volatile String sql;
+
+        private volatile Map<String, Object> explain;
+
+        StatementMetrics(String id, SqlCommandType type) {
+            this.id = id;
+            this.type = type;
+        }
+
+        /**
+         * 记录一次执行
+         *
+         * @param rows 返回或影响的行数，未知时为负数
+         */
+        public void record(String sql, long nanos, long rows, boolean error, boolean slow) {
+            latency.record(nanos);
+            if (error) {
+                errors.increment();
+            }
+            if (slow) {
+                this.slow.increment();
+            }
+            if (rows >= 0) {
+                this.rows.add(rows);
+                rowsCounted.increment();
+                maxRows.accumulate(rows);
+            }
+            // 静态 SQL 每次为同一个字符串实例，只在变化时写入
+            if (this.sql != sql) {
+                this.sql = sql;
+            }
+        }
+
+        public void explained(Map<String, Object> explain) {
+            this.explain = explain;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+}
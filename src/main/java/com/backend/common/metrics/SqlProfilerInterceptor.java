@@ -0,0 +1,360 @@
+package com.backend.common.metrics;
+
+import com.backend.common.utils.DateUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.BatchExecutorException;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * SQL 语句耗时统计插件
+ * 拦截 StatementHandler 的执行，耗时只包含 JDBC 执行和结果映射，不含分页改写、连接获取等 Executor 层开销；
+ * 带 ResultHandler 的流式查询包含逐行回调的耗时。
+ * 结果集处理器在 Executor 创建语句时就已持有 ResultHandler，StatementHandler.query 的参数不会被使用，
+ * 因此流式查询的行数在 Executor.query 处包装 ResultHandler 统计。
+ * 批量语句在 StatementHandler.batch 中只绑定参数并加入批次，实际在 Executor.flushStatements 时执行，
+ * 按刷新批次统计耗时和各语句的更新行数（驱动未返回行数时不计行数），同一次刷新的多条语句平分耗时。
+ * 慢查询按采集间隔每条语句最多一次用相同参数执行 EXPLAIN，结果保存在统计中：
+ * 参数在请求线程上记录，EXPLAIN 在后台线程上另取连接执行，不占用请求的连接和事务，也不延长请求耗时；
+ * 只采集普通 SELECT，EXPLAIN 等语句本身和加锁读（FOR UPDATE / FOR SHARE / LOCK IN SHARE MODE）不采集。
+ * <p>
+ * MyBatis-Plus 的 InnerInterceptor 只有执行前的回调，无法计时和统计行数，因此使用原生插件。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Slf4j
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "queryCursor", args = {Statement.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+                        CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "flushStatements", args = {})})
+public class SqlProfilerInterceptor implements Interceptor {
+
+    private static final String QUERY = "query";
+
+    private static final int MAX_PLAN_ROWS = 50;
+
+    /**
+     * 开头的空白和块注释
+     */
+    private static final Pattern LEADING_NOISE = Pattern.compile("^(\\s+|/\\*.*?\\*/)+", Pattern.DOTALL);
+
+    private static final Pattern LOCKING_READ = Pattern.compile(
+            "\\bfor\\s+(update|share)\\b|\\block\\s+in\\s+share\\s+mode\\b", Pattern.CASE_INSENSITIVE);
+
+    private final SqlProfiler profiler;
+
+    private final DataSource dataSource;
+
+    /**
+     * 单线程执行 EXPLAIN，队列满时放弃本次采集
+     */
+    private final ThreadPoolExecutor explainExecutor;
+
+    public SqlProfilerInterceptor(SqlProfiler profiler, DataSource dataSource) {
+        this.profiler = profiler;
+        this.dataSource = dataSource;
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(8),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sql-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.explainExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (!profiler.isEnabled()) {
+            return invocation.proceed();
+        }
+        if (invocation.getTarget() instanceof Executor) {
+            return QUERY.equals(invocation.getMethod().getName()) ? countingQuery(invocation) : flush(invocation);
+        }
+        StatementHandler handler = (StatementHandler) invocation.getTarget();
+        MappedStatement mappedStatement = mappedStatement(handler);
+        String sql = handler.getBoundSql().getSql();
+        SqlProfiler.StatementMetrics metrics = profiler.statement(mappedStatement.getId(),
+                mappedStatement.getSqlCommandType());
+
+        boolean query = QUERY.equals(invocation.getMethod().getName());
+        Object[] args = invocation.getArgs();
+        CountingResultHandler counting = query && args[1] instanceof CountingResultHandler
+                ? (CountingResultHandler) args[1] : null;
+        long counted = counting != null ? counting.count : 0;
+
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            long elapsed = System.nanoTime() - start;
+            metrics.record(sql, elapsed, -1, true, profiler.isSlow(elapsed));
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        boolean slow = profiler.isSlow(elapsed);
+        metrics.record(sql, elapsed, counting != null ? counting.count - counted : rows(result), false, slow);
+        if (slow && query && explainable(sql) && profiler.shouldExplain(metrics)) {
+            explainLater(metrics, handler, mappedStatement.getId(), sql, elapsed);
+        }
+        return result;
+    }
+
+    /**
+     * 容器关闭时停止 EXPLAIN 线程（@Bean 按方法名推断为销毁方法）
+     */
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    /**
+     * 只采集普通查询：EXPLAIN / DESCRIBE 等非 SELECT 语句不能再套一层 EXPLAIN，加锁读不在请求之外重放
+     */
+    static boolean explainable(String sql) {
+        String statement = LEADING_NOISE.matcher(sql).replaceFirst("").toLowerCase(Locale.ROOT);
+        if (!statement.startsWith("select") && !statement.startsWith("with")) {
+            return false;
+        }
+        return !LOCKING_READ.matcher(statement).find();
+    }
+
+    /**
+     * 取出 RoutingStatementHandler 代理的 MappedStatement
+     * 其他插件包装的代理层通过 Proxy.getInvocationHandler 展开（不反射 Proxy.h，JDK 9+ 无需 --add-opens）
+     */
+    private static MappedStatement mappedStatement(StatementHandler handler) {
+        Object target = handler;
+        while (Proxy.isProxyClass(target.getClass())) {
+            target = SystemMetaObject.forObject(Proxy.getInvocationHandler(target)).getValue("target");
+        }
+        return (MappedStatement) SystemMetaObject.forObject(target).getValue("delegate.mappedStatement");
+    }
+
+    /**
+     * 带 ResultHandler 的查询换成计数的 ResultHandler，由 Executor 传给结果集处理器；
+     * 其他插件在 Executor 层转调时可能经过两个 query 签名，已包装的不再包装
+     */
+    private static Object countingQuery(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        if (args[3] != null && !(args[3] instanceof CountingResultHandler)) {
+            args[3] = new CountingResultHandler((ResultHandler<?>) args[3]);
+        }
+        return invocation.proceed();
+    }
+
+    /**
+     * 执行批次中积累的语句，按返回的 BatchResult 记录各语句
+     */
+    private Object flush(Invocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (BatchExecutorException e) {
+            // 失败前已执行的语句照常记录，失败的语句只有 ID，统计已存在时沿用其语句类型
+            long elapsed = System.nanoTime() - start;
+            List<BatchResult> successful = e.getSuccessfulBatchResults();
+            long share = elapsed / (successful.size() + 1);
+            for (BatchResult batch : successful) {
+                recordBatch(batch, share, rows(batch));
+            }
+            profiler.statement(e.getFailingStatementId(), SqlCommandType.UNKNOWN)
+                    .record(e.getFailingSqlStatement(), share, -1, true, profiler.isSlow(share));
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        @SuppressWarnings("unchecked")
+        List<BatchResult> results = (List<BatchResult>) result;
+        if (!results.isEmpty()) {
+            long share = elapsed / results.size();
+            for (BatchResult batch : results) {
+                recordBatch(batch, share, rows(batch));
+            }
+        }
+        return result;
+    }
+
+    private void recordBatch(BatchResult batch, long elapsed, long rows) {
+        MappedStatement mappedStatement = batch.getMappedStatement();
+        profiler.statement(mappedStatement.getId(), mappedStatement.getSqlCommandType())
+                .record(batch.getSql(), elapsed, rows, false, profiler.isSlow(elapsed));
+    }
+
+    /**
+     * 批次内各条参数的更新行数之和，驱动返回 SUCCESS_NO_INFO 时行数未知
+     */
+    private static long rows(BatchResult batch) {
+        long rows = 0;
+        for (int count : batch.getUpdateCounts()) {
+            if (count < 0) {
+                return -1;
+            }
+            rows += count;
+        }
+        return rows;
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof List) {
+            return ((List<?>) result).size();
+        }
+        if (result instanceof Integer) {
+            return (Integer) result;
+        }
+        return -1;
+    }
+
+    /**
+     * 在请求线程上记录参数，交给后台线程执行 EXPLAIN；参数绑定失败或队列已满时放弃本次采集
+     */
+    private void explainLater(SqlProfiler.StatementMetrics metrics, StatementHandler handler, String statementId,
+                              String sql, long elapsedNanos) {
+        RecordedParameters parameters = new RecordedParameters();
+        try {
+            handler.getParameterHandler().setParameters(parameters.proxy());
+        } catch (SQLException | RuntimeException e) {
+            log.debug("慢 SQL 参数记录失败，跳过执行计划采集: {}", e.getMessage());
+            return;
+        }
+        try {
+            explainExecutor.execute(() -> metrics.explained(explain(parameters, statementId, sql, elapsedNanos)));
+        } catch (RejectedExecutionException e) {
+            log.debug("执行计划采集繁忙，跳过: {}", statementId);
+        }
+    }
+
+    /**
+     * 在独立的连接上以相同参数执行 EXPLAIN（后台线程上没有事务，连接按默认路由获取）
+     */
+    private Map<String, Object> explain(RecordedParameters parameters, String statementId, String sql,
+                                        long elapsedNanos) {
+        Map<String, Object> sample = new LinkedHashMap<>();
+        sample.put("capturedAt", DateUtils.formatNow());
+        sample.put("elapsedMillis", elapsedNanos / 1_000_000D);
+        sample.put("sql", profiler.truncate(sql));
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            parameters.applyTo(explain);
+            List<Map<String, Object>> plan = new ArrayList<>();
+            try (ResultSet resultSet = explain.executeQuery()) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                while (resultSet.next() && plan.size() < MAX_PLAN_ROWS) {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                        row.put(metaData.getColumnLabel(i), resultSet.getObject(i));
+                    }
+                    plan.add(row);
+                }
+            }
+            sample.put("plan", plan);
+            log.warn("慢 SQL: {}, 耗时: {}ms, 执行计划: {}", statementId,
+                    elapsedNanos / 1_000_000, plan);
+        } catch (SQLException | RuntimeException e) {
+            sample.put("error", e.getMessage());
+            log.warn("慢 SQL: {}, 耗时: {}ms, 执行计划采集失败: {}", statementId,
+                    elapsedNanos / 1_000_000, e.getMessage());
+        }
+        return sample;
+    }
+
+    /**
+     * 记录 ParameterHandler 绑定的参数（setXxx(index, ...) 调用），之后在另一条语句上按相同顺序重放
+     */
+    static final class RecordedParameters {
+
+        private final List<Method> methods = new ArrayList<>();
+
+        private final List<Object[]> arguments = new ArrayList<>();
+
+        PreparedStatement proxy() {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        if (method.getName().startsWith("set") && args != null && args.length > 0
+                                && args[0] instanceof Integer) {
+                            methods.add(method);
+                            arguments.add(args.clone());
+                            return null;
+                        }
+                        throw new UnsupportedOperationException("参数记录不支持 " + method.getName());
+                    });
+        }
+
+        void applyTo(PreparedStatement statement) throws SQLException {
+            for (int i = 0; i < methods.size(); i++) {
+                try {
+                    methods.get(i).invoke(statement, arguments.get(i));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                } catch (InvocationTargetException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof SQLException) {
+                        throw (SQLException) cause;
+                    }
+                    throw new IllegalStateException(cause);
+                }
+            }
+        }
+    }
+
+    /**
+     * 统计流式查询回调的行数
+     */
+    private static final class CountingResultHandler implements ResultHandler<Object> {
+
+        private final ResultHandler<Object> delegate;
+
+        private long count;
+
+        @SuppressWarnings("unchecked")
+        CountingResultHandler(ResultHandler<?> delegate) {
+            this.delegate = (ResultHandler<Object>) delegate;
+        }
+
+        @Override
+        public void handleResult(ResultContext<?> context) {
+            count++;
+            delegate.handleResult(context);
+        }
+    }
+}
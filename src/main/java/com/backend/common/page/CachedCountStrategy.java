@@ -0,0 +1,63 @@
+package com.backend.common.page;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 带过期时间的缓存计数策略
+ * 相同查询条件在有效期内复用上次的 COUNT 结果，命中缓存时结果标记为近似值
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+public class CachedCountStrategy implements CountStrategy {
+
+    private final long ttlNanos;
+
+    private final int maxEntries;
+
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    public CachedCountStrategy(Duration ttl, int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public PageCount count(CountContext context) {
+        long now = System.nanoTime();
+        Entry entry = cache.get(context.getCacheKey());
+        if (entry != null && now - entry.createdNanos < ttlNanos) {
+            return PageCount.approximate(entry.total);
+        }
+
+        long total = context.getExactCounter().getAsLong();
+        if (cache.size() >= maxEntries) {
+            evictExpired(now);
+        }
+        if (cache.size() < maxEntries) {
+            cache.put(context.getCacheKey(), new Entry(total, now));
+        }
+        return PageCount.exact(total);
+    }
+
+    /**
+     * 清除过期条目
+     */
+    private void evictExpired(long now) {
+        cache.values().removeIf(e -> now - e.createdNanos >= ttlNanos);
+    }
+
+    private static final class Entry {
+
+        private final long total;
+
+        private final long createdNanos;
+
+        private Entry(long total, long createdNanos) {
+            this.total = total;
+            this.createdNanos = createdNanos;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.backend.common.page;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 分页计数上下文
+ * 分页查询先于计数执行，策略可以根据本页实际返回条数决定是否还需要计数
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class CountContext {
+
+    /**
+     * 缓存键，由表名和查询条件组成
+     */
+    private final String cacheKey;
+
+    /**
+     * 当前页码
+     */
+    private final long current;
+
+    /**
+     * 每页大小
+     */
+    private final long size;
+
+    /**
+     * 本页实际返回条数
+     */
+    private final int fetched;
+
+    /**
+     * 精确计数（SELECT COUNT(*)）
+     */
+    private final LongSupplier exactCounter;
+
+    /**
+     * 估算计数（执行计划预估行数），可为空
+     */
+    private final LongSupplier estimator;
+
+    /**
+     * 由表名和查询条件生成缓存键
+     * 每个条件按“长度:值”拼接，null 记为 -1，条件中含分隔符或为字符串 "null" 时也不会与其他条件组合相同
+     */
+    public static String cacheKey(String table, Object... conditions) {
+        StringBuilder key = new StringBuilder(table);
+        for (Object condition : conditions) {
+            key.append(':');
+            if (condition == null) {
+                key.append("-1");
+            } else {
+                String value = condition.toString();
+                key.append(value.length()).append(':').append(value);
+            }
+        }
+        return key.toString();
+    }
+}
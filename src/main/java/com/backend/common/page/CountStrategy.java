@@ -0,0 +1,15 @@
+package com.backend.common.page;
+
+/**
+ * 分页总数统计策略
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+public interface CountStrategy {
+
+    /**
+     * 计算分页总数
+     */
+    PageCount count(CountContext context);
+}
@@ -0,0 +1,51 @@
+package com.backend.common.page;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 估算计数策略
+ * 使用执行计划的预估行数代替 COUNT(*)，预估值较小时仍执行精确计数
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+public class EstimatedCountStrategy implements CountStrategy {
+
+    /**
+     * 预估行数低于该值时执行精确计数
+     */
+    private final long exactThreshold;
+
+    public EstimatedCountStrategy(long exactThreshold) {
+        this.exactThreshold = exactThreshold;
+    }
+
+    @Override
+    public PageCount count(CountContext context) {
+        if (context.getEstimator() != null) {
+            long estimate = context.getEstimator().getAsLong();
+            if (estimate >= exactThreshold) {
+                return PageCount.approximate(estimate);
+            }
+        }
+        return PageCount.exact(context.getExactCounter().getAsLong());
+    }
+
+    /**
+     * 根据 MySQL EXPLAIN 结果估算行数（rows * filtered%）
+     */
+    public static long estimateFromExplain(List<Map<String, Object>> plan) {
+        if (plan == null || plan.isEmpty()) {
+            return 0L;
+        }
+        Map<String, Object> row = plan.get(0);
+        Object rows = row.get("rows");
+        Object filtered = row.get("filtered");
+        if (!(rows instanceof Number)) {
+            return 0L;
+        }
+        double percent = filtered instanceof Number ? ((Number) filtered).doubleValue() : 100D;
+        return (long) (((Number) rows).doubleValue() * percent / 100D);
+    }
+}
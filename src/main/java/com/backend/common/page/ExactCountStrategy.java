@@ -0,0 +1,15 @@
+package com.backend.common.page;
+
+/**
+ * 精确计数策略，每次执行 COUNT(*)
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+public class ExactCountStrategy implements CountStrategy {
+
+    @Override
+    public PageCount count(CountContext context) {
+        return PageCount.exact(context.getExactCounter().getAsLong());
+    }
+}
@@ -0,0 +1,33 @@
+package com.backend.common.page;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 分页总数
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+@Getter
+@AllArgsConstructor
+public class PageCount {
+
+    /**
+     * 总记录数
+     */
+    private final long total;
+
+    /**
+     * 是否为精确值
+     */
+    private final boolean exact;
+
+    public static PageCount exact(long total) {
+        return new PageCount(total, true);
+    }
+
+    public static PageCount approximate(long total) {
+        return new PageCount(total, false);
+    }
+}
@@ -0,0 +1,58 @@
+package com.backend.common.page;
+
+import com.backend.common.exception.BusinessException;
+import com.backend.common.result.ResultCode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * 游标分页的续查令牌
+ * 由最后一条记录的 (create_time, id) 组成，对客户端不透明
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+@Getter
+@AllArgsConstructor
+public class PageCursor {
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * 最后一条记录的创建时间
+     */
+    private final LocalDateTime createTime;
+
+    /**
+     * 最后一条记录的ID
+     */
+    private final Long id;
+
+    /**
+     * 编码为URL安全的令牌
+     */
+    public String encode() {
+        String raw = createTime.toEpochSecond(ZoneOffset.UTC) + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 解析令牌，非法令牌抛出业务异常
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int index = raw.indexOf(SEPARATOR);
+            long epochSecond = Long.parseLong(raw.substring(0, index));
+            long id = Long.parseLong(raw.substring(index + 1));
+            return new PageCursor(LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC), id);
+        } catch (RuntimeException e) {
+            throw BusinessException.of(ResultCode.BAD_REQUEST, "无效的分页游标");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.backend.common.page;
+
+/**
+ * 未满页时跳过计数
+ * 本页返回条数不足一页时总数可以直接算出，否则交给下一个策略
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+public class SkipWhenNotFullCountStrategy implements CountStrategy {
+
+    private final CountStrategy delegate;
+
+    public SkipWhenNotFullCountStrategy(CountStrategy delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public PageCount count(CountContext context) {
+        int fetched = context.getFetched();
+        // 超出末页时返回空列表，无法据此推算总数
+        if (fetched < context.getSize() && (fetched > 0 || context.getCurrent() <= 1)) {
+            return PageCount.exact((context.getCurrent() - 1) * context.getSize() + fetched);
+        }
+        return delegate.count(context);
+    }
+}
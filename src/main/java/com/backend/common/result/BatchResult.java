@@ -0,0 +1,95 @@
+package com.backend.common.result;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量操作结果类
+ * 逐行返回处理结果，单行失败不影响其他行
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResult {
+    
+    /**
+     * 总行数
+     */
+    private Integer total;
+    
+    /**
+     * 成功行数
+     */
+    private Integer succeeded;
+    
+    /**
+     * 失败行数
+     */
+    private Integer failed;
+    
+    /**
+     * 逐行结果
+     */
+    private List<Item> items;
+    
+    /**
+     * 根据逐行结果构造
+     */
+    public static BatchResult of(List<Item> items) {
+        int succeeded = 0;
+        for (Item item : items) {
+            if (Boolean.TRUE.equals(item.getSuccess())) {
+                succeeded++;
+            }
+        }
+        return new BatchResult(items.size(), succeeded, items.size() - succeeded, items);
+    }
+    
+    /**
+     * 单行结果
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        
+        /**
+         * 行号（从0开始）
+         */
+        private Integer index;
+        
+        /**
+         * 是否成功
+         */
+        private Boolean success;
+        
+        /**
+         * 成功时为新记录ID
+         */
+        private Long id;
+        
+        /**
+         * 失败时的错误码
+         */
+        private Integer code;
+        
+        /**
+         * 失败原因
+         */
+        private String message;
+        
+        public static Item success(int index, Long id) {
+            return new Item(index, true, id, null, null);
+        }
+        
+        public static Item failure(int index, ResultCode resultCode, String message) {
+            return new Item(index, false, null, resultCode.getCode(), message);
+        }
+    }
+}
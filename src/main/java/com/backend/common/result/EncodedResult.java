@@ -0,0 +1,105 @@
+package com.backend.common.result;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 预编码的响应结果
+ * 用 Jackson 编码一次，以时间戳为界拆成前后两段字节；输出时只写入当前时间戳的数字，不再构建对象和序列化。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public final class EncodedResult {
+
+    /**
+     * 编码时的时间戳占位值
+     */
+    private static final long PLACEHOLDER = Long.MIN_VALUE;
+
+    private static final byte[] PLACEHOLDER_BYTES = Long.toString(PLACEHOLDER).getBytes(StandardCharsets.US_ASCII);
+
+    private static final int MAX_DIGITS = 20;
+
+    private static final ThreadLocal<byte[]> DIGITS = ThreadLocal.withInitial(() -> new byte[MAX_DIGITS]);
+
+    private final byte[] prefix;
+
+    private final byte[] suffix;
+
+    private EncodedResult(byte[] prefix, byte[] suffix) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    /**
+     * 预编码响应结果，时间戳字段留待输出时填入
+     */
+    public static EncodedResult encode(ObjectMapper objectMapper, Result<?> result) {
+        Long timestamp = result.getTimestamp();
+        result.setTimestamp(PLACEHOLDER);
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(result);
+            // timestamp 是最后一个字段，从后往前找
+            int at = lastIndexOf(bytes, PLACEHOLDER_BYTES);
+            if (at < 0) {
+                throw new IllegalStateException("预编码响应中未找到时间戳字段");
+            }
+            byte[] prefix = new byte[at];
+            byte[] suffix = new byte[bytes.length - at - PLACEHOLDER_BYTES.length];
+            System.arraycopy(bytes, 0, prefix, 0, prefix.length);
+            System.arraycopy(bytes, at + PLACEHOLDER_BYTES.length, suffix, 0, suffix.length);
+            return new EncodedResult(prefix, suffix);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("响应预编码失败", e);
+        } finally {
+            result.setTimestamp(timestamp);
+        }
+    }
+
+    /**
+     * 以 application/json 写出响应
+     */
+    public void writeTo(HttpServletResponse response, long timestamp) throws IOException {
+        byte[] digits;
+        int offset;
+        if (timestamp >= 0) {
+            digits = DIGITS.get();
+            offset = MAX_DIGITS;
+            do {
+                digits[--offset] = (byte) ('0' + timestamp % 10);
+                timestamp /= 10;
+            } while (timestamp > 0);
+        } else {
+            digits = Long.toString(timestamp).getBytes(StandardCharsets.US_ASCII);
+            offset = 0;
+        }
+        int length = digits.length - offset;
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(prefix.length + length + suffix.length);
+        ServletOutputStream out = response.getOutputStream();
+        out.write(prefix);
+        out.write(digits, offset, length);
+        out.write(suffix);
+    }
+
+    private static int lastIndexOf(byte[] bytes, byte[] target) {
+        for (int i = bytes.length - target.length; i >= 0; i--) {
+            int j = 0;
+            while (j < target.length && bytes[i + j] == target[j]) {
+                j++;
+            }
+            if (j == target.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,101 @@
+package com.backend.common.result;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 导入过程事件
+ * 流式导入时每个事件输出为一行 JSON：被拒绝的行、每块完成后的进度、最终汇总或中止原因
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportEvent {
+
+    public static final String REJECTED = "rejected";
+
+    public static final String PROGRESS = "progress";
+
+    public static final String SUMMARY = "summary";
+
+    public static final String ERROR = "error";
+
+    /**
+     * 事件类型
+     */
+    private String type;
+
+    /**
+     * 被拒绝行的行号（从1开始，CSV 含表头行）
+     */
+    private Long line;
+
+    /**
+     * 错误码
+     */
+    private Integer code;
+
+    /**
+     * 错误信息
+     */
+    private String message;
+
+    /**
+     * 已处理行数
+     */
+    private Long processed;
+
+    /**
+     * 成功行数
+     */
+    private Long succeeded;
+
+    /**
+     * 失败行数
+     */
+    private Long failed;
+
+    /**
+     * 已耗时（毫秒）
+     */
+    private Long elapsed;
+
+    public static ImportEvent rejected(long line, Integer code, String message) {
+        ImportEvent event = new ImportEvent();
+        event.setType(REJECTED);
+        event.setLine(line);
+        event.setCode(code);
+        event.setMessage(message);
+        return event;
+    }
+
+    public static ImportEvent progress(long processed, long succeeded, long failed, long elapsed) {
+        return counts(PROGRESS, processed, succeeded, failed, elapsed);
+    }
+
+    public static ImportEvent summary(long processed, long succeeded, long failed, long elapsed) {
+        return counts(SUMMARY, processed, succeeded, failed, elapsed);
+    }
+
+    public static ImportEvent error(Integer code, String message) {
+        ImportEvent event = new ImportEvent();
+        event.setType(ERROR);
+        event.setCode(code);
+        event.setMessage(message);
+        return event;
+    }
+
+    private static ImportEvent counts(String type, long processed, long succeeded, long failed, long elapsed) {
+        ImportEvent event = new ImportEvent();
+        event.setType(type);
+        event.setProcessed(processed);
+        event.setSucceeded(succeeded);
+        event.setFailed(failed);
+        event.setElapsed(elapsed);
+        return event;
+    }
+}
@@ -28,6 +28,11 @@ public class PageResult<T> {
      */
     private Long total;
     
+    /**
+     * 总记录数是否为精确值（缓存或估算时为 false）
+     */
+    private Boolean totalExact;
+    
     /**
      * 当前页码
      */
@@ -53,27 +58,59 @@ public class PageResult<T> {
      */
     private Boolean hasNext;
     
+    /**
+     * 下一页游标（仅游标分页返回）
+     */
+    private String nextCursor;
+    
     /**
      * 构造分页结果
      */
     public static <T> PageResult<T> of(List<T> records, Long total, Long current, Long size) {
+        return of(records, total, true, current, size);
+    }
+    
+    /**
+     * 构造分页结果，total 为空表示未统计总数
+     */
+    public static <T> PageResult<T> of(List<T> records, Long total, Boolean totalExact, Long current, Long size) {
         PageResult<T> pageResult = new PageResult<>();
         pageResult.setRecords(records);
-        pageResult.setTotal(total);
         pageResult.setCurrent(current);
         pageResult.setSize(size);
+        pageResult.setHasPrevious(current > 1);
+        
+        if (total == null) {
+            // 未统计总数时，满页即认为可能有下一页
+            pageResult.setHasNext(records.size() >= size);
+            return pageResult;
+        }
+        
+        pageResult.setTotal(total);
+        pageResult.setTotalExact(totalExact);
         
         // 计算总页数
         Long pages = (total + size - 1) / size;
         pageResult.setPages(pages);
         
-        // 计算是否有上一页和下一页
-        pageResult.setHasPrevious(current > 1);
+        // 计算是否有下一页
         pageResult.setHasNext(current < pages);
         
         return pageResult;
     }
     
+    /**
+     * 构造游标分页结果，不返回总数和总页数
+     */
+    public static <T> PageResult<T> ofCursor(List<T> records, Long size, String nextCursor) {
+        PageResult<T> pageResult = new PageResult<>();
+        pageResult.setRecords(records);
+        pageResult.setSize(size);
+        pageResult.setHasNext(nextCursor != null);
+        pageResult.setNextCursor(nextCursor);
+        return pageResult;
+    }
+    
     /**
      * 空分页结果
      */
@@ -1,5 +1,6 @@
 package com.backend.common.result;
 
+import com.backend.common.utils.CachedClock;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -57,7 +58,7 @@ public class Result<T> {
         result.setCode(ResultCode.SUCCESS.getCode());
         result.setMessage(message);
         result.setData(data);
-        result.setTimestamp(System.currentTimeMillis());
+        result.setTimestamp(CachedClock.currentTimeMillis());
         return result;
     }
     
@@ -83,7 +84,7 @@ public class Result<T> {
         result.setCode(code);
         result.setMessage(message);
         result.setData(null);
-        result.setTimestamp(System.currentTimeMillis());
+        result.setTimestamp(CachedClock.currentTimeMillis());
         return result;
     }
     
@@ -102,7 +103,7 @@ public class Result<T> {
         result.setCode(resultCode.getCode());
         result.setMessage(resultCode.getMessage());
         result.setData(data);
-        result.setTimestamp(System.currentTimeMillis());
+        result.setTimestamp(CachedClock.currentTimeMillis());
         return result;
     }
 }
\ No newline at end of file
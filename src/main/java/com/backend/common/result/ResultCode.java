@@ -34,6 +34,7 @@ public enum ResultCode {
     DATA_NOT_FOUND(6001, "数据不存在"),
     DATA_ALREADY_EXISTS(6002, "数据已存在"),
     OPERATION_NOT_ALLOWED(6003, "操作不被允许"),
+    OUTCOME_UNKNOWN(6004, "操作结果未知，请查询确认后再决定是否重试"),
     
     // 数据库错误码 (7000-7999)
     DATABASE_ERROR(7000, "数据库操作失败"),
@@ -0,0 +1,77 @@
+package com.backend.common.utils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * 粗粒度缓存时钟
+ * 精确到秒的当前时间及其默认格式字符串每秒只构建一次，由该秒内第一次访问的线程构建，
+ * 同一秒内的调用共享同一个不可变对象。
+ * <p>
+ * 毫秒数直接读取 System.currentTimeMillis()：它本身只是一次 vDSO 调用，不值得用常驻线程每毫秒刷新；
+ * 真正的开销在构建 LocalDateTime 和格式化字符串，按秒缓存即可省掉。
+ * 适用于响应时间戳、创建/更新时间填充等只需秒级精度的场景。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public final class CachedClock {
+
+    private static volatile Second second = new Second(Math.floorDiv(System.currentTimeMillis(), 1000L));
+
+    private CachedClock() {
+    }
+
+    /**
+     * 当前毫秒数
+     */
+    public static long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * 当前时间（系统默认时区），精确到秒
+     */
+    public static LocalDateTime now() {
+        return currentSecond().dateTime;
+    }
+
+    /**
+     * 当前时间的 yyyy-MM-dd HH:mm:ss 格式字符串
+     */
+    public static String formatNow() {
+        return currentSecond().formatted;
+    }
+
+    private static Second currentSecond() {
+        long epochSecond = Math.floorDiv(System.currentTimeMillis(), 1000L);
+        Second current = second;
+        if (current.epochSecond != epochSecond) {
+            // 并发时可能重复构建，结果相同，后写入者覆盖即可
+            current = new Second(epochSecond);
+            second = current;
+        }
+        return current;
+    }
+
+    /**
+     * 某一秒的时间与格式化结果
+     */
+    private static final class Second {
+
+        private final long epochSecond;
+
+        private final LocalDateTime dateTime;
+
+        private final String formatted;
+
+        private Second(long epochSecond) {
+            ZoneOffset offset = ZoneId.systemDefault().getRules().getOffset(Instant.ofEpochSecond(epochSecond));
+            this.epochSecond = epochSecond;
+            this.dateTime = LocalDateTime.ofEpochSecond(epochSecond, 0, offset);
+            this.formatted = DateUtils.format(dateTime);
+        }
+    }
+}
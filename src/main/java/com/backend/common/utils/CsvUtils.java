@@ -0,0 +1,127 @@
+package com.backend.common.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV 工具类（RFC 4180）
+ * 按记录流式读取，引号内允许逗号、换行和成对的双引号
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public class CsvUtils {
+
+    private static final char SEPARATOR = ',';
+
+    private static final char QUOTE = '"';
+
+    /**
+     * 读取一条记录
+     * 超过最大长度的记录会被完整跳过并抛出 {@link IllegalArgumentException}，调用方可继续读取下一条
+     *
+     * @param reader   需支持 mark/reset，如 BufferedReader
+     * @param maxChars 单条记录最大字符数
+     * @return 字段列表，已到达末尾时返回 null
+     */
+    public static List<String> readRecord(Reader reader, int maxChars) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStart = true;
+        boolean any = false;
+        int length = 0;
+        int c;
+        while ((c = reader.read()) != -1) {
+            any = true;
+            if (++length > maxChars) {
+                // 超长后只推进解析状态，不再保存内容
+                field.setLength(0);
+            }
+            if (quoted) {
+                fieldStart = false;
+                if (c == QUOTE) {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == QUOTE) {
+                        field.append(QUOTE);
+                        continue;
+                    }
+                    quoted = false;
+                    if (next == -1) {
+                        break;
+                    }
+                    reader.reset();
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == QUOTE && fieldStart) {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+                fieldStart = false;
+            }
+        }
+        if (!any) {
+            return null;
+        }
+        if (length > maxChars) {
+            throw new IllegalArgumentException("CSV记录超过最大长度" + maxChars);
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * 将字段格式化为一条记录（不含换行）
+     */
+    public static String formatRecord(Object... fields) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                line.append(SEPARATOR);
+            }
+            appendField(line, fields[i]);
+        }
+        return line.toString();
+    }
+
+    /**
+     * 追加单个字段，包含分隔符、引号或换行时加引号转义
+     */
+    public static void appendField(StringBuilder line, Object value) {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        boolean needsQuote = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == SEPARATOR || c == QUOTE || c == '\n' || c == '\r') {
+                needsQuote = true;
+                break;
+            }
+        }
+        if (!needsQuote) {
+            line.append(text);
+            return;
+        }
+        line.append(QUOTE);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == QUOTE) {
+                line.append(QUOTE);
+            }
+            line.append(c);
+        }
+        line.append(QUOTE);
+    }
+}
@@ -1,11 +1,15 @@
 package com.backend.common.utils;
 
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 日期工具类
+ * 格式化器按格式串缓存复用；默认格式 yyyy-MM-dd HH:mm:ss 的格式化和解析走手写的快速路径
  * 
  * @author backend
  * @since 1.0.0
@@ -27,6 +31,29 @@ public class DateUtils {
      */
     public static final String DEFAULT_TIME_PATTERN = "HH:mm:ss";
 
+    /**
+     * 最多缓存的格式串数量，超出后不再缓存（防止动态格式串无限增长）
+     */
+    private static final int MAX_CACHED_FORMATTERS = 256;
+
+    private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+    private static final DateTimeFormatter DEFAULT_DATETIME_FORMATTER = formatter(DEFAULT_DATETIME_PATTERN);
+
+    /**
+     * 获取格式串对应的格式化器（线程安全，可复用）
+     */
+    public static DateTimeFormatter formatter(String pattern) {
+        DateTimeFormatter formatter = FORMATTERS.get(pattern);
+        if (formatter == null) {
+            formatter = DateTimeFormatter.ofPattern(pattern);
+            if (FORMATTERS.size() < MAX_CACHED_FORMATTERS) {
+                FORMATTERS.putIfAbsent(pattern, formatter);
+            }
+        }
+        return formatter;
+    }
+
     /**
      * 获取当前时间
      */
@@ -35,17 +62,20 @@ public class DateUtils {
     }
 
     /**
-     * 格式化当前时间
+     * 格式化当前时间（精确到秒，同一秒内返回同一字符串）
      */
     public static String formatNow() {
-        return formatNow(DEFAULT_DATETIME_PATTERN);
+        return CachedClock.formatNow();
     }
 
     /**
      * 按指定格式格式化当前时间
      */
     public static String formatNow(String pattern) {
-        return LocalDateTime.now().format(DateTimeFormatter.ofPattern(pattern));
+        if (DEFAULT_DATETIME_PATTERN.equals(pattern)) {
+            return CachedClock.formatNow();
+        }
+        return LocalDateTime.now().format(formatter(pattern));
     }
 
     /**
@@ -62,7 +92,10 @@ public class DateUtils {
         if (dateTime == null) {
             return null;
         }
-        return dateTime.format(DateTimeFormatter.ofPattern(pattern));
+        if (DEFAULT_DATETIME_PATTERN.equals(pattern)) {
+            return formatDefault(dateTime);
+        }
+        return dateTime.format(formatter(pattern));
     }
 
     /**
@@ -79,7 +112,82 @@ public class DateUtils {
         if (dateTimeStr == null || dateTimeStr.trim().isEmpty()) {
             return null;
         }
-        return LocalDateTime.parse(dateTimeStr, DateTimeFormatter.ofPattern(pattern));
+        if (DEFAULT_DATETIME_PATTERN.equals(pattern)) {
+            LocalDateTime parsed = parseDefault(dateTimeStr);
+            if (parsed != null) {
+                return parsed;
+            }
+        }
+        return LocalDateTime.parse(dateTimeStr, formatter(pattern));
+    }
+
+    /**
+     * 默认格式的快速格式化，四位年份以外的情况交给格式化器
+     */
+    private static String formatDefault(LocalDateTime dateTime) {
+        int year = dateTime.getYear();
+        if (year < 1 || year > 9999) {
+            return dateTime.format(DEFAULT_DATETIME_FORMATTER);
+        }
+        char[] chars = new char[19];
+        writeDigits(chars, 0, year, 4);
+        chars[4] = '-';
+        writeDigits(chars, 5, dateTime.getMonthValue(), 2);
+        chars[7] = '-';
+        writeDigits(chars, 8, dateTime.getDayOfMonth(), 2);
+        chars[10] = ' ';
+        writeDigits(chars, 11, dateTime.getHour(), 2);
+        chars[13] = ':';
+        writeDigits(chars, 14, dateTime.getMinute(), 2);
+        chars[16] = ':';
+        writeDigits(chars, 17, dateTime.getSecond(), 2);
+        return new String(chars);
+    }
+
+    /**
+     * 默认格式的快速解析；格式不符或日期无效时返回 null，由格式化器按原有规则解析（或给出原有异常）
+     */
+    private static LocalDateTime parseDefault(String text) {
+        if (text.length() != 19 || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != ' '
+                || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return null;
+        }
+        int year = readDigits(text, 0, 4);
+        int month = readDigits(text, 5, 2);
+        int day = readDigits(text, 8, 2);
+        int hour = readDigits(text, 11, 2);
+        int minute = readDigits(text, 14, 2);
+        int second = readDigits(text, 17, 2);
+        if ((year | month | day | hour | minute | second) < 0) {
+            return null;
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static void writeDigits(char[] chars, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * 读取定长数字，含非数字字符时返回 -1
+     */
+    private static int readDigits(String text, int offset, int width) {
+        int value = 0;
+        for (int i = offset; i < offset + width; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
     }
 
     /**
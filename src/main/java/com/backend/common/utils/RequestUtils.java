@@ -0,0 +1,52 @@
+package com.backend.common.utils;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * 请求工具类
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public final class RequestUtils {
+
+    private RequestUtils() {
+    }
+
+    /**
+     * 客户端地址，经过代理时取 X-Forwarded-For 的第一个地址
+     * 第一个地址由客户端自行填写，只能用于展示，不能用于限速等安全相关的判断，见 {@link #clientIp(HttpServletRequest, int)}
+     */
+    public static String clientIp(HttpServletRequest request) {
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded != null && !forwarded.isEmpty() && !"unknown".equalsIgnoreCase(forwarded)) {
+            int comma = forwarded.indexOf(',');
+            return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * 可信的客户端地址
+     * 每一级代理把它看到的对端地址追加到 X-Forwarded-For 末尾，因此从右往左数第 trustedProxies 个地址
+     * 是最外层可信代理看到的客户端地址，再往左的都可能由客户端伪造。
+     *
+     * @param trustedProxies 应用前面可信代理的级数，0 表示不信任 X-Forwarded-For，直接取连接的对端地址
+     */
+    public static String clientIp(HttpServletRequest request, int trustedProxies) {
+        String forwarded = trustedProxies > 0 ? request.getHeader("X-Forwarded-For") : null;
+        if (forwarded == null || forwarded.isEmpty()) {
+            return request.getRemoteAddr();
+        }
+        // 地址数少于代理级数时，全部地址都由可信代理追加，取最左边的
+        int end = forwarded.length();
+        for (int hop = 1; ; hop++) {
+            int comma = forwarded.lastIndexOf(',', end - 1);
+            if (hop == trustedProxies || comma < 0) {
+                String ip = forwarded.substring(comma + 1, end).trim();
+                return ip.isEmpty() ? request.getRemoteAddr() : ip;
+            }
+            end = comma;
+        }
+    }
+}
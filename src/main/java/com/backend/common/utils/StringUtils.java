@@ -1,16 +1,36 @@
 package com.backend.common.utils;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 字符串工具类
+ * 判断类方法单次扫描、不分配对象；结果与入参相同时直接返回入参；
+ * 驼峰与下划线互转的结果按名称缓存（字段名、列名集合有限）
  * 
  * @author backend
  * @since 1.0.0
  */
 public class StringUtils {
 
+    /**
+     * 最多缓存的名称数量，超出后不再缓存
+     */
+    private static final int MAX_CACHED_NAMES = 1024;
+
+    /**
+     * 超过该长度的字符串不缓存，只缓存字段名、列名这类短名称
+     */
+    private static final int MAX_CACHED_NAME_LENGTH = 64;
+
+    private static final Map<String, String> CAMEL_TO_UNDERSCORE = new ConcurrentHashMap<>();
+
+    private static final Map<String, String> UNDERSCORE_TO_CAMEL = new ConcurrentHashMap<>();
+
     /**
      * 判断字符串是否为空
      */
@@ -29,7 +49,16 @@ public class StringUtils {
      * 判断字符串是否为空白
      */
     public static boolean isBlank(String str) {
-        return str == null || str.trim().length() == 0;
+        if (str == null) {
+            return true;
+        }
+        // 与 String.trim 一致：不大于空格的字符视为空白
+        for (int i = 0; i < str.length(); i++) {
+            if (str.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -82,6 +111,11 @@ public class StringUtils {
         if (isEmpty(str)) {
             return str;
         }
+        char first = str.charAt(0);
+        // 'i' 的大写与默认语言环境有关（如土耳其语），交给 String.toUpperCase
+        if (first < 0x80 && first != 'i') {
+            return first >= 'a' && first <= 'z' ? replaceFirst(str, (char) (first - 32)) : str;
+        }
         return str.substring(0, 1).toUpperCase() + str.substring(1);
     }
 
@@ -92,6 +126,11 @@ public class StringUtils {
         if (isEmpty(str)) {
             return str;
         }
+        char first = str.charAt(0);
+        // 'I' 的小写与默认语言环境有关（如土耳其语），交给 String.toLowerCase
+        if (first < 0x80 && first != 'I') {
+            return first >= 'A' && first <= 'Z' ? replaceFirst(str, (char) (first + 32)) : str;
+        }
         return str.substring(0, 1).toLowerCase() + str.substring(1);
     }
 
@@ -102,31 +141,40 @@ public class StringUtils {
         if (isEmpty(str)) {
             return str;
         }
-        return str.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase();
+        // 小写转换依赖默认语言环境，只在与语言环境无关时缓存
+        boolean cacheable = str.length() <= MAX_CACHED_NAME_LENGTH && !localeSensitiveCase();
+        if (cacheable) {
+            String cached = CAMEL_TO_UNDERSCORE.get(str);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        String result = toUnderscore(str);
+        if (cacheable) {
+            remember(CAMEL_TO_UNDERSCORE, str, result);
+        }
+        return result;
     }
 
     /**
      * 下划线转驼峰
      */
     public static String underscoreToCamel(String str) {
-        if (isEmpty(str)) {
+        if (isEmpty(str) || str.indexOf('_') < 0) {
             return str;
         }
-        StringBuilder result = new StringBuilder();
-        boolean nextUpper = false;
-        for (char c : str.toCharArray()) {
-            if (c == '_') {
-                nextUpper = true;
-            } else {
-                if (nextUpper) {
-                    result.append(Character.toUpperCase(c));
-                    nextUpper = false;
-                } else {
-                    result.append(c);
-                }
+        boolean cacheable = str.length() <= MAX_CACHED_NAME_LENGTH;
+        if (cacheable) {
+            String cached = UNDERSCORE_TO_CAMEL.get(str);
+            if (cached != null) {
+                return cached;
             }
         }
-        return result.toString();
+        String result = toCamel(str);
+        if (cacheable) {
+            remember(UNDERSCORE_TO_CAMEL, str, result);
+        }
+        return result;
     }
 
     /**
@@ -183,14 +231,28 @@ public class StringUtils {
      * 字符串重复
      */
     public static String repeat(String str, int count) {
-        if (str == null || count <= 0) {
+        if (str == null || count <= 0 || str.isEmpty()) {
             return "";
         }
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < count; i++) {
-            sb.append(str);
+        if (count == 1) {
+            return str;
         }
-        return sb.toString();
+        int length = str.length();
+        long total = (long) length * count;
+        if (total > Integer.MAX_VALUE) {
+            throw new OutOfMemoryError("Required string length exceeds implementation limit");
+        }
+        char[] chars = new char[(int) total];
+        if (length == 1) {
+            Arrays.fill(chars, str.charAt(0));
+        } else {
+            // 按已填充部分倍增复制
+            str.getChars(0, length, chars, 0);
+            for (int filled = length; filled < chars.length; filled <<= 1) {
+                System.arraycopy(chars, 0, chars, filled, Math.min(filled, chars.length - filled));
+            }
+        }
+        return new String(chars);
     }
 
     /**
@@ -204,7 +266,10 @@ public class StringUtils {
         if (pads <= 0) {
             return str;
         }
-        return repeat(String.valueOf(padChar), pads) + str;
+        char[] chars = new char[size];
+        Arrays.fill(chars, 0, pads, padChar);
+        str.getChars(0, str.length(), chars, pads);
+        return new String(chars);
     }
 
     /**
@@ -218,6 +283,92 @@ public class StringUtils {
         if (pads <= 0) {
             return str;
         }
-        return str + repeat(String.valueOf(padChar), pads);
+        char[] chars = new char[size];
+        str.getChars(0, str.length(), chars, 0);
+        Arrays.fill(chars, str.length(), size, padChar);
+        return new String(chars);
+    }
+
+    /**
+     * 驼峰转下划线：在“小写字母 + 大写字母”之间插入下划线后整体转小写（ASCII 字母判断，与原正则一致）
+     */
+    private static String toUnderscore(String str) {
+        int length = str.length();
+        int underscores = 0;
+        boolean ascii = true;
+        boolean hasUpper = false;
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            if (c >= 0x80) {
+                ascii = false;
+            } else if (c >= 'A' && c <= 'Z') {
+                hasUpper = true;
+                if (i > 0 && isAsciiLower(str.charAt(i - 1))) {
+                    underscores++;
+                }
+            }
+        }
+        boolean fastLowerCase = ascii && !localeSensitiveCase();
+        if (fastLowerCase && !hasUpper) {
+            return str;
+        }
+
+        char[] chars = new char[length + underscores];
+        int position = 0;
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            boolean upper = c >= 'A' && c <= 'Z';
+            if (upper && i > 0 && isAsciiLower(str.charAt(i - 1))) {
+                chars[position++] = '_';
+            }
+            chars[position++] = upper && fastLowerCase ? (char) (c + 32) : c;
+        }
+        String result = new String(chars);
+        return fastLowerCase ? result : result.toLowerCase();
+    }
+
+    /**
+     * 下划线转驼峰：去掉下划线，其后的字符转大写
+     */
+    private static String toCamel(String str) {
+        char[] chars = new char[str.length()];
+        int position = 0;
+        boolean nextUpper = false;
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c == '_') {
+                nextUpper = true;
+            } else if (nextUpper) {
+                chars[position++] = Character.toUpperCase(c);
+                nextUpper = false;
+            } else {
+                chars[position++] = c;
+            }
+        }
+        return new String(chars, 0, position);
+    }
+
+    private static boolean isAsciiLower(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    /**
+     * 默认语言环境的大小写转换是否有特殊规则（土耳其语、阿塞拜疆语、立陶宛语）
+     */
+    private static boolean localeSensitiveCase() {
+        String language = Locale.getDefault().getLanguage();
+        return "tr".equals(language) || "az".equals(language) || "lt".equals(language);
+    }
+
+    private static String replaceFirst(String str, char first) {
+        char[] chars = str.toCharArray();
+        chars[0] = first;
+        return new String(chars);
+    }
+
+    private static void remember(Map<String, String> cache, String key, String value) {
+        if (cache.size() < MAX_CACHED_NAMES) {
+            cache.putIfAbsent(key, value);
+        }
     }
 }
\ No newline at end of file
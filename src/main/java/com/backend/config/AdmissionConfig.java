@@ -0,0 +1,62 @@
+package com.backend.config;
+
+import com.backend.common.concurrent.ClientRateLimiter;
+import com.backend.common.concurrent.GradientLimiter;
+import com.backend.common.http.AdmissionFilter;
+import com.backend.common.result.EncodedResult;
+import com.backend.common.result.Result;
+import com.backend.common.result.ResultCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.servlet.DispatcherType;
+
+/**
+ * 准入控制配置
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Configuration
+public class AdmissionConfig {
+
+    private final AdmissionProperties properties;
+
+    public AdmissionConfig(AdmissionProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    public GradientLimiter gradientLimiter() {
+        return new GradientLimiter(properties.getLimit());
+    }
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter() {
+        return new ClientRateLimiter(properties.getClient());
+    }
+
+    /**
+     * 准入控制，位于压缩过滤器之前，拒绝的响应不经过压缩
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(ObjectMapper objectMapper) {
+        AdmissionProperties.Client client = properties.getClient();
+        AdmissionFilter filter = new AdmissionFilter(gradientLimiter(),
+                client.isEnabled() ? clientRateLimiter() : null, client.getTrustedProxies(),
+                properties.getExcludePaths(),
+                EncodedResult.encode(objectMapper,
+                        Result.error(ResultCode.SERVICE_UNAVAILABLE.getCode(), "服务繁忙，请稍后重试")),
+                EncodedResult.encode(objectMapper,
+                        Result.error(ResultCode.SERVICE_UNAVAILABLE.getCode(), "请求过于频繁，请稍后重试")));
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/*");
+        registration.setDispatcherTypes(DispatcherType.REQUEST);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        registration.setEnabled(properties.isEnabled());
+        return registration;
+    }
+}
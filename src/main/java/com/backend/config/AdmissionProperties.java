@@ -0,0 +1,115 @@
+package com.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 准入控制配置
+ * 请求进入 Spring MVC 之前先按客户端限速，再按节点的并发上限放行，超出时直接返回 503
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionProperties {
+
+    /**
+     * 是否启用准入控制
+     */
+    private boolean enabled = true;
+
+    /**
+     * 不受准入控制的路径（Ant 风格），健康检查和指标在过载时也要能访问
+     */
+    private List<String> excludePaths = new ArrayList<>(Collections.singletonList("/health/**"));
+
+    private Limit limit = new Limit();
+
+    private Client client = new Client();
+
+    /**
+     * 节点并发上限，按请求延迟的梯度调整
+     */
+    @Data
+    public static class Limit {
+
+        /**
+         * 是否按延迟调整上限，关闭时固定为初始上限
+         */
+        private boolean adaptive = true;
+
+        private int initialLimit = 50;
+
+        private int minLimit = 8;
+
+        private int maxLimit = 500;
+
+        /**
+         * 统计窗口，每个窗口结束时调整一次上限
+         */
+        private Duration window = Duration.ofMillis(500);
+
+        /**
+         * 窗口内样本数少于该值时延长窗口，不做调整
+         */
+        private int minWindowSamples = 10;
+
+        /**
+         * 延迟基线上升的平滑窗口数，越大基线上升越慢；更低的窗口延迟立即成为基线
+         */
+        private int baselineWindows = 600;
+
+        /**
+         * 可容忍的延迟倍数，近期延迟不超过基线的该倍数时不收缩
+         */
+        private double tolerance = 1.5;
+
+        /**
+         * 新上限的平滑系数 (0, 1]
+         */
+        private double smoothing = 0.2;
+    }
+
+    /**
+     * 按客户端地址的令牌桶限速
+     */
+    @Data
+    public static class Client {
+
+        private boolean enabled = true;
+
+        /**
+         * 每个客户端每秒的请求数
+         */
+        private double rate = 50;
+
+        /**
+         * 允许的突发请求数
+         */
+        private int burst = 100;
+
+        /**
+         * 应用前面可信代理的级数，按 X-Forwarded-For 从右往左第该级的地址识别客户端；
+         * 0 表示直接取连接的对端地址。只能配置确实会追加该头的代理级数，否则客户端可伪造地址绕过限速
+         */
+        private int trustedProxies = 0;
+
+        /**
+         * 跟踪的客户端数上限，超过后新客户端共用一个桶
+         */
+        private int maxClients = 10000;
+
+        /**
+         * 清理令牌已回满的客户端的间隔
+         */
+        private Duration cleanupInterval = Duration.ofMinutes(1);
+    }
+}
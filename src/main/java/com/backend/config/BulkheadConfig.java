@@ -0,0 +1,41 @@
+package com.backend.config;
+
+import com.backend.common.concurrent.Bulkhead;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 接口隔离舱配置
+ * 异步请求的超时按处理它的隔离舱单独设置，全局默认超时不变：单条查询不会因批量操作的长超时而被挂起数分钟。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Configuration
+public class BulkheadConfig implements WebMvcConfigurer {
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerDeferredResultInterceptors(new RequestTimeoutInterceptor());
+    }
+
+    /**
+     * 在异步处理开始前把隔离舱记下的请求超时设置到本次异步请求上（CompletableFuture 返回值按 DeferredResult 处理）
+     */
+    static class RequestTimeoutInterceptor implements DeferredResultProcessingInterceptor {
+
+        @Override
+        public <T> void beforeConcurrentHandling(NativeWebRequest request, DeferredResult<T> deferredResult) {
+            Object timeout = request.getAttribute(Bulkhead.REQUEST_TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (timeout instanceof Long && request instanceof AsyncWebRequest) {
+                ((AsyncWebRequest) request).setTimeout((Long) timeout);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.backend.config;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 接口隔离舱配置
+ * 用户接口按操作类别在各自的有界线程池中异步执行，某一类变慢或堆积时不占用其他类别和 Tomcat 的线程
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProperties {
+
+    /**
+     * 是否异步执行，关闭时在请求线程上同步执行
+     */
+    private boolean enabled = true;
+
+    /**
+     * 按 id、用户名等的单条查询、存在性检查
+     */
+    private Pool pointRead = new Pool(8, 200, Duration.ofSeconds(2), Duration.ofSeconds(10));
+
+    /**
+     * 分页、条件搜索
+     */
+    private Pool search = new Pool(4, 50, Duration.ofSeconds(10), Duration.ofSeconds(30));
+
+    /**
+     * 单条写入
+     */
+    private Pool write = new Pool(4, 100, Duration.ofSeconds(5), Duration.ofSeconds(30));
+
+    /**
+     * 批量创建、批量删除
+     */
+    private Pool bulk = new Pool(2, 4, Duration.ofMinutes(2), Duration.ofMinutes(5));
+
+    @Data
+    @NoArgsConstructor
+    public static class Pool {
+
+        /**
+         * 线程数，即该类别同时访问数据库的最大请求数
+         */
+        private int threads;
+
+        /**
+         * 排队上限，超过后直接拒绝
+         */
+        private int queueCapacity;
+
+        /**
+         * 排队超时时间，超时仍未开始执行的任务不再执行并返回失败；已开始执行的任务不受限制
+         */
+        private Duration timeout;
+
+        /**
+         * 请求超时时间，包含排队和执行，超过后按异步请求超时返回（查询 503，写入结果未知）；
+         * 应大于排队超时，只作用于本类别的请求，不影响其他异步请求
+         */
+        private Duration requestTimeout;
+
+        public Pool(int threads, int queueCapacity, Duration timeout, Duration requestTimeout) {
+            this.threads = threads;
+            this.queueCapacity = queueCapacity;
+            this.timeout = timeout;
+            this.requestTimeout = requestTimeout;
+        }
+    }
+}
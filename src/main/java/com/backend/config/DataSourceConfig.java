@@ -0,0 +1,99 @@
+package com.backend.config;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.alibaba.druid.spring.boot.autoconfigure.DruidDataSourceBuilder;
+import com.backend.common.datasource.AdaptivePoolController;
+import com.backend.common.datasource.ReadWriteRoutingDataSource;
+import com.backend.common.datasource.RoutingContextFilter;
+import com.backend.common.utils.StringUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 数据源配置类
+ * 主库为 Druid 连接池（沿用 spring.datasource.druid 配置），app.datasource.replicas 中的从库复制主库的连接池参数；
+ * 对外暴露的数据源为 延迟取连接代理 -> 读写路由 -> 延迟预算包装 -> 主库/从库，各连接池上限由自适应控制器调整。
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+@Slf4j
+@Configuration
+public class DataSourceConfig implements DisposableBean {
+
+    private final List<DruidDataSource> replicas = new ArrayList<>();
+
+    /**
+     * 主库连接池
+     */
+    @Bean(initMethod = "init")
+    @ConfigurationProperties("spring.datasource.druid")
+    public DruidDataSource writeDataSource() {
+        return DruidDataSourceBuilder.create().build();
+    }
+
+    /**
+     * 连接池上限自适应控制器
+     */
+    @Bean
+    public AdaptivePoolController adaptivePoolController(RoutingDataSourceProperties properties) {
+        return new AdaptivePoolController(properties.getPool());
+    }
+
+    /**
+     * 应用使用的数据源
+     * 事务开始时只读标记尚未生效，延迟到第一条语句再取连接，路由才能看到只读标记
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(DruidDataSource writeDataSource, RoutingDataSourceProperties properties,
+                                 AdaptivePoolController adaptivePoolController) throws SQLException {
+        DataSource primary = adaptivePoolController.register(writeDataSource);
+        List<DataSource> targets = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            RoutingDataSourceProperties.Replica config = properties.getReplicas().get(i);
+            DruidDataSource replica = writeDataSource.cloneDruidDataSource();
+            replica.setName("replica-" + i);
+            replica.setUrl(config.getUrl());
+            if (StringUtils.isNotBlank(config.getUsername())) {
+                replica.setUsername(config.getUsername());
+            }
+            if (StringUtils.isNotBlank(config.getPassword())) {
+                replica.setPassword(config.getPassword());
+            }
+            replica.init();
+            replicas.add(replica);
+            targets.add(adaptivePoolController.register(replica));
+        }
+        log.info("读写分离数据源初始化完成，从库数量: {}", targets.size());
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, targets));
+    }
+
+    /**
+     * 请求结束时清除主库固定
+     */
+    @Bean
+    public FilterRegistrationBean<RoutingContextFilter> routingContextFilter() {
+        FilterRegistrationBean<RoutingContextFilter> registration = new FilterRegistrationBean<>(new RoutingContextFilter());
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(DruidDataSource::close);
+    }
+}
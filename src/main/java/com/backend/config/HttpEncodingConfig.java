@@ -0,0 +1,109 @@
+package com.backend.config;
+
+import com.backend.common.http.CompressionFilter;
+import com.backend.common.http.EncodingMetrics;
+import com.backend.common.http.MeteredJacksonHttpMessageConverter;
+import com.backend.common.http.MeteredJsonHttpMessageConverter;
+import com.backend.common.http.ResponseFormats;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.DispatcherType;
+import java.util.List;
+
+/**
+ * 响应编码配置
+ * 按 Accept 协商 JSON / CBOR / Smile（JSON 仍为默认），协商的响应带 Vary: Accept，
+ * 强 ETag 按 {@link ResponseFormats} 区分表示格式；客户端支持时 gzip 压缩较大的响应，
+ * 各编码的字节数和耗时记录在 {@link EncodingMetrics} 中。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Configuration
+public class HttpEncodingConfig implements WebMvcConfigurer {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final HttpEncodingProperties properties;
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilders;
+
+    public HttpEncodingConfig(HttpEncodingProperties properties,
+                              ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilders) {
+        this.properties = properties;
+        this.objectMapperBuilders = objectMapperBuilders;
+    }
+
+    @Bean
+    public EncodingMetrics encodingMetrics() {
+        return new EncodingMetrics();
+    }
+
+    @Bean
+    public ResponseFormats responseFormats() {
+        return new ResponseFormats(properties.isCbor(), properties.isSmile(), APPLICATION_SMILE);
+    }
+
+    /**
+     * 用计量的 JSON 转换器替换默认转换器，并在其后追加二进制格式（使用相同的 Jackson 配置）
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (!(converters.get(i) instanceof MappingJackson2HttpMessageConverter)) {
+                continue;
+            }
+            MappingJackson2HttpMessageConverter json = (MappingJackson2HttpMessageConverter) converters.get(i);
+            MeteredJsonHttpMessageConverter metered =
+                    new MeteredJsonHttpMessageConverter(json.getObjectMapper(), encodingMetrics());
+            boolean vary = responseFormats().negotiated();
+            metered.setSupportedMediaTypes(json.getSupportedMediaTypes());
+            metered.setVaryByAccept(vary);
+            converters.set(i, metered);
+
+            int position = i + 1;
+            if (properties.isCbor()) {
+                MeteredJacksonHttpMessageConverter cbor = new MeteredJacksonHttpMessageConverter(
+                        objectMapperBuilders.getObject().factory(new CBORFactory()).build(),
+                        MediaType.APPLICATION_CBOR, "cbor", encodingMetrics());
+                cbor.setVaryByAccept(vary);
+                converters.add(position++, cbor);
+            }
+            if (properties.isSmile()) {
+                MeteredJacksonHttpMessageConverter smile = new MeteredJacksonHttpMessageConverter(
+                        objectMapperBuilders.getObject().factory(new SmileFactory()).build(),
+                        APPLICATION_SMILE, "smile", encodingMetrics());
+                smile.setVaryByAccept(vary);
+                converters.add(position, smile);
+            }
+            return;
+        }
+    }
+
+    /**
+     * 响应压缩，位于其他过滤器外层
+     */
+    @Bean
+    public FilterRegistrationBean<CompressionFilter> compressionFilter() {
+        HttpEncodingProperties.Compression compression = properties.getCompression();
+        CompressionFilter filter = new CompressionFilter((int) compression.getMinResponseSize().toBytes(),
+                compression.getMimeTypes(), encodingMetrics());
+        FilterRegistrationBean<CompressionFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/*");
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.setEnabled(compression.isEnabled());
+        return registration;
+    }
+}
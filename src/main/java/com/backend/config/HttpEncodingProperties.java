@@ -0,0 +1,58 @@
+package com.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 响应编码配置
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.http")
+public class HttpEncodingProperties {
+
+    /**
+     * 是否支持 Accept: application/cbor
+     */
+    private boolean cbor = true;
+
+    /**
+     * 是否支持 Accept: application/x-jackson-smile
+     */
+    private boolean smile = true;
+
+    /**
+     * 响应压缩配置
+     */
+    private final Compression compression = new Compression();
+
+    @Data
+    public static class Compression {
+
+        /**
+         * 是否在客户端支持时 gzip 压缩响应
+         */
+        private boolean enabled = true;
+
+        /**
+         * 响应体达到该大小才压缩
+         */
+        private DataSize minResponseSize = DataSize.ofKilobytes(2);
+
+        /**
+         * 可压缩的内容类型
+         */
+        private List<String> mimeTypes = new ArrayList<>(Arrays.asList(
+                "application/json", "application/cbor", "application/x-jackson-smile", "application/x-ndjson",
+                "text/csv", "text/plain", "text/html", "text/css", "application/javascript"));
+    }
+}
@@ -0,0 +1,30 @@
+package com.backend.config;
+
+import com.backend.common.metrics.RequestMetrics;
+import com.backend.common.metrics.RequestMetricsInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 接口延迟统计配置
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final RequestMetrics requestMetrics;
+
+    public MetricsConfig(RequestMetrics requestMetrics) {
+        this.requestMetrics = requestMetrics;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 最先执行 preHandle、最后执行 afterCompletion，覆盖其他拦截器的耗时
+        registry.addInterceptor(new RequestMetricsInterceptor(requestMetrics)).order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -1,14 +1,24 @@
 package com.backend.config;
 
+import com.backend.common.metrics.SqlProfiler;
+import com.backend.common.metrics.SqlProfilerInterceptor;
+import com.backend.common.page.CachedCountStrategy;
+import com.backend.common.page.CountStrategy;
+import com.backend.common.page.EstimatedCountStrategy;
+import com.backend.common.page.ExactCountStrategy;
+import com.backend.common.page.SkipWhenNotFullCountStrategy;
+import com.backend.common.utils.CachedClock;
 import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.OptimisticLockerInnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.ibatis.reflection.MetaObject;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.sql.DataSource;
 import java.time.LocalDateTime;
 
 /**
@@ -29,9 +39,44 @@ public class MyBatisPlusConfig implements MetaObjectHandler {
         MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
         // 分页插件
         interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.MYSQL));
+        // 乐观锁插件：实体携带 version 时更新条件追加 version = ?，并将版本号加一
+        interceptor.addInnerInterceptor(new OptimisticLockerInnerInterceptor());
         return interceptor;
     }
 
+    /**
+     * SQL 语句耗时统计插件，统计见 /health/sql
+     */
+    @Bean
+    public SqlProfilerInterceptor sqlProfilerInterceptor(SqlProfiler sqlProfiler, DataSource dataSource) {
+        return new SqlProfilerInterceptor(sqlProfiler, dataSource);
+    }
+
+    /**
+     * 分页计数策略
+     * 分页插件只负责 LIMIT，总数由该策略在查询出当前页后计算
+     */
+    @Bean
+    public CountStrategy countStrategy(PageCountProperties properties) {
+        CountStrategy strategy;
+        switch (properties.getMode()) {
+            case CACHED:
+                strategy = new CachedCountStrategy(properties.getCacheTtl(), properties.getCacheMaxEntries());
+                break;
+            case ESTIMATED:
+                strategy = new EstimatedCountStrategy(properties.getEstimateThreshold());
+                break;
+            default:
+                strategy = new ExactCountStrategy();
+                break;
+        }
+        if (properties.isSkipWhenNotFull()) {
+            strategy = new SkipWhenNotFullCountStrategy(strategy);
+        }
+        log.info("分页计数策略: {}, 未满页跳过计数: {}", properties.getMode(), properties.isSkipWhenNotFull());
+        return strategy;
+    }
+
     /**
      * 插入时自动填充
      */
@@ -39,12 +84,14 @@ public class MyBatisPlusConfig implements MetaObjectHandler {
     public void insertFill(MetaObject metaObject) {
         log.debug("开始插入填充...");
         
-        // 填充创建时间
-        this.strictInsertFill(metaObject, "createTime", LocalDateTime.class, LocalDateTime.now());
-        // 填充更新时间
-        this.strictInsertFill(metaObject, "updateTime", LocalDateTime.class, LocalDateTime.now());
+        // 填充创建时间和更新时间（同一行取同一时刻）
+        LocalDateTime now = CachedClock.now();
+        this.strictInsertFill(metaObject, "createTime", LocalDateTime.class, now);
+        this.strictInsertFill(metaObject, "updateTime", LocalDateTime.class, now);
         // 填充逻辑删除字段
         this.strictInsertFill(metaObject, "deleted", Integer.class, 0);
+        // 填充乐观锁版本号
+        this.strictInsertFill(metaObject, "version", Integer.class, 0);
         
         // 填充创建者和更新者（这里可以从当前登录用户获取）
         String currentUser = getCurrentUser();
@@ -60,7 +107,7 @@ public class MyBatisPlusConfig implements MetaObjectHandler {
         log.debug("开始更新填充...");
         
         // 填充更新时间
-        this.strictUpdateFill(metaObject, "updateTime", LocalDateTime.class, LocalDateTime.now());
+        this.strictUpdateFill(metaObject, "updateTime", LocalDateTime.class, CachedClock.now());
         
         // 填充更新者（这里可以从当前登录用户获取）
         String currentUser = getCurrentUser();
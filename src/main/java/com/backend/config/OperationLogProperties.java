@@ -0,0 +1,77 @@
+package com.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 操作日志配置
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.operation-log")
+public class OperationLogProperties {
+
+    /**
+     * 是否记录操作日志
+     */
+    private boolean enabled = true;
+
+    /**
+     * 缓冲区容量（向上取整为 2 的幂）
+     */
+    private int bufferSize = 8192;
+
+    /**
+     * 每条 INSERT 最多写入的行数
+     */
+    private int batchSize = 200;
+
+    /**
+     * 缓冲区未攒满一批时的最长等待时间
+     */
+    private Duration flushInterval = Duration.ofMillis(500);
+
+    /**
+     * 缓冲区满时的处理策略
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    /**
+     * BLOCK 策略下最长等待时间，超时后丢弃
+     */
+    private Duration blockTimeout = Duration.ofMillis(50);
+
+    /**
+     * 参数/结果超过该长度时压缩（gzip + Base64）
+     */
+    private int compressThreshold = 4096;
+
+    /**
+     * 参数/结果最大保存长度，压缩后仍超过时截断
+     */
+    private int maxPayloadLength = 16384;
+
+    /**
+     * 关闭时等待剩余日志写入的最长时间
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    public enum OverflowPolicy {
+
+        /**
+         * 立即丢弃，请求线程不等待
+         */
+        DROP,
+
+        /**
+         * 短暂等待缓冲区空出位置，超时后丢弃
+         */
+        BLOCK
+    }
+}
@@ -0,0 +1,59 @@
+package com.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 分页计数配置
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.page.count")
+public class PageCountProperties {
+
+    /**
+     * 计数模式
+     */
+    private Mode mode = Mode.EXACT;
+
+    /**
+     * 未满页时是否跳过计数
+     */
+    private boolean skipWhenNotFull = true;
+
+    /**
+     * 缓存模式下计数结果的有效期
+     */
+    private Duration cacheTtl = Duration.ofSeconds(30);
+
+    /**
+     * 缓存模式下最多缓存的查询条件数
+     */
+    private int cacheMaxEntries = 1024;
+
+    /**
+     * 估算模式下预估行数低于该值时执行精确计数
+     */
+    private long estimateThreshold = 10000;
+
+    public enum Mode {
+        /**
+         * 精确计数
+         */
+        EXACT,
+        /**
+         * 缓存计数
+         */
+        CACHED,
+        /**
+         * 执行计划估算
+         */
+        ESTIMATED
+    }
+}
@@ -0,0 +1,95 @@
+package com.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离配置
+ * 主库沿用 spring.datasource 配置，从库只需配置连接信息，连接池参数与主库一致
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.datasource")
+public class RoutingDataSourceProperties {
+
+    /**
+     * 只读从库，为空时全部访问主库
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * 连接池上限自适应与获取连接的延迟预算，主库和从库各自独立调整
+     */
+    private Pool pool = new Pool();
+
+    @Data
+    public static class Replica {
+
+        /**
+         * 连接地址
+         */
+        private String url;
+
+        /**
+         * 用户名，为空时与主库相同
+         */
+        private String username;
+
+        /**
+         * 密码，为空时与主库相同
+         */
+        private String password;
+    }
+
+    @Data
+    public static class Pool {
+
+        /**
+         * 是否根据等待情况自动调整连接池上限，关闭时保持 spring.datasource.druid.max-active
+         */
+        private boolean adaptive = true;
+
+        /**
+         * 上限的下界（不低于 Druid 的 min-idle）
+         */
+        private int minActive = 5;
+
+        /**
+         * 上限的上界
+         */
+        private int maxActive = 50;
+
+        /**
+         * 获取连接的延迟预算，预计等待超过该值时直接失败，实际等待也不超过该值
+         */
+        private Duration latencyBudget = Duration.ofSeconds(1);
+
+        /**
+         * 周期内平均等待超过该值且连接全部借出时扩容
+         */
+        private Duration growWait = Duration.ofMillis(10);
+
+        /**
+         * 连续多少个周期峰值占用不超过上限一半时缩容
+         */
+        private int shrinkAfter = 30;
+
+        /**
+         * 调整周期
+         */
+        private Duration adjustInterval = Duration.ofSeconds(1);
+
+        /**
+         * 保留的调整记录条数
+         */
+        private int historySize = 50;
+    }
+}
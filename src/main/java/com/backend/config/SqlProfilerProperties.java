@@ -0,0 +1,44 @@
+package com.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * SQL 语句耗时统计配置
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.sql.profiler")
+public class SqlProfilerProperties {
+
+    /**
+     * 是否启用
+     */
+    private boolean enabled = true;
+
+    /**
+     * 慢语句阈值，超过后计入慢语句次数并采集执行计划
+     */
+    private Duration slowThreshold = Duration.ofMillis(200);
+
+    /**
+     * 同一语句两次采集执行计划的最小间隔
+     */
+    private Duration explainInterval = Duration.ofMinutes(10);
+
+    /**
+     * 最多统计的语句数，超过后合并到 (other)
+     */
+    private int maxStatements = 512;
+
+    /**
+     * 保存的 SQL 文本最大长度
+     */
+    private int maxSqlLength = 2000;
+}
@@ -0,0 +1,210 @@
+package com.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 用户模块配置
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.user")
+public class UserProperties {
+
+    /**
+     * 分页配置
+     */
+    private final Page page = new Page();
+
+    /**
+     * 本地缓存配置
+     */
+    private final Cache cache = new Cache();
+
+    /**
+     * 唯一键索引配置
+     */
+    private final UniqueIndex uniqueIndex = new UniqueIndex();
+
+    /**
+     * 批量创建配置
+     */
+    private final Batch batch = new Batch();
+
+    /**
+     * 流式导入配置
+     */
+    private final BulkImport bulkImport = new BulkImport();
+
+    /**
+     * 流式导出配置
+     */
+    private final Export export = new Export();
+
+    /**
+     * 统计计数配置
+     */
+    private final Statistics statistics = new Statistics();
+
+    /**
+     * 子串搜索索引配置
+     */
+    private final Search search = new Search();
+
+    /**
+     * ETag 配置
+     */
+    private final Etag etag = new Etag();
+
+    @Data
+    public static class Page {
+
+        /**
+         * 偏移分页允许的最大偏移量，超过后需改用游标分页
+         */
+        private long maxOffset = 10000;
+
+        /**
+         * 每页最大条数
+         */
+        private long maxSize = 500;
+    }
+
+    @Data
+    public static class Cache {
+
+        /**
+         * 是否启用用户本地缓存
+         */
+        private boolean enabled = true;
+
+        /**
+         * 最大缓存用户数
+         */
+        private int maximumSize = 10000;
+
+        /**
+         * 缓存有效期
+         * 各节点的缓存互不通知，其他节点的修改（包括状态变更）最长在该时间后可见，即多节点部署时的陈旧上限；
+         * 本节点的修改立即失效
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class UniqueIndex {
+
+        /**
+         * 是否启用唯一键内存索引
+         */
+        private boolean enabled = true;
+
+        /**
+         * 布隆过滤器误判率
+         */
+        private double falsePositiveRate = 0.01;
+
+        /**
+         * 过滤器最小容量
+         */
+        private long minCapacity = 100000;
+
+        /**
+         * 全量重建间隔
+         */
+        private Duration rebuildInterval = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class Batch {
+
+        /**
+         * 单次请求最多创建的用户数
+         */
+        private int maxSize = 50000;
+
+        /**
+         * 每个事务处理的行数
+         */
+        private int chunkSize = 1000;
+    }
+
+    @Data
+    public static class BulkImport {
+
+        /**
+         * 每块写入的行数，决定导入时的内存占用
+         */
+        private int chunkSize = 1000;
+
+        /**
+         * 同时进行的导入任务数，每个任务同一时刻最多占用一个数据库连接
+         */
+        private int maxConcurrent = 2;
+
+        /**
+         * 单行（单条记录）最大字符数
+         */
+        private int maxRecordLength = 65536;
+    }
+
+    @Data
+    public static class Export {
+
+        /**
+         * 同时进行的导出任务数，每个任务在整个导出期间独占一个数据库连接
+         */
+        private int maxConcurrent = 2;
+    }
+
+    @Data
+    public static class Statistics {
+
+        /**
+         * 与数据库对账的间隔
+         */
+        private Duration reconcileInterval = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Search {
+
+        /**
+         * 是否启用三元组索引，关闭后用户名/邮箱模糊查询直接使用 LIKE。
+         * 索引只含本节点的写入和最近一次重建的数据，查询会信任其结果，
+         * 只有所有写入都经过本节点（单节点部署、没有直接 SQL 修改用户）时才能开启
+         */
+        private boolean enabled = false;
+
+        /**
+         * 候选 id 上限，超过时退回 LIKE 查询，避免 IN 列表过长
+         */
+        private int maxCandidates = 5000;
+
+        /**
+         * 全量重建间隔，同时清理改名和删除留下的旧记录
+         */
+        private Duration rebuildInterval = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Etag {
+
+        /**
+         * 是否为用户查询接口生成 ETag 并处理 If-None-Match
+         */
+        private boolean enabled = true;
+
+        /**
+         * 分页 ETag 的最长有效期：本节点的写入会立即使其失效，
+         * 其他节点或应用外的修改最迟在该时间后被感知
+         */
+        private Duration pageTtl = Duration.ofSeconds(30);
+    }
+}
@@ -1,17 +1,29 @@
 package com.backend.controller;
 
+import com.backend.common.concurrent.Bulkheads;
+import com.backend.common.concurrent.ClientRateLimiter;
+import com.backend.common.concurrent.GradientLimiter;
+import com.backend.common.datasource.AdaptivePoolController;
+import com.backend.common.http.EncodingMetrics;
+import com.backend.common.metrics.RequestMetrics;
+import com.backend.common.metrics.SqlProfiler;
 import com.backend.common.result.Result;
-import com.backend.common.utils.DateUtils;
+import com.backend.common.utils.CachedClock;
+import com.backend.service.support.HealthResponses;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.HashMap;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * 健康检查控制器
+ * 负载均衡和探针调用频繁，直接写出预编码的响应
  * 
  * @author backend
  * @since 1.0.0
@@ -21,60 +33,110 @@ import java.util.Map;
 @RequestMapping("/health")
 public class HealthController {
 
+    @Autowired
+    private HealthResponses healthResponses;
+
+    @Autowired
+    private AdaptivePoolController adaptivePoolController;
+
+    @Autowired
+    private Bulkheads bulkheads;
+
+    @Autowired
+    private GradientLimiter gradientLimiter;
+
+    @Autowired
+    private ClientRateLimiter clientRateLimiter;
+
+    @Autowired
+    private EncodingMetrics encodingMetrics;
+
+    @Autowired
+    private RequestMetrics requestMetrics;
+
+    @Autowired
+    private SqlProfiler sqlProfiler;
+
     /**
      * 健康检查
      */
     @GetMapping
-    public Result<Map<String, Object>> health() {
-        Map<String, Object> healthInfo = new HashMap<>();
-        healthInfo.put("status", "UP");
-        healthInfo.put("timestamp", DateUtils.formatNow());
-        healthInfo.put("application", "API Foundation");
-        healthInfo.put("version", "1.0.0");
-        
-        return Result.success("系统运行正常", healthInfo);
+    public void health(HttpServletResponse response) throws IOException {
+        healthResponses.health().writeTo(response, CachedClock.currentTimeMillis());
     }
 
     /**
-     * 系统信息
+     * 系统信息（后台定时刷新）
      */
     @GetMapping("/info")
-    public Result<Map<String, Object>> info() {
-        Map<String, Object> systemInfo = new HashMap<>();
-        
-        // 应用信息
-        Map<String, Object> appInfo = new HashMap<>();
-        appInfo.put("name", "API Foundation");
-        appInfo.put("version", "1.0.0");
-        appInfo.put("description", "基础API服务");
-        systemInfo.put("application", appInfo);
-        
-        // 系统信息
-        Map<String, Object> sysInfo = new HashMap<>();
-        sysInfo.put("java.version", System.getProperty("java.version"));
-        sysInfo.put("java.vendor", System.getProperty("java.vendor"));
-        sysInfo.put("os.name", System.getProperty("os.name"));
-        sysInfo.put("os.version", System.getProperty("os.version"));
-        sysInfo.put("os.arch", System.getProperty("os.arch"));
-        systemInfo.put("system", sysInfo);
-        
-        // 运行时信息
-        Runtime runtime = Runtime.getRuntime();
-        Map<String, Object> runtimeInfo = new HashMap<>();
-        runtimeInfo.put("processors", runtime.availableProcessors());
-        runtimeInfo.put("totalMemory", runtime.totalMemory());
-        runtimeInfo.put("freeMemory", runtime.freeMemory());
-        runtimeInfo.put("maxMemory", runtime.maxMemory());
-        systemInfo.put("runtime", runtimeInfo);
-        
-        return Result.success("系统信息获取成功", systemInfo);
+    public void info(HttpServletResponse response) throws IOException {
+        healthResponses.info().writeTo(response, CachedClock.currentTimeMillis());
     }
 
     /**
      * Ping接口
      */
     @GetMapping("/ping")
-    public Result<String> ping() {
-        return Result.success("pong");
+    public void ping(HttpServletResponse response) throws IOException {
+        healthResponses.ping().writeTo(response, CachedClock.currentTimeMillis());
+    }
+
+    /**
+     * 响应编码与压缩统计
+     */
+    @GetMapping("/encoding")
+    public Result<Map<String, Object>> encoding() {
+        return Result.success("查询成功", encodingMetrics.stats());
+    }
+
+    /**
+     * 接口延迟统计：p50/p99/p999（毫秒）、吞吐量、错误率，累计及上一统计周期
+     */
+    @GetMapping("/metrics")
+    public Result<Map<String, Object>> metrics() {
+        return Result.success("查询成功", requestMetrics.stats());
+    }
+
+    /**
+     * 接口延迟统计（Prometheus 文本格式）
+     */
+    @GetMapping(value = "/metrics/prometheus", produces = "text/plain; version=0.0.4; charset=utf-8")
+    public String prometheus() {
+        return requestMetrics.prometheus();
+    }
+
+    /**
+     * SQL 语句统计：按累计耗时排序的次数、延迟分位数、行数及慢查询执行计划
+     */
+    @GetMapping("/sql")
+    public Result<Map<String, Object>> sql() {
+        return Result.success("查询成功", sqlProfiler.stats());
+    }
+
+    /**
+     * 连接池状态：当前上限、占用、等待、快速失败次数及自适应调整记录
+     */
+    @GetMapping("/pool")
+    public Result<Map<String, Object>> pool() {
+        return Result.success("查询成功", adaptivePoolController.stats());
+    }
+
+    /**
+     * 接口隔离舱状态：各类别的线程、排队、拒绝和超时次数
+     */
+    @GetMapping("/bulkheads")
+    public Result<Map<String, Object>> bulkheads() {
+        return Result.success("查询成功", bulkheads.stats());
+    }
+
+    /**
+     * 准入控制状态：节点并发上限、在途请求、按客户端限速及拒绝次数
+     */
+    @GetMapping("/admission")
+    public Result<Map<String, Object>> admission() {
+        Map<String, Object> admission = new LinkedHashMap<>();
+        admission.put("limit", gradientLimiter.stats());
+        admission.put("client", clientRateLimiter.stats());
+        return Result.success("查询成功", admission);
     }
-}
\ No newline at end of file
+}
@@ -1,20 +1,60 @@
 package com.backend.controller;
 
+import com.backend.common.annotation.OperLog;
+import com.backend.common.concurrent.Bulkheads;
+import com.backend.common.exception.BusinessException;
+import com.backend.common.http.ResponseFormats;
+import com.backend.common.result.BatchResult;
+import com.backend.common.result.ImportEvent;
 import com.backend.common.result.PageResult;
 import com.backend.common.result.Result;
+import com.backend.common.result.ResultCode;
+import com.backend.common.utils.CsvUtils;
+import com.backend.common.utils.DateUtils;
 import com.backend.entity.User;
+import com.backend.service.UserImportService;
+import com.backend.service.UserRoleService;
 import com.backend.service.UserService;
-import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.backend.service.support.UserCache;
+import com.backend.service.support.UserETags;
+import com.backend.service.support.UserRoleCache;
+import com.backend.service.support.UserSearchIndex;
+import com.backend.service.support.UserStatisticsCounter;
+import com.backend.service.support.UserUniqueIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 用户管理控制器
+ * 除导入导出和统计信息外，接口按操作类别提交到各自的隔离舱异步执行，见 {@link Bulkheads}；
+ * 获取数据库连接失败（连接池快速失败）不转为通用错误，交给全局异常处理返回 DATABASE_CONNECTION_ERROR
  * 
  * @author backend
  * @since 1.0.0
@@ -27,217 +67,513 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRoleService userRoleService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private UserUniqueIndex userUniqueIndex;
+
+    @Autowired
+    private UserStatisticsCounter userStatisticsCounter;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private UserRoleCache userRoleCache;
+
+    @Autowired
+    private UserETags userETags;
+
+    @Autowired
+    private ResponseFormats responseFormats;
+
+    @Autowired
+    private Bulkheads bulkheads;
+
     /**
      * 分页查询用户列表
      */
     @GetMapping("/page")
-    public Result<PageResult<User>> getUserPage(
+    public CompletableFuture<ResponseEntity<Result<PageResult<User>>>> getUserPage(
         @RequestParam(defaultValue = "1") Long current,
         @RequestParam(defaultValue = "10") Long size,
         @RequestParam(required = false) String username,
         @RequestParam(required = false) String email,
+        @RequestParam(required = false) Integer status,
+        @RequestParam(defaultValue = "true") Boolean searchCount,
+        HttpServletRequest request) {
+        String representation = responseFormats.etagSuffix(request);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        return bulkheads.search().execute(() -> {
+            // 先取 ETag 再查询，查询期间发生的写入会使代数递增，不会把旧数据标记为新代数
+            String etag = userETags.forPage(representation);
+            if (matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            PageResult<User> pageResult = userService.getUserPage(current, size, username, email, status, searchCount);
+            return tagged(etag, Result.success("查询成功", pageResult));
+        }, e -> {
+            log.error("分页查询用户列表失败", e);
+            return ResponseEntity.ok(Result.error("查询失败"));
+        });
+    }
+
+    /**
+     * 游标分页查询用户列表
+     * 首次请求不传 cursor，后续使用上一页返回的 nextCursor
+     */
+    @GetMapping("/page/cursor")
+    public CompletableFuture<Result<PageResult<User>>> getUserPageByCursor(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "10") Long size,
+        @RequestParam(required = false) String username,
+        @RequestParam(required = false) String email,
         @RequestParam(required = false) Integer status) {
-        
-        try {
-            IPage<User> page = userService.getUserPage(current, size, username, email, status);
-            PageResult<User> pageResult = PageResult.of(
-                page.getRecords(), 
-                page.getTotal(), 
-                page.getCurrent(), 
-                page.getSize()
-            );
+        return bulkheads.search().execute(() -> {
+            PageResult<User> pageResult = userService.getUserPageByCursor(cursor, size, username, email, status);
             return Result.success("查询成功", pageResult);
-        } catch (Exception e) {
-            log.error("分页查询用户列表失败", e);
+        }, e -> {
+            log.error("游标分页查询用户列表失败", e);
             return Result.error("查询失败");
-        }
+        });
     }
 
     /**
      * 根据ID查询用户
      */
     @GetMapping("/{id}")
-    public Result<User> getUserById(@PathVariable @NotNull Long id) {
-        try {
+    public CompletableFuture<ResponseEntity<Result<User>>> getUserById(@PathVariable @NotNull Long id,
+                                                                       HttpServletRequest request) {
+        String representation = responseFormats.etagSuffix(request);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        return bulkheads.pointRead().execute(() -> {
             User user = userService.getById(id);
-            return Result.success("查询成功", user);
-        } catch (Exception e) {
+            String etag = userETags.forUser(user, representation);
+            if (matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            return tagged(etag, Result.success("查询成功", user));
+        }, e -> {
             log.error("根据ID查询用户失败", e);
-            return Result.error("查询失败");
-        }
+            return ResponseEntity.ok(Result.error("查询失败"));
+        });
     }
 
     /**
      * 根据用户名查询用户
      */
     @GetMapping("/username/{username}")
-    public Result<User> getUserByUsername(@PathVariable String username) {
-        try {
+    public CompletableFuture<ResponseEntity<Result<User>>> getUserByUsername(@PathVariable String username,
+                                                                             HttpServletRequest request) {
+        String representation = responseFormats.etagSuffix(request);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        return bulkheads.pointRead().execute(() -> {
             User user = userService.getUserByUsername(username);
-            return Result.success("查询成功", user);
-        } catch (Exception e) {
+            String etag = userETags.forUser(user, representation);
+            if (matches(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            return tagged(etag, Result.success("查询成功", user));
+        }, e -> {
             log.error("根据用户名查询用户失败", e);
-            return Result.error("查询失败");
-        }
+            return ResponseEntity.ok(Result.error("查询失败"));
+        });
     }
 
     /**
      * 创建用户
      */
+    @OperLog("创建用户")
     @PostMapping
-    public Result<User> createUser(@RequestBody @Valid User user) {
-        try {
+    public CompletableFuture<Result<User>> createUser(@RequestBody @Valid User user) {
+        return bulkheads.write().execute(() -> {
             User createdUser = userService.createUser(user);
             return Result.success("用户创建成功", createdUser);
-        } catch (Exception e) {
+        }, e -> {
             log.error("创建用户失败", e);
             return Result.error("创建失败");
+        });
+    }
+
+    /**
+     * 批量创建用户
+     */
+    @OperLog("批量创建用户")
+    @PostMapping("/batch")
+    public CompletableFuture<Result<BatchResult>> createUsers(@RequestBody List<User> users) {
+        return bulkheads.bulk().execute(() -> {
+            BatchResult result = userService.createUsers(users);
+            return Result.success("批量创建完成", result);
+        }, e -> {
+            log.error("批量创建用户失败", e);
+            return Result.error("批量创建失败");
+        });
+    }
+
+    /**
+     * 流式导入用户
+     * 请求体为 NDJSON 或带表头的 CSV（format 为空时按 Content-Type 判断），
+     * 响应为 NDJSON：逐条输出被拒绝的行、每块完成后的进度，最后一行为汇总或中止原因
+     */
+    @OperLog("导入用户")
+    @PostMapping("/import")
+    public void importUsers(@RequestParam(required = false) String format,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (format == null) {
+            String contentType = request.getContentType();
+            format = contentType != null && contentType.toLowerCase().contains("csv") ? "csv" : "ndjson";
+        }
+        Charset charset = request.getCharacterEncoding() == null
+                ? StandardCharsets.UTF_8 : Charset.forName(request.getCharacterEncoding());
+        
+        response.setContentType("application/x-ndjson;charset=UTF-8");
+        Writer writer = new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8);
+        try (Reader reader = new InputStreamReader(request.getInputStream(), charset)) {
+            ImportEvent summary = userImportService.importUsers(reader, format, event -> writeEvent(writer, event));
+            writeEvent(writer, summary);
+        } catch (BusinessException e) {
+            writeEvent(writer, ImportEvent.error(e.getCode(), e.getMessage()));
+        } catch (UncheckedIOException e) {
+            log.warn("导入进度写出失败，客户端可能已断开: {}", e.getMessage());
+        } catch (TransientDataAccessResourceException | CannotGetJdbcConnectionException e) {
+            log.warn("导入用户时数据库连接获取失败: {}", e.getMostSpecificCause().getMessage());
+            writeEvent(writer, ImportEvent.error(ResultCode.DATABASE_CONNECTION_ERROR.getCode(),
+                    ResultCode.DATABASE_CONNECTION_ERROR.getMessage()));
+        } catch (Exception e) {
+            log.error("导入用户失败", e);
+            writeEvent(writer, ImportEvent.error(ResultCode.ERROR.getCode(), "导入失败"));
+        }
+    }
+
+    /**
+     * 流式导出用户
+     * 逐行读取并直接写出到响应流，内存占用与用户数无关；format 为 ndjson 或 csv。
+     * 导出期间独占一个数据库连接，同时进行的导出数受 app.user.export.max-concurrent 限制
+     */
+    @GetMapping("/export")
+    public void exportUsers(@RequestParam(defaultValue = "ndjson") String format,
+                            @RequestParam(required = false) Integer status,
+                            HttpServletResponse response) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            response.setContentType("application/json;charset=UTF-8");
+            response.getWriter().write(objectMapper.writeValueAsString(
+                    Result.error(ResultCode.BAD_REQUEST.getCode(), "不支持的导出格式: " + format)));
+            return;
+        }
+        
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=users." + (csv ? "csv" : "ndjson"));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        try {
+            if (csv) {
+                writer.write(CsvUtils.formatRecord("id", "username", "email", "phone", "real_name", "avatar",
+                        "status", "remark", "create_time", "update_time"));
+                writer.write('\n');
+            }
+            userService.exportUsers(status, user -> writeExportRow(writer, user, csv));
+            writer.flush();
+        } catch (BusinessException e) {
+            // 未取得导出名额时尚未写出任何数据，丢弃已设置的下载头，改为返回错误结果
+            if (response.isCommitted()) {
+                throw e;
+            }
+            response.reset();
+            response.setContentType("application/json;charset=UTF-8");
+            response.getWriter().write(objectMapper.writeValueAsString(Result.error(e.getCode(), e.getMessage())));
+        } catch (UncheckedIOException e) {
+            log.warn("导出用户中断，客户端可能已断开: {}", e.getMessage());
+        } catch (Exception e) {
+            // 响应已开始写出，无法再返回错误结果，只能中断输出
+            log.error("导出用户失败", e);
+            throw e;
         }
     }
 
     /**
      * 更新用户
      */
+    @OperLog("更新用户")
     @PutMapping
-    public Result<User> updateUser(@RequestBody @Valid User user) {
-        try {
+    public CompletableFuture<Result<User>> updateUser(@RequestBody @Valid User user) {
+        return bulkheads.write().execute(() -> {
             User updatedUser = userService.updateUser(user);
             return Result.success("用户更新成功", updatedUser);
-        } catch (Exception e) {
+        }, e -> {
             log.error("更新用户失败", e);
             return Result.error("更新失败");
-        }
+        });
     }
 
     /**
      * 删除用户
      */
+    @OperLog("删除用户")
     @DeleteMapping("/{id}")
-    public Result<Void> deleteUser(@PathVariable @NotNull Long id) {
-        try {
+    public CompletableFuture<Result<Void>> deleteUser(@PathVariable @NotNull Long id) {
+        return bulkheads.write().execute(() -> {
             boolean deleted = userService.deleteUser(id);
             if (deleted) {
                 return Result.<Void>success("用户删除成功", null);
             } else {
                 return Result.<Void>error("用户删除失败");
             }
-        } catch (Exception e) {
+        }, e -> {
             log.error("删除用户失败", e);
             return Result.<Void>error("删除失败");
-        }
+        });
     }
 
     /**
      * 批量删除用户
      */
+    @OperLog("批量删除用户")
     @DeleteMapping("/batch")
-    public Result<Void> deleteUsers(@RequestBody List<Long> ids) {
-        try {
+    public CompletableFuture<Result<Void>> deleteUsers(@RequestBody List<Long> ids) {
+        return bulkheads.bulk().execute(() -> {
             boolean deleted = userService.deleteUsers(ids);
             if (deleted) {
                 return Result.<Void>success("用户批量删除成功", null);
             } else {
                 return Result.<Void>error("用户批量删除失败");
             }
-        } catch (Exception e) {
+        }, e -> {
             log.error("批量删除用户失败", e);
             return Result.<Void>error("批量删除失败");
-        }
+        });
     }
 
     /**
      * 更新用户状态
      */
+    @OperLog("更新用户状态")
     @PutMapping("/{id}/status")
-    public Result<Void> updateUserStatus(
+    public CompletableFuture<Result<Void>> updateUserStatus(
         @PathVariable @NotNull Long id,
-        @RequestParam @NotNull Integer status) {
-        try {
-            boolean updated = userService.updateUserStatus(id, status);
+        @RequestParam @NotNull Integer status,
+        @RequestParam(required = false) Integer version) {
+        return bulkheads.write().execute(() -> {
+            boolean updated = userService.updateUserStatus(id, status, version);
             if (updated) {
                 return Result.<Void>success("用户状态更新成功", null);
             } else {
                 return Result.<Void>error("用户状态更新失败");
             }
-        } catch (Exception e) {
+        }, e -> {
             log.error("更新用户状态失败", e);
             return Result.<Void>error("状态更新失败");
-        }
+        });
+    }
+
+    /**
+     * 查询用户角色
+     */
+    @GetMapping("/{id}/roles")
+    public CompletableFuture<Result<Set<String>>> getUserRoles(@PathVariable @NotNull Long id) {
+        return bulkheads.pointRead().execute(() -> {
+            return Result.success("查询成功", userRoleService.getRoleCodes(id));
+        }, e -> {
+            log.error("查询用户角色失败", e);
+            return Result.error("查询失败");
+        });
+    }
+
+    /**
+     * 设置用户角色（整体替换）
+     */
+    @OperLog("设置用户角色")
+    @PutMapping("/{id}/roles")
+    public CompletableFuture<Result<Void>> assignRoles(@PathVariable @NotNull Long id, @RequestBody List<Long> roleIds) {
+        return bulkheads.write().execute(() -> {
+            userRoleService.assignRoles(id, roleIds);
+            return Result.<Void>success("用户角色设置成功", null);
+        }, e -> {
+            log.error("设置用户角色失败", e);
+            return Result.<Void>error("设置失败");
+        });
     }
 
     /**
      * 重置用户密码
      */
+    @OperLog("重置用户密码")
     @PutMapping("/{id}/password")
-    public Result<Void> resetPassword(
+    public CompletableFuture<Result<Void>> resetPassword(
         @PathVariable @NotNull Long id,
-        @RequestParam @NotNull String newPassword) {
-        try {
-            boolean reset = userService.resetPassword(id, newPassword);
+        @RequestParam @NotNull String newPassword,
+        @RequestParam(required = false) Integer version) {
+        return bulkheads.write().execute(() -> {
+            boolean reset = userService.resetPassword(id, newPassword, version);
             if (reset) {
                 return Result.<Void>success("密码重置成功", null);
             } else {
                 return Result.<Void>error("密码重置失败");
             }
-        } catch (Exception e) {
+        }, e -> {
             log.error("重置用户密码失败", e);
             return Result.<Void>error("密码重置失败");
-        }
+        });
     }
 
     /**
      * 检查用户名是否存在
      */
     @GetMapping("/exists/username")
-    public Result<Boolean> existsByUsername(@RequestParam String username) {
-        try {
+    public CompletableFuture<Result<Boolean>> existsByUsername(@RequestParam String username) {
+        return bulkheads.pointRead().execute(() -> {
             boolean exists = userService.existsByUsername(username);
             return Result.success("查询成功", exists);
-        } catch (Exception e) {
+        }, e -> {
             log.error("检查用户名是否存在失败", e);
             return Result.error("查询失败");
-        }
+        });
     }
 
     /**
      * 检查邮箱是否存在
      */
     @GetMapping("/exists/email")
-    public Result<Boolean> existsByEmail(@RequestParam String email) {
-        try {
+    public CompletableFuture<Result<Boolean>> existsByEmail(@RequestParam String email) {
+        return bulkheads.pointRead().execute(() -> {
             boolean exists = userService.existsByEmail(email);
             return Result.success("查询成功", exists);
-        } catch (Exception e) {
+        }, e -> {
             log.error("检查邮箱是否存在失败", e);
             return Result.error("查询失败");
-        }
+        });
     }
 
     /**
      * 检查手机号是否存在
      */
     @GetMapping("/exists/phone")
-    public Result<Boolean> existsByPhone(@RequestParam String phone) {
-        try {
+    public CompletableFuture<Result<Boolean>> existsByPhone(@RequestParam String phone) {
+        return bulkheads.pointRead().execute(() -> {
             boolean exists = userService.existsByPhone(phone);
             return Result.success("查询成功", exists);
-        } catch (Exception e) {
+        }, e -> {
             log.error("检查手机号是否存在失败", e);
             return Result.error("查询失败");
-        }
+        });
     }
 
     /**
      * 获取用户统计信息
      */
     @GetMapping("/statistics")
-    public Result<UserService.UserStatistics> getUserStatistics() {
-        try {
+    public CompletableFuture<Result<UserService.UserStatistics>> getUserStatistics() {
+        return bulkheads.pointRead().execute(() -> {
             UserService.UserStatistics statistics = userService.getUserStatistics();
             return Result.success("查询成功", statistics);
-        } catch (Exception e) {
+        }, e -> {
             log.error("获取用户统计信息失败", e);
             return Result.error("查询失败");
+        });
+    }
+
+    /**
+     * 获取用户缓存和唯一键索引统计信息
+     */
+    @GetMapping("/cache/stats")
+    public Result<Map<String, Object>> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("userCache", userCache.stats());
+        stats.put("uniqueIndex", userUniqueIndex.stats());
+        stats.put("statistics", userStatisticsCounter.stats());
+        stats.put("searchIndex", userSearchIndex.stats());
+        stats.put("roleCache", userRoleCache.stats());
+        return Result.success("查询成功", stats);
+    }
+
+    /**
+     * 写出一行导入事件，进度和汇总事件立即刷出
+     */
+    private void writeEvent(Writer writer, ImportEvent event) {
+        try {
+            writer.write(objectMapper.writeValueAsString(event));
+            writer.write('\n');
+            if (!ImportEvent.REJECTED.equals(event.getType())) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 写出一行导出数据
+     */
+    private void writeExportRow(Writer writer, User user, boolean csv) {
+        try {
+            if (csv) {
+                writer.write(CsvUtils.formatRecord(user.getId(), user.getUsername(), user.getEmail(), user.getPhone(),
+                        user.getRealName(), user.getAvatar(), user.getStatus(), user.getRemark(),
+                        user.getCreateTime() == null ? null : DateUtils.format(user.getCreateTime()),
+                        user.getUpdateTime() == null ? null : DateUtils.format(user.getUpdateTime())));
+            } else {
+                writer.write(objectMapper.writeValueAsString(user));
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * If-None-Match 与 ETag 一致时返回 304，不查询、不序列化
+     * If-None-Match 在 MVC 线程上读取，工作线程只比较字符串并返回 ResponseEntity，不访问请求和响应对象，
+     * 异步超时后请求已结束时工作线程也不会写入已回收的响应
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (etag == null || ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if ("*".equals(value) || etag.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <T> ResponseEntity<Result<T>> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(validators(etag)).build();
+    }
+
+    /**
+     * 成功响应带上 ETag，并要求客户端每次使用前重新验证；没有 ETag 的响应（如用户不存在）不缓存
+     */
+    private <T> ResponseEntity<Result<T>> tagged(String etag, Result<T> result) {
+        if (etag == null) {
+            return ResponseEntity.ok(result);
+        }
+        return ResponseEntity.ok().headers(validators(etag)).body(result);
+    }
+
+    /**
+     * 304 响应不经过消息转换器，需自行带上 Vary: Accept
+     */
+    private HttpHeaders validators(String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        headers.setCacheControl(CacheControl.noCache());
+        if (responseFormats.negotiated()) {
+            ResponseFormats.addVary(headers);
         }
+        return headers;
     }
-}
\ No newline at end of file
+}
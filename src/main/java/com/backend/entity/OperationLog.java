@@ -0,0 +1,109 @@
+package com.backend.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 操作日志实体类
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+@Data
+@TableName("sys_operation_log")
+public class OperationLog implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 主键ID（自增）
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 操作用户ID
+     */
+    @TableField("user_id")
+    private Long userId;
+
+    /**
+     * 操作用户名
+     */
+    @TableField("username")
+    private String username;
+
+    /**
+     * 操作类型
+     */
+    @TableField("operation")
+    private String operation;
+
+    /**
+     * 请求方法
+     */
+    @TableField("method")
+    private String method;
+
+    /**
+     * 请求参数
+     */
+    @TableField("params")
+    private String params;
+
+    /**
+     * 返回结果
+     */
+    @TableField("result")
+    private String result;
+
+    /**
+     * IP地址
+     */
+    @TableField("ip")
+    private String ip;
+
+    /**
+     * 操作地点
+     */
+    @TableField("location")
+    private String location;
+
+    /**
+     * 用户代理
+     */
+    @TableField("user_agent")
+    private String userAgent;
+
+    /**
+     * 执行时间（毫秒）
+     */
+    @TableField("execute_time")
+    private Long executeTime;
+
+    /**
+     * 操作状态 (0: 成功, 1: 失败)
+     */
+    @TableField("status")
+    private Integer status;
+
+    /**
+     * 错误信息
+     */
+    @TableField("error_msg")
+    private String errorMsg;
+
+    /**
+     * 创建时间
+     */
+    @TableField("create_time")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createTime;
+}
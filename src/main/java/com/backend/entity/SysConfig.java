@@ -0,0 +1,49 @@
+package com.backend.entity;
+
+import com.backend.common.entity.BaseEntity;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 系统配置实体类
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@TableName("sys_config")
+public class SysConfig extends BaseEntity {
+
+    /**
+     * 配置键
+     */
+    @TableField("config_key")
+    private String configKey;
+
+    /**
+     * 配置值
+     */
+    @TableField("config_value")
+    private String configValue;
+
+    /**
+     * 配置类型 (STRING, NUMBER, BOOLEAN, JSON)
+     */
+    @TableField("config_type")
+    private String configType;
+
+    /**
+     * 配置描述
+     */
+    @TableField("description")
+    private String description;
+
+    /**
+     * 是否系统配置 (0: 否, 1: 是)
+     */
+    @TableField("is_system")
+    private Integer isSystem;
+}
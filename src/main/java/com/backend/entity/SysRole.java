@@ -0,0 +1,43 @@
+package com.backend.entity;
+
+import com.backend.common.entity.BaseEntity;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 角色实体类
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@TableName("sys_role")
+public class SysRole extends BaseEntity {
+
+    /**
+     * 角色名称
+     */
+    @TableField("role_name")
+    private String roleName;
+
+    /**
+     * 角色编码
+     */
+    @TableField("role_code")
+    private String roleCode;
+
+    /**
+     * 角色描述
+     */
+    @TableField("description")
+    private String description;
+
+    /**
+     * 状态 (0: 正常, 1: 禁用)
+     */
+    @TableField("status")
+    private Integer status;
+}
@@ -3,6 +3,7 @@ package com.backend.entity;
 import com.backend.common.entity.BaseEntity;
 import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.annotation.Version;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -82,4 +83,11 @@ public class User extends BaseEntity {
     @Size(max = 500, message = "备注长度不能超过500个字符")
     @TableField("remark")
     private String remark;
+
+    /**
+     * 乐观锁版本号，更新时携带则只在版本一致时生效
+     */
+    @Version
+    @TableField("version")
+    private Integer version;
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.backend.mapper;
+
+import com.backend.entity.OperationLog;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 操作日志Mapper接口
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+@Mapper
+public interface OperationLogMapper extends BaseMapper<OperationLog> {
+
+    /**
+     * 多行插入，一条语句写入一批日志
+     */
+    @Insert("<script>INSERT INTO sys_operation_log (user_id, username, operation, method, params, result, ip, "
+            + "location, user_agent, execute_time, status, error_msg, create_time) VALUES "
+            + "<foreach collection='logs' item='log' separator=','>"
+            + "(#{log.userId}, #{log.username}, #{log.operation}, #{log.method}, #{log.params}, #{log.result}, "
+            + "#{log.ip}, #{log.location}, #{log.userAgent}, #{log.executeTime}, #{log.status}, #{log.errorMsg}, "
+            + "#{log.createTime})"
+            + "</foreach></script>")
+    int insertBatch(@Param("logs") List<OperationLog> logs);
+}
@@ -0,0 +1,33 @@
+package com.backend.mapper;
+
+import com.backend.entity.SysConfig;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 系统配置Mapper接口
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+@Mapper
+public interface SysConfigMapper extends BaseMapper<SysConfig> {
+
+    /**
+     * 查询全部有效配置，只取构建快照需要的列
+     */
+    @Select("SELECT config_key, config_value, config_type FROM sys_config WHERE deleted = 0")
+    List<SysConfig> selectSnapshotRows();
+
+    /**
+     * 配置表指纹：最后修改时间、总行数（含已删除）与数据库当前时间，单位秒
+     * 逻辑删除会刷新 update_time，物理删除改变总行数
+     */
+    @Select("SELECT UNIX_TIMESTAMP(MAX(update_time)) AS last_modified, COUNT(*) AS total, "
+            + "UNIX_TIMESTAMP() AS db_now FROM sys_config")
+    Map<String, Object> selectFingerprint();
+}
@@ -0,0 +1,24 @@
+package com.backend.mapper;
+
+import com.backend.entity.SysRole;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * 角色Mapper接口
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+@Mapper
+public interface SysRoleMapper extends BaseMapper<SysRole> {
+
+    /**
+     * 查询全部未删除角色，只取构建角色索引需要的列
+     */
+    @Select("SELECT id, role_code, status FROM sys_role WHERE deleted = 0 ORDER BY id")
+    List<SysRole> selectRoleIndexRows();
+}
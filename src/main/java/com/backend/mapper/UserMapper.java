@@ -1,12 +1,22 @@
 package com.backend.mapper;
 
 import com.backend.entity.User;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 用户Mapper接口
@@ -41,9 +51,111 @@ public interface UserMapper extends BaseMapper<User> {
     @Select("SELECT * FROM sys_user WHERE status = 0 AND deleted = 0 ORDER BY create_time DESC")
     List<User> findActiveUsers();
 
+    /**
+     * 游标方式查询正常状态的用户，逐行读取，内存占用与用户数无关
+     * 需在事务内使用并在事务结束前关闭游标，读取期间独占一个连接
+     */
+    @Select("SELECT * FROM sys_user WHERE status = 0 AND deleted = 0 ORDER BY create_time DESC")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    Cursor<User> streamActiveUsers();
+
+    /**
+     * 流式导出用户（不含密码），status 为空时导出全部
+     */
+    @Select("<script>SELECT id, username, email, phone, real_name, avatar, status, remark, create_time, update_time "
+            + "FROM sys_user WHERE deleted = 0"
+            + "<if test='status != null'> AND status = #{status}</if>"
+            + " ORDER BY id</script>")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(User.class)
+    void scanForExport(@Param("status") Integer status, ResultHandler<User> handler);
+
+    /**
+     * 条件更新状态，只在状态确有变化时生效；version 不为空时还要求版本一致
+     *
+     * @return 影响行数，0 表示用户不存在、状态未变化或版本不一致
+     */
+    @Update("<script>UPDATE sys_user SET status = #{status}, version = version + 1, update_time = NOW() "
+            + "WHERE id = #{id} AND deleted = 0 AND status &lt;&gt; #{status}"
+            + "<if test='version != null'> AND version = #{version}</if>"
+            + "</script>")
+    int updateStatus(@Param("id") Long id, @Param("status") Integer status, @Param("version") Integer version);
+
+    /**
+     * 条件更新密码，version 不为空时只在版本一致时生效
+     *
+     * @return 影响行数，0 表示用户不存在或版本不一致
+     */
+    @Update("<script>UPDATE sys_user SET password = #{password}, version = version + 1, update_time = NOW() "
+            + "WHERE id = #{id} AND deleted = 0"
+            + "<if test='version != null'> AND version = #{version}</if>"
+            + "</script>")
+    int updatePassword(@Param("id") Long id, @Param("password") String password, @Param("version") Integer version);
+
+    /**
+     * 加行锁查询未删除用户的状态，需在写事务内调用，事务结束前状态不会被并发修改
+     */
+    @Select("SELECT status FROM sys_user WHERE id = #{id} AND deleted = 0 FOR UPDATE")
+    Integer selectStatusForUpdate(@Param("id") Long id);
+
+    /**
+     * 加行锁查询未删除用户的 id 和状态，需在写事务内调用
+     */
+    @Select("<script>SELECT id, status FROM sys_user WHERE deleted = 0 AND id IN "
+            + "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>"
+            + " FOR UPDATE</script>")
+    List<User> selectStatusForUpdateByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 按状态分组计数
+     */
+    @Select("SELECT status, COUNT(*) AS total FROM sys_user WHERE deleted = 0 GROUP BY status")
+    List<Map<String, Object>> countGroupByStatus();
+
     /**
      * 根据状态查询用户数量
      */
     @Select("SELECT COUNT(*) FROM sys_user WHERE status = #{status} AND deleted = 0")
     Long countByStatus(@Param("status") Integer status);
-}
\ No newline at end of file
+
+    /**
+     * 查询条件的执行计划，用于估算匹配行数
+     * 自定义 SQL 不会追加逻辑删除条件，需与 count 一样显式带上 deleted = 0；
+     * 条件只取 WHERE 部分并加括号，不带排序和 last，顶层的 OR 也不会越过 deleted 条件
+     */
+    @Select("<script>EXPLAIN SELECT id FROM sys_user WHERE deleted = 0"
+            + "<if test=\"ew.nonEmptyOfWhere\"> AND (${ew.expression.normal.sqlSegment})</if></script>")
+    List<Map<String, Object>> explain(@Param(Constants.WRAPPER) Wrapper<User> queryWrapper);
+
+    /**
+     * 流式扫描所有用户的唯一键（id、用户名、邮箱、手机号）
+     */
+    @Select("SELECT id, username, email, phone FROM sys_user WHERE deleted = 0")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(User.class)
+    void scanUniqueKeys(ResultHandler<User> handler);
+
+    /**
+     * 查询已存在的用户名（包含已逻辑删除的记录，与唯一约束一致）
+     */
+    @Select("<script>SELECT username FROM sys_user WHERE username IN "
+            + "<foreach collection='values' item='value' open='(' separator=',' close=')'>#{value}</foreach>"
+            + "</script>")
+    List<String> selectExistingUsernames(@Param("values") Collection<String> values);
+
+    /**
+     * 查询已存在的邮箱（包含已逻辑删除的记录，与唯一约束一致）
+     */
+    @Select("<script>SELECT email FROM sys_user WHERE email IN "
+            + "<foreach collection='values' item='value' open='(' separator=',' close=')'>#{value}</foreach>"
+            + "</script>")
+    List<String> selectExistingEmails(@Param("values") Collection<String> values);
+
+    /**
+     * 查询已存在的手机号（包含已逻辑删除的记录，与唯一约束一致）
+     */
+    @Select("<script>SELECT phone FROM sys_user WHERE phone IN "
+            + "<foreach collection='values' item='value' open='(' separator=',' close=')'>#{value}</foreach>"
+            + "</script>")
+    List<String> selectExistingPhones(@Param("values") Collection<String> values);
+}
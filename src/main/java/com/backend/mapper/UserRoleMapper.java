@@ -0,0 +1,56 @@
+package com.backend.mapper;
+
+import com.backend.entity.UserRole;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 用户角色关联Mapper接口
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+@Mapper
+public interface UserRoleMapper extends BaseMapper<UserRole> {
+
+    /**
+     * 流式扫描未删除用户的全部角色关联，按用户分组输出
+     */
+    @Select("SELECT ur.user_id, ur.role_id FROM sys_user_role ur "
+            + "JOIN sys_user u ON u.id = ur.user_id AND u.deleted = 0 ORDER BY ur.user_id")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(UserRole.class)
+    void scanAll(ResultHandler<UserRole> handler);
+
+    /**
+     * 查询用户的角色ID
+     */
+    @Select("SELECT role_id FROM sys_user_role WHERE user_id = #{userId}")
+    List<Long> selectRoleIds(@Param("userId") Long userId);
+
+    /**
+     * 删除用户的全部角色关联
+     */
+    @Delete("DELETE FROM sys_user_role WHERE user_id = #{userId}")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * 为用户批量添加角色
+     */
+    @Insert("<script>INSERT INTO sys_user_role (user_id, role_id, create_by) VALUES "
+            + "<foreach collection='roleIds' item='roleId' separator=','>(#{userId}, #{roleId}, #{createBy})</foreach>"
+            + "</script>")
+    int insertRoles(@Param("userId") Long userId, @Param("roleIds") Collection<Long> roleIds,
+                    @Param("createBy") String createBy);
+}
@@ -0,0 +1,73 @@
+package com.backend.service;
+
+import com.backend.entity.SysConfig;
+import com.backend.service.support.SysConfigSnapshot;
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Set;
+
+/**
+ * 系统配置服务接口
+ * 配置读取自内存快照，不访问数据库；快照按间隔检查配置表指纹，有变化时整体替换并发布 {@link ConfigChangedEvent}。
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+public interface SysConfigService extends IService<SysConfig> {
+
+    /**
+     * 当前快照，多次读取需要一致时先取快照再读取
+     */
+    SysConfigSnapshot snapshot();
+
+    String getString(String key, String defaultValue);
+
+    int getInt(String key, int defaultValue);
+
+    long getLong(String key, long defaultValue);
+
+    boolean getBoolean(String key, boolean defaultValue);
+
+    /**
+     * JSON 类型配置，不存在或无法解析时返回 null，返回的节点不应修改
+     */
+    JsonNode getJson(String key);
+
+    /**
+     * 检查配置表指纹，有变化时重新加载
+     *
+     * @return 配置内容是否发生变化
+     */
+    boolean refresh();
+
+    /**
+     * 立即重新加载，不检查指纹
+     *
+     * @return 配置内容是否发生变化
+     */
+    boolean reload();
+
+    /**
+     * 配置变更事件，在快照替换后发布
+     */
+    class ConfigChangedEvent {
+        private final SysConfigSnapshot previous;
+        private final SysConfigSnapshot current;
+        private final Set<String> changedKeys;
+
+        public ConfigChangedEvent(SysConfigSnapshot previous, SysConfigSnapshot current, Set<String> changedKeys) {
+            this.previous = previous;
+            this.current = current;
+            this.changedKeys = changedKeys;
+        }
+
+        public SysConfigSnapshot getPrevious() { return previous; }
+
+        public SysConfigSnapshot getCurrent() { return current; }
+
+        public Set<String> getChangedKeys() { return changedKeys; }
+
+        public boolean isChanged(String key) { return changedKeys.contains(key); }
+    }
+}
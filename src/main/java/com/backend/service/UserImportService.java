@@ -0,0 +1,26 @@
+package com.backend.service;
+
+import com.backend.common.result.ImportEvent;
+
+import java.io.Reader;
+import java.util.function.Consumer;
+
+/**
+ * 用户导入服务接口
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+public interface UserImportService {
+
+    /**
+     * 流式导入用户
+     * 边读边按块写入，内存占用只与块大小有关；每块完成后通过 listener 回调被拒绝的行和进度
+     *
+     * @param reader   NDJSON（每行一个用户）或带表头的 CSV
+     * @param format   ndjson 或 csv
+     * @param listener 事件回调
+     * @return 汇总事件
+     */
+    ImportEvent importUsers(Reader reader, String format, Consumer<ImportEvent> listener);
+}
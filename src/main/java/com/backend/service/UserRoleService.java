@@ -0,0 +1,32 @@
+package com.backend.service;
+
+import com.backend.entity.UserRole;
+import com.baomidou.mybatisplus.extension.service.IService;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 用户角色服务接口
+ * 角色查询读取 {@link com.backend.service.support.UserRoleCache}，不访问数据库
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+public interface UserRoleService extends IService<UserRole> {
+
+    /**
+     * 用户是否拥有指定角色（仅启用状态的角色）
+     */
+    boolean hasRole(Long userId, String roleCode);
+
+    /**
+     * 获取用户的角色编码
+     */
+    Set<String> getRoleCodes(Long userId);
+
+    /**
+     * 设置用户的角色（整体替换），提交后刷新缓存
+     */
+    void assignRoles(Long userId, List<Long> roleIds);
+}
@@ -1,10 +1,12 @@
 package com.backend.service;
 
+import com.backend.common.result.BatchResult;
+import com.backend.common.result.PageResult;
 import com.backend.entity.User;
-import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.IService;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 用户服务接口
@@ -16,8 +18,16 @@ public interface UserService extends IService<User> {
 
     /**
      * 分页查询用户列表
+     * searchCount 为 false 时不统计总数
      */
-    IPage<User> getUserPage(Long current, Long size, String username, String email, Integer status);
+    PageResult<User> getUserPage(Long current, Long size, String username, String email, Integer status,
+                                 boolean searchCount);
+
+    /**
+     * 游标分页查询用户列表
+     * 按 (create_time, id) 倒序，cursor 为空时从第一页开始
+     */
+    PageResult<User> getUserPageByCursor(String cursor, Long size, String username, String email, Integer status);
 
     /**
      * 根据用户名查询用户
@@ -39,6 +49,12 @@ public interface UserService extends IService<User> {
      */
     User createUser(User user);
 
+    /**
+     * 批量创建用户
+     * 逐行返回结果，单行校验失败或唯一键冲突不影响其他行
+     */
+    BatchResult createUsers(List<User> users);
+
     /**
      * 更新用户信息
      */
@@ -56,13 +72,15 @@ public interface UserService extends IService<User> {
 
     /**
      * 启用/禁用用户
+     * version 不为空时只在版本一致时更新，否则返回冲突
      */
-    boolean updateUserStatus(Long id, Integer status);
+    boolean updateUserStatus(Long id, Integer status, Integer version);
 
     /**
      * 重置用户密码
+     * version 不为空时只在版本一致时更新，否则返回冲突
      */
-    boolean resetPassword(Long id, String newPassword);
+    boolean resetPassword(Long id, String newPassword, Integer version);
 
     /**
      * 检查用户名是否存在
@@ -108,4 +126,15 @@ public interface UserService extends IService<User> {
         public Long getDisabledUsers() { return disabledUsers; }
         public void setDisabledUsers(Long disabledUsers) { this.disabledUsers = disabledUsers; }
     }
-}
\ No newline at end of file
+
+    /**
+     * 流式导出用户，逐行回调，不在内存中保留结果集
+     * status 为空时导出全部
+     */
+    void exportUsers(Integer status, Consumer<User> consumer);
+
+    /**
+     * 逐个处理正常状态的用户，供内部任务使用，替代一次性加载的 findActiveUsers
+     */
+    void forEachActiveUser(Consumer<User> consumer);
+}
@@ -0,0 +1,212 @@
+package com.backend.service.impl;
+
+import com.backend.entity.SysConfig;
+import com.backend.mapper.SysConfigMapper;
+import com.backend.service.SysConfigService;
+import com.backend.service.support.SysConfigSnapshot;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 系统配置服务实现类
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class SysConfigServiceImpl extends ServiceImpl<SysConfigMapper, SysConfig> implements SysConfigService {
+
+    private static final String TYPE_NUMBER = "NUMBER";
+
+    private static final String TYPE_BOOLEAN = "BOOLEAN";
+
+    private static final String TYPE_JSON = "JSON";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private volatile SysConfigSnapshot snapshot = SysConfigSnapshot.EMPTY;
+
+    @PostConstruct
+    public void init() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("系统配置加载失败，暂按默认值运行，将在下次检查时重试", e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.sys-config.refresh-interval:PT10S}",
+            fixedDelayString = "${app.sys-config.refresh-interval:PT10S}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("系统配置检查失败，继续使用当前快照: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public SysConfigSnapshot snapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public String getString(String key, String defaultValue) {
+        return snapshot.getString(key, defaultValue);
+    }
+
+    @Override
+    public int getInt(String key, int defaultValue) {
+        return snapshot.getInt(key, defaultValue);
+    }
+
+    @Override
+    public long getLong(String key, long defaultValue) {
+        return snapshot.getLong(key, defaultValue);
+    }
+
+    @Override
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return snapshot.getBoolean(key, defaultValue);
+    }
+
+    @Override
+    public JsonNode getJson(String key) {
+        return snapshot.getJson(key);
+    }
+
+    @Override
+    public synchronized boolean refresh() {
+        SysConfigSnapshot current = snapshot;
+        Fingerprint fingerprint = fingerprint();
+        // update_time 精度为秒：快照在最后修改的同一秒内加载时，该秒内之后的修改不改变指纹，需要再加载一次
+        if (current != SysConfigSnapshot.EMPTY
+                && fingerprint.lastModified == current.getLastModified()
+                && fingerprint.total == current.getRowCount()
+                && current.getLoadedAt() > current.getLastModified()) {
+            return false;
+        }
+        return load(fingerprint);
+    }
+
+    @Override
+    public synchronized boolean reload() {
+        return load(fingerprint());
+    }
+
+    /**
+     * 先取指纹再读数据：两者之间的修改会包含在数据中，下次检查时指纹不同只会多加载一次
+     */
+    private boolean load(Fingerprint fingerprint) {
+        List<SysConfig> rows = baseMapper.selectSnapshotRows();
+        Map<String, SysConfigSnapshot.Entry> entries = new HashMap<>(rows.size() * 2);
+        for (SysConfig row : rows) {
+            entries.put(row.getConfigKey(), parse(row));
+        }
+
+        SysConfigSnapshot previous = snapshot;
+        SysConfigSnapshot probe = new SysConfigSnapshot(entries, previous.getVersion(), fingerprint.lastModified,
+                fingerprint.total, fingerprint.dbNow);
+        Set<String> changedKeys = previous == SysConfigSnapshot.EMPTY
+                ? entries.keySet() : probe.changedKeys(previous);
+        if (changedKeys.isEmpty()) {
+            snapshot = probe;
+            return false;
+        }
+
+        SysConfigSnapshot next = new SysConfigSnapshot(entries, previous.getVersion() + 1, fingerprint.lastModified,
+                fingerprint.total, fingerprint.dbNow);
+        snapshot = next;
+        log.info("系统配置已加载，版本: {}, 配置数: {}, 变更: {}", next.getVersion(), entries.size(), changedKeys);
+        eventPublisher.publishEvent(new ConfigChangedEvent(previous, next, Collections.unmodifiableSet(changedKeys)));
+        return true;
+    }
+
+    private SysConfigSnapshot.Entry parse(SysConfig row) {
+        String raw = row.getConfigValue();
+        String type = row.getConfigType() == null ? "STRING" : row.getConfigType().toUpperCase();
+        Object value = raw;
+        if (raw != null) {
+            try {
+                value = parseValue(raw.trim(), type);
+            } catch (Exception e) {
+                value = null;
+            }
+            if (value == null) {
+                log.warn("系统配置取值无法按类型解析，将使用默认值: {}={} ({})", row.getConfigKey(), raw, type);
+            }
+        }
+        return new SysConfigSnapshot.Entry(row.getConfigKey(), raw, type, value);
+    }
+
+    private Object parseValue(String raw, String type) throws Exception {
+        switch (type) {
+            case TYPE_NUMBER:
+                BigDecimal number = new BigDecimal(raw);
+                try {
+                    return number.longValueExact();
+                } catch (ArithmeticException e) {
+                    return number;
+                }
+            case TYPE_BOOLEAN:
+                if ("true".equalsIgnoreCase(raw) || "1".equals(raw)) {
+                    return Boolean.TRUE;
+                }
+                if ("false".equalsIgnoreCase(raw) || "0".equals(raw)) {
+                    return Boolean.FALSE;
+                }
+                return null;
+            case TYPE_JSON:
+                return objectMapper.readTree(raw);
+            default:
+                return raw;
+        }
+    }
+
+    private Fingerprint fingerprint() {
+        Map<String, Object> row = baseMapper.selectFingerprint();
+        return new Fingerprint(number(row, "last_modified"), number(row, "total"), number(row, "db_now"));
+    }
+
+    private static long number(Map<String, Object> row, String column) {
+        Object value = row == null ? null : row.get(column);
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    /**
+     * 配置表指纹
+     */
+    private static final class Fingerprint {
+
+        private final long lastModified;
+
+        private final long total;
+
+        private final long dbNow;
+
+        private Fingerprint(long lastModified, long total, long dbNow) {
+            this.lastModified = lastModified;
+            this.total = total;
+            this.dbNow = dbNow;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.backend.service.impl;
+
+import com.backend.common.exception.BusinessException;
+import com.backend.common.result.BatchResult;
+import com.backend.common.result.ImportEvent;
+import com.backend.common.result.ResultCode;
+import com.backend.common.utils.CsvUtils;
+import com.backend.common.utils.StringUtils;
+import com.backend.config.UserProperties;
+import com.backend.entity.User;
+import com.backend.service.UserImportService;
+import com.backend.service.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * 用户导入服务实现类
+ * 每块调用 {@link UserService#createUsers(List)} 写入，块内一个事务，同一时刻每个导入任务最多占用一个连接；
+ * 并发导入任务数受信号量限制，避免挤占连接池影响正常请求。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final String FORMAT_NDJSON = "ndjson";
+
+    private static final String FORMAT_CSV = "csv";
+
+    private final UserService userService;
+
+    private final ObjectMapper objectMapper;
+
+    private final UserProperties.BulkImport config;
+
+    private final Semaphore permits;
+
+    public UserImportServiceImpl(UserService userService, ObjectMapper objectMapper, UserProperties userProperties) {
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.config = userProperties.getBulkImport();
+        this.permits = new Semaphore(config.getMaxConcurrent());
+    }
+
+    @Override
+    public ImportEvent importUsers(Reader reader, String format, Consumer<ImportEvent> listener) {
+        if (!FORMAT_NDJSON.equalsIgnoreCase(format) && !FORMAT_CSV.equalsIgnoreCase(format)) {
+            throw BusinessException.of(ResultCode.BAD_REQUEST, "不支持的导入格式: " + format);
+        }
+        if (!permits.tryAcquire()) {
+            throw BusinessException.of(ResultCode.SERVICE_UNAVAILABLE, "导入任务过多，请稍后重试");
+        }
+        try {
+            BufferedReader buffered = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+            RowReader rows = FORMAT_CSV.equalsIgnoreCase(format) ? new CsvRowReader(buffered) : new NdjsonRowReader(buffered);
+            ImportTask task = new ImportTask(listener);
+            Row row;
+            while ((row = rows.next()) != null) {
+                task.accept(row);
+            }
+            ImportEvent summary = task.finish();
+            log.info("用户导入完成，处理: {}, 成功: {}, 失败: {}, 耗时: {}ms",
+                    summary.getProcessed(), summary.getSucceeded(), summary.getFailed(), summary.getElapsed());
+            return summary;
+        } catch (IOException e) {
+            log.warn("读取导入数据失败", e);
+            throw BusinessException.of(ResultCode.BAD_REQUEST, "读取导入数据失败");
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * 单次导入的状态，只保留当前块
+     */
+    private final class ImportTask {
+
+        private final Consumer<ImportEvent> listener;
+
+        private final long start = System.currentTimeMillis();
+
+        private final List<User> chunk = new ArrayList<>(config.getChunkSize());
+
+        private final List<Long> lines = new ArrayList<>(config.getChunkSize());
+
+        private long processed;
+
+        private long succeeded;
+
+        private long failed;
+
+        private ImportTask(Consumer<ImportEvent> listener) {
+            this.listener = listener;
+        }
+
+        private void accept(Row row) {
+            if (row.error != null) {
+                processed++;
+                failed++;
+                listener.accept(ImportEvent.rejected(row.line, ResultCode.BAD_REQUEST.getCode(), row.error));
+                return;
+            }
+            chunk.add(row.user);
+            lines.add(row.line);
+            if (chunk.size() >= config.getChunkSize()) {
+                flush();
+            }
+        }
+
+        private ImportEvent finish() {
+            if (!chunk.isEmpty()) {
+                flush();
+            }
+            return ImportEvent.summary(processed, succeeded, failed, System.currentTimeMillis() - start);
+        }
+
+        private void flush() {
+            BatchResult result = userService.createUsers(chunk);
+            for (BatchResult.Item item : result.getItems()) {
+                if (!Boolean.TRUE.equals(item.getSuccess())) {
+                    listener.accept(ImportEvent.rejected(lines.get(item.getIndex()), item.getCode(), item.getMessage()));
+                }
+            }
+            processed += result.getTotal();
+            succeeded += result.getSucceeded();
+            failed += result.getFailed();
+            chunk.clear();
+            lines.clear();
+            listener.accept(ImportEvent.progress(processed, succeeded, failed, System.currentTimeMillis() - start));
+        }
+    }
+
+    /**
+     * 解析出的一行，解析失败时 user 为空、error 为原因
+     */
+    private static final class Row {
+
+        private final long line;
+
+        private final User user;
+
+        private final String error;
+
+        private Row(long line, User user, String error) {
+            this.line = line;
+            this.user = user;
+            this.error = error;
+        }
+    }
+
+    private interface RowReader {
+
+        /**
+         * 读取下一行，已到达末尾时返回 null
+         */
+        Row next() throws IOException;
+    }
+
+    /**
+     * NDJSON：每行一个 JSON 对象，空行跳过
+     */
+    private final class NdjsonRowReader implements RowReader {
+
+        private final BufferedReader reader;
+
+        private final StringBuilder buffer = new StringBuilder();
+
+        private long line;
+
+        private NdjsonRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            while (true) {
+                buffer.setLength(0);
+                boolean tooLong = false;
+                boolean any = false;
+                int c;
+                while ((c = reader.read()) != -1 && c != '\n') {
+                    any = true;
+                    if (buffer.length() < config.getMaxRecordLength()) {
+                        buffer.append((char) c);
+                    } else {
+                        tooLong = true;
+                    }
+                }
+                if (!any && c == -1) {
+                    return null;
+                }
+                line++;
+                if (tooLong) {
+                    return new Row(line, null, "行超过最大长度" + config.getMaxRecordLength());
+                }
+                String text = buffer.toString().replace("\uFEFF", "").trim();
+                if (text.isEmpty()) {
+                    continue;
+                }
+                try {
+                    return new Row(line, objectMapper.readValue(text, User.class), null);
+                } catch (JsonProcessingException e) {
+                    return new Row(line, null, "JSON格式错误: " + e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * CSV：首行为表头，列名不区分大小写和下划线，未知列忽略
+     */
+    private final class CsvRowReader implements RowReader {
+
+        private final BufferedReader reader;
+
+        private final String[] columns;
+
+        private long line = 1;
+
+        private CsvRowReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            List<String> header;
+            try {
+                header = CsvUtils.readRecord(reader, config.getMaxRecordLength());
+            } catch (IllegalArgumentException e) {
+                throw BusinessException.of(ResultCode.BAD_REQUEST, "CSV表头过长");
+            }
+            if (header == null) {
+                throw BusinessException.of(ResultCode.BAD_REQUEST, "CSV缺少表头");
+            }
+            this.columns = new String[header.size()];
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).replace("\uFEFF", "").trim().replace("_", "").toLowerCase(Locale.ROOT);
+                columns[i] = name;
+            }
+            List<String> names = Arrays.asList(columns);
+            if (!names.contains("username") || !names.contains("password")) {
+                throw BusinessException.of(ResultCode.BAD_REQUEST, "CSV表头必须包含username和password列");
+            }
+        }
+
+        @Override
+        public Row next() throws IOException {
+            while (true) {
+                List<String> record;
+                try {
+                    record = CsvUtils.readRecord(reader, config.getMaxRecordLength());
+                } catch (IllegalArgumentException e) {
+                    return new Row(++line, null, e.getMessage());
+                }
+                if (record == null) {
+                    return null;
+                }
+                line++;
+                if (record.size() == 1 && record.get(0).trim().isEmpty()) {
+                    continue;
+                }
+                return toRow(record);
+            }
+        }
+
+        private Row toRow(List<String> record) {
+            User user = new User();
+            for (int i = 0; i < columns.length && i < record.size(); i++) {
+                String value = StringUtils.isEmpty(record.get(i)) ? null : record.get(i);
+                switch (columns[i]) {
+                    case "username":
+                        user.setUsername(value);
+                        break;
+                    case "password":
+                        user.setPassword(value);
+                        break;
+                    case "email":
+                        user.setEmail(value);
+                        break;
+                    case "phone":
+                        user.setPhone(value);
+                        break;
+                    case "realname":
+                        user.setRealName(value);
+                        break;
+                    case "avatar":
+                        user.setAvatar(value);
+                        break;
+                    case "remark":
+                        user.setRemark(value);
+                        break;
+                    case "status":
+                        try {
+                            user.setStatus(value == null ? null : Integer.valueOf(value.trim()));
+                        } catch (NumberFormatException e) {
+                            return new Row(line, null, "状态必须为整数");
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+            return new Row(line, user, null);
+        }
+    }
+}
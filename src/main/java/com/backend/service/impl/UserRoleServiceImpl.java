@@ -0,0 +1,96 @@
+package com.backend.service.impl;
+
+import com.backend.common.exception.BusinessException;
+import com.backend.common.result.ResultCode;
+import com.backend.entity.UserRole;
+import com.backend.mapper.SysRoleMapper;
+import com.backend.mapper.UserMapper;
+import com.backend.mapper.UserRoleMapper;
+import com.backend.service.UserRoleService;
+import com.backend.service.support.UserRoleCache;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 用户角色服务实现类
+ * 
+ * @author backend
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@Transactional(rollbackFor = Exception.class)
+public class UserRoleServiceImpl extends ServiceImpl<UserRoleMapper, UserRole> implements UserRoleService {
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private SysRoleMapper sysRoleMapper;
+
+    @Autowired
+    private UserRoleCache userRoleCache;
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean hasRole(Long userId, String roleCode) {
+        return userId != null && roleCode != null && userRoleCache.hasRole(userId, roleCode);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Set<String> getRoleCodes(Long userId) {
+        if (userId == null) {
+            throw BusinessException.of(ResultCode.BAD_REQUEST, "用户ID不能为空");
+        }
+        return userRoleCache.getRoleCodes(userId);
+    }
+
+    @Override
+    public void assignRoles(Long userId, List<Long> roleIds) {
+        if (userId == null || roleIds == null) {
+            throw BusinessException.of(ResultCode.BAD_REQUEST, "用户ID和角色ID列表不能为空");
+        }
+        Set<Long> distinct = new LinkedHashSet<>(roleIds);
+        distinct.remove(null);
+        if (userMapper.selectById(userId) == null) {
+            throw BusinessException.of(ResultCode.DATA_NOT_FOUND, "用户不存在");
+        }
+        if (!distinct.isEmpty() && sysRoleMapper.selectBatchIds(distinct).size() != distinct.size()) {
+            throw BusinessException.of(ResultCode.DATA_NOT_FOUND, "角色不存在");
+        }
+
+        baseMapper.deleteByUserId(userId);
+        if (!distinct.isEmpty()) {
+            baseMapper.insertRoles(userId, distinct, "system");
+        }
+        afterCommit(() -> userRoleCache.refreshUser(userId));
+        log.info("用户角色设置成功: {} -> {}", userId, distinct);
+    }
+
+    /**
+     * 在当前事务提交后执行，无事务时立即执行
+     */
+    private static void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+}
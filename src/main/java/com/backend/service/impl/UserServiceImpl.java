@@ -1,20 +1,58 @@
 package com.backend.service.impl;
 
+import cn.hutool.core.bean.BeanUtil;
+import cn.hutool.core.bean.copier.CopyOptions;
 import com.backend.common.exception.BusinessException;
+import com.backend.common.page.CountContext;
+import com.backend.common.page.CountStrategy;
+import com.backend.common.page.EstimatedCountStrategy;
+import com.backend.common.page.PageCount;
+import com.backend.common.page.PageCursor;
+import com.backend.common.result.BatchResult;
+import com.backend.common.result.PageResult;
 import com.backend.common.result.ResultCode;
+import com.backend.common.utils.CachedClock;
 import com.backend.common.utils.StringUtils;
+import com.backend.config.UserProperties;
 import com.backend.entity.User;
 import com.backend.mapper.UserMapper;
 import com.backend.service.UserService;
+import com.backend.service.support.UserCache;
+import com.backend.service.support.UserETags;
+import com.backend.service.support.UserRoleCache;
+import com.backend.service.support.UserSearchIndex;
+import com.backend.service.support.UserStatisticsCounter;
+import com.backend.service.support.UserUniqueIndex;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
-import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.annotation.PostConstruct;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 用户服务实现类
@@ -27,17 +65,171 @@ import java.util.List;
 @Transactional(rollbackFor = Exception.class)
 public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements UserService {
 
+    private static final int STATUS_ACTIVE = 0;
+
+    private static final int STATUS_DISABLED = 1;
+
+    @Autowired
+    private UserProperties userProperties;
+
+    @Autowired
+    private CountStrategy countStrategy;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private UserUniqueIndex userUniqueIndex;
+
+    @Autowired
+    private UserStatisticsCounter userStatisticsCounter;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private UserRoleCache userRoleCache;
+
+    @Autowired
+    private UserETags userETags;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    /**
+     * 导出名额，与导入一样限制长时间占用连接的任务数
+     */
+    private Semaphore exportPermits;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void init() {
+        exportPermits = new Semaphore(userProperties.getExport().getMaxConcurrent());
+        readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResult<User> getUserPage(Long current, Long size, String username, String email, Integer status,
+                                        boolean searchCount) {
+        long pageSize = limitPageSize(size);
+        
+        // 深分页时 LIMIT offset 的代价随偏移量线性增长，超过上限要求改用游标分页
+        // 按页数比较而不是先算偏移量，超大页码相乘溢出为负数时会绕过上限
+        long skippedPages = Math.max(current, 1L) - 1;
+        if (skippedPages > userProperties.getPage().getMaxOffset() / pageSize) {
+            throw BusinessException.of(ResultCode.BAD_REQUEST, "分页偏移量过大，请使用游标分页接口 /user/page/cursor");
+        }
+        
+        // 子串条件先由搜索索引解析为候选 id，无候选时无需查询（索引只在确认包含全部写入时启用）
+        Set<Long> candidates = userSearchIndex.search(username, email);
+        if (candidates != null && candidates.isEmpty()) {
+            return PageResult.of(new ArrayList<>(), searchCount ? 0L : null, searchCount ? true : null, current, pageSize);
+        }
+        
+        // 分页插件只拼接 LIMIT，总数由计数策略在取回当前页后决定
+        Page<User> page = new Page<>(current, pageSize, false);
+        this.page(page, buildQueryWrapper(username, email, status, candidates));
+        List<User> records = page.getRecords();
+        if (!searchCount) {
+            return PageResult.of(records, null, null, current, pageSize);
+        }
+        
+        String cacheKey = CountContext.cacheKey("sys_user", username, email, status);
+        CountContext context = CountContext.of(cacheKey, current, pageSize, records.size(),
+                () -> this.count(buildConditionWrapper(username, email, status, candidates)),
+                () -> EstimatedCountStrategy.estimateFromExplain(
+                        baseMapper.explain(buildConditionWrapper(username, email, status, candidates))));
+        PageCount count = countStrategy.count(context);
+        return PageResult.of(records, count.getTotal(), count.isExact(), current, pageSize);
+    }
+
     @Override
-    public IPage<User> getUserPage(Long current, Long size, String username, String email, Integer status) {
-        Page<User> page = new Page<>(current, size);
+    @Transactional(readOnly = true)
+    public PageResult<User> getUserPageByCursor(String cursor, Long size, String username, String email, Integer status) {
+        long pageSize = limitPageSize(size);
+        
+        Set<Long> candidates = userSearchIndex.search(username, email);
+        if (candidates != null && candidates.isEmpty()) {
+            return PageResult.ofCursor(new ArrayList<>(), pageSize, null);
+        }
+        LambdaQueryWrapper<User> queryWrapper = buildQueryWrapper(username, email, status, candidates);
+        if (StringUtils.isNotBlank(cursor)) {
+            PageCursor pageCursor = PageCursor.decode(cursor);
+            queryWrapper.and(w -> w.lt(User::getCreateTime, pageCursor.getCreateTime())
+                    .or(o -> o.eq(User::getCreateTime, pageCursor.getCreateTime())
+                            .lt(User::getId, pageCursor.getId())));
+        }
+        // 多取一条用于判断是否还有下一页
+        queryWrapper.last("LIMIT " + (pageSize + 1));
         
+        List<User> records = this.list(queryWrapper);
+        String nextCursor = null;
+        if (records.size() > pageSize) {
+            records = records.subList(0, (int) pageSize);
+            User last = records.get(records.size() - 1);
+            nextCursor = new PageCursor(last.getCreateTime(), last.getId()).encode();
+        }
+        return PageResult.ofCursor(records, pageSize, nextCursor);
+    }
+
+    /**
+     * 构建用户列表查询条件
+     * 按 (create_time, id) 倒序，可直接使用 idx_create_time 索引（InnoDB二级索引隐含主键）
+     */
+    private LambdaQueryWrapper<User> buildQueryWrapper(String username, String email, Integer status,
+                                                       Set<Long> candidates) {
+        LambdaQueryWrapper<User> queryWrapper = buildConditionWrapper(username, email, status, candidates);
+        queryWrapper.orderByDesc(User::getCreateTime)
+                   .orderByDesc(User::getId);
+        return queryWrapper;
+    }
+
+    /**
+     * 构建用户列表过滤条件（不含排序，用于计数）
+     * candidates 为搜索索引给出的候选 id，按主键取回后仍由 LIKE 条件最终过滤
+     */
+    private LambdaQueryWrapper<User> buildConditionWrapper(String username, String email, Integer status,
+                                                           Set<Long> candidates) {
         LambdaQueryWrapper<User> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.like(StringUtils.isNotBlank(username), User::getUsername, username)
+        queryWrapper.in(candidates != null, User::getId, candidates)
+                   .like(StringUtils.isNotBlank(username), User::getUsername, username)
                    .like(StringUtils.isNotBlank(email), User::getEmail, email)
-                   .eq(status != null, User::getStatus, status)
-                   .orderByDesc(User::getCreateTime);
-        
-        return this.page(page, queryWrapper);
+                   .eq(status != null, User::getStatus, status);
+        return queryWrapper;
+    }
+
+    /**
+     * 限制每页条数
+     */
+    private long limitPageSize(Long size) {
+        if (size == null || size < 1) {
+            throw BusinessException.of(ResultCode.BAD_REQUEST, "每页条数必须大于0");
+        }
+        return Math.min(size, userProperties.getPage().getMaxSize());
+    }
+
+    /**
+     * 按主键查询，经缓存回源
+     * 缓存回源的查询不标记只读，始终读主库，避免从库延迟的旧数据被缓存
+     */
+    @Override
+    public User getById(Serializable id) {
+        if (!(id instanceof Long)) {
+            return baseMapper.selectById(id);
+        }
+        User user = userCache.getById((Long) id);
+        if (user == null) {
+            long stamp = userCache.stamp();
+            user = baseMapper.selectById(id);
+            userCache.put(user, stamp);
+        }
+        return user;
     }
 
     @Override
@@ -45,7 +237,13 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         if (StringUtils.isBlank(username)) {
             return null;
         }
-        return baseMapper.findByUsername(username);
+        User user = userCache.getByUsername(username);
+        if (user == null) {
+            long stamp = userCache.stamp();
+            user = baseMapper.findByUsername(username);
+            userCache.put(user, stamp);
+        }
+        return user;
     }
 
     @Override
@@ -53,7 +251,13 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         if (StringUtils.isBlank(email)) {
             return null;
         }
-        return baseMapper.findByEmail(email);
+        User user = userCache.getByEmail(email);
+        if (user == null) {
+            long stamp = userCache.stamp();
+            user = baseMapper.findByEmail(email);
+            userCache.put(user, stamp);
+        }
+        return user;
     }
 
     @Override
@@ -61,7 +265,13 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         if (StringUtils.isBlank(phone)) {
             return null;
         }
-        return baseMapper.findByPhone(phone);
+        User user = userCache.getByPhone(phone);
+        if (user == null) {
+            long stamp = userCache.stamp();
+            user = baseMapper.findByPhone(phone);
+            userCache.put(user, stamp);
+        }
+        return user;
     }
 
     @Override
@@ -71,34 +281,195 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
             throw BusinessException.of(ResultCode.BAD_REQUEST, "用户信息不能为空");
         }
         
-        // 检查用户名是否已存在
-        if (existsByUsername(user.getUsername())) {
-            throw BusinessException.of(ResultCode.DATA_ALREADY_EXISTS, "用户名已存在");
+        // 设置默认值
+        if (user.getStatus() == null) {
+            user.setStatus(0);
+        }
+        if (user.getStatus() != STATUS_ACTIVE && user.getStatus() != STATUS_DISABLED) {
+            throw BusinessException.of(ResultCode.BAD_REQUEST, "状态只能为0（正常）或1（禁用）");
+        }
+        
+        // 保存用户，唯一性由 uk_username/uk_email/uk_phone 约束保证，无需预先查询
+        registerUniqueKeys(user);
+        try {
+            if (!this.save(user)) {
+                throw BusinessException.of(ResultCode.DATABASE_ERROR, "用户创建失败");
+            }
+        } catch (DuplicateKeyException e) {
+            throw duplicateKey(e);
         }
+        onCreated(user);
         
-        // 检查邮箱是否已存在
-        if (StringUtils.isNotBlank(user.getEmail()) && existsByEmail(user.getEmail())) {
-            throw BusinessException.of(ResultCode.DATA_ALREADY_EXISTS, "邮箱已存在");
+        log.info("用户创建成功: {}", user.getUsername());
+        return user;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchResult createUsers(List<User> users) {
+        if (users == null || users.isEmpty()) {
+            throw BusinessException.of(ResultCode.BAD_REQUEST, "用户列表不能为空");
+        }
+        UserProperties.Batch batch = userProperties.getBatch();
+        if (users.size() > batch.getMaxSize()) {
+            throw BusinessException.of(ResultCode.BAD_REQUEST, "单次最多创建" + batch.getMaxSize() + "个用户");
         }
         
-        // 检查手机号是否已存在
-        if (StringUtils.isNotBlank(user.getPhone()) && existsByPhone(user.getPhone())) {
-            throw BusinessException.of(ResultCode.DATA_ALREADY_EXISTS, "手机号已存在");
+        // 按块处理，每块一个事务，避免长事务长时间占用连接
+        List<BatchResult.Item> items = new ArrayList<>(users.size());
+        for (int from = 0; from < users.size(); from += batch.getChunkSize()) {
+            int to = Math.min(from + batch.getChunkSize(), users.size());
+            items.addAll(createChunk(users.subList(from, to), from));
         }
         
-        // 设置默认值
-        if (user.getStatus() == null) {
-            user.setStatus(0);
+        BatchResult result = BatchResult.of(items);
+        log.info("批量创建用户完成，总数: {}, 成功: {}, 失败: {}", result.getTotal(), result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    /**
+     * 创建一块用户：逐行校验，集合查询唯一键冲突，再批量插入
+     *
+     * @param offset 本块第一行在整个批次中的行号
+     */
+    private List<BatchResult.Item> createChunk(List<User> chunk, int offset) {
+        BatchResult.Item[] items = new BatchResult.Item[chunk.size()];
+        
+        // 逐行校验并排除批次内重复
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            User user = chunk.get(i);
+            String error = validateForCreate(user);
+            if (error != null) {
+                items[i] = BatchResult.Item.failure(offset + i, ResultCode.VALIDATION_ERROR, error);
+                continue;
+            }
+            String username = UserUniqueIndex.normalize(user.getUsername());
+            String email = StringUtils.isNotBlank(user.getEmail()) ? UserUniqueIndex.normalize(user.getEmail()) : null;
+            String phone = StringUtils.isNotBlank(user.getPhone()) ? UserUniqueIndex.normalize(user.getPhone()) : null;
+            if (usernames.contains(username)) {
+                items[i] = BatchResult.Item.failure(offset + i, ResultCode.DATA_ALREADY_EXISTS, "用户名在本批次中重复");
+            } else if (email != null && emails.contains(email)) {
+                items[i] = BatchResult.Item.failure(offset + i, ResultCode.DATA_ALREADY_EXISTS, "邮箱在本批次中重复");
+            } else if (phone != null && phones.contains(phone)) {
+                items[i] = BatchResult.Item.failure(offset + i, ResultCode.DATA_ALREADY_EXISTS, "手机号在本批次中重复");
+            } else {
+                usernames.add(username);
+                if (email != null) {
+                    emails.add(email);
+                }
+                if (phone != null) {
+                    phones.add(phone);
+                }
+                candidates.add(i);
+            }
         }
         
-        // 保存用户
-        boolean saved = this.save(user);
-        if (!saved) {
-            throw BusinessException.of(ResultCode.DATABASE_ERROR, "用户创建失败");
+        // 每个唯一键一次 IN 查询，与数据库唯一约束一致（包含已逻辑删除的记录）
+        Set<String> existingUsernames = findExisting(candidates, chunk, User::getUsername, baseMapper::selectExistingUsernames);
+        Set<String> existingEmails = findExisting(candidates, chunk, User::getEmail, baseMapper::selectExistingEmails);
+        Set<String> existingPhones = findExisting(candidates, chunk, User::getPhone, baseMapper::selectExistingPhones);
+        
+        List<User> toInsert = new ArrayList<>(candidates.size());
+        List<Integer> insertIndexes = new ArrayList<>(candidates.size());
+        for (Integer i : candidates) {
+            User user = chunk.get(i);
+            if (existingUsernames.contains(UserUniqueIndex.normalize(user.getUsername()))) {
+                items[i] = BatchResult.Item.failure(offset + i, ResultCode.DATA_ALREADY_EXISTS, "用户名已存在");
+            } else if (StringUtils.isNotBlank(user.getEmail()) && existingEmails.contains(UserUniqueIndex.normalize(user.getEmail()))) {
+                items[i] = BatchResult.Item.failure(offset + i, ResultCode.DATA_ALREADY_EXISTS, "邮箱已存在");
+            } else if (StringUtils.isNotBlank(user.getPhone()) && existingPhones.contains(UserUniqueIndex.normalize(user.getPhone()))) {
+                items[i] = BatchResult.Item.failure(offset + i, ResultCode.DATA_ALREADY_EXISTS, "手机号已存在");
+            } else {
+                toInsert.add(user);
+                insertIndexes.add(i);
+            }
         }
         
-        log.info("用户创建成功: {}", user.getUsername());
-        return user;
+        if (!toInsert.isEmpty()) {
+            insertChunk(toInsert, insertIndexes, offset, items);
+        }
+        return Arrays.asList(items);
+    }
+
+    /**
+     * 批量插入，失败时回滚整块并逐行重试，定位出错的行
+     */
+    private void insertChunk(List<User> users, List<Integer> indexes, int offset, BatchResult.Item[] items) {
+        try {
+            transactionTemplate.execute(status -> {
+                users.forEach(this::registerUniqueKeys);
+                boolean saved = this.saveBatch(users, users.size());
+                users.forEach(this::onCreated);
+                return saved;
+            });
+            for (int i = 0; i < users.size(); i++) {
+                items[indexes.get(i)] = BatchResult.Item.success(offset + indexes.get(i), users.get(i).getId());
+            }
+            return;
+        } catch (RuntimeException e) {
+            log.warn("批量插入用户失败，改为逐行插入: {}", e.getMessage());
+        }
+        
+        transactionTemplate.execute(status -> {
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                int index = indexes.get(i);
+                try {
+                    registerUniqueKeys(user);
+                    baseMapper.insert(user);
+                    onCreated(user);
+                    items[index] = BatchResult.Item.success(offset + index, user.getId());
+                } catch (DuplicateKeyException e) {
+                    items[index] = BatchResult.Item.failure(offset + index, ResultCode.DATA_ALREADY_EXISTS, duplicateKey(e).getMessage());
+                } catch (RuntimeException e) {
+                    log.warn("插入用户失败: {}", user.getUsername(), e);
+                    items[index] = BatchResult.Item.failure(offset + index, ResultCode.DATABASE_ERROR, "用户创建失败");
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 校验待创建用户，返回错误信息，通过时返回 null
+     */
+    private String validateForCreate(User user) {
+        if (user == null) {
+            return "用户信息不能为空";
+        }
+        if (user.getStatus() == null) {
+            user.setStatus(0);
+        }
+        if (user.getStatus() != STATUS_ACTIVE && user.getStatus() != STATUS_DISABLED) {
+            return "状态只能为0（正常）或1（禁用）";
+        }
+        Set<ConstraintViolation<User>> violations = validator.validate(user);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * 查询已存在的唯一键值，返回归一化后的集合
+     */
+    private Set<String> findExisting(List<Integer> candidates, List<User> chunk, Function<User, String> field,
+                                     Function<Collection<String>, List<String>> query) {
+        List<String> values = new ArrayList<>(candidates.size());
+        for (Integer i : candidates) {
+            String value = field.apply(chunk.get(i));
+            if (StringUtils.isNotBlank(value)) {
+                values.add(value);
+            }
+        }
+        if (values.isEmpty()) {
+            return new HashSet<>();
+        }
+        return query.apply(values).stream().map(UserUniqueIndex::normalize).collect(Collectors.toSet());
     }
 
     @Override
@@ -108,41 +479,64 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
             throw BusinessException.of(ResultCode.BAD_REQUEST, "用户信息不能为空");
         }
         
-        // 检查用户是否存在
-        User existingUser = this.getById(user.getId());
-        if (existingUser == null) {
-            throw BusinessException.of(ResultCode.DATA_NOT_FOUND, "用户不存在");
+        Integer status = user.getStatus();
+        if (status != null && status != STATUS_ACTIVE && status != STATUS_DISABLED) {
+            throw BusinessException.of(ResultCode.BAD_REQUEST, "状态只能为0（正常）或1（禁用）");
         }
         
-        // 检查用户名是否被其他用户使用
-        if (StringUtils.isNotBlank(user.getUsername()) && 
-            !user.getUsername().equals(existingUser.getUsername()) && 
-            existsByUsername(user.getUsername())) {
-            throw BusinessException.of(ResultCode.DATA_ALREADY_EXISTS, "用户名已被其他用户使用");
-        }
+        // 缓存中的旧记录用于拼装返回值，不命中时写入后再读取一次
+        User previous = userCache.peek(user.getId());
+        Integer expectedVersion = user.getVersion();
         
-        // 检查邮箱是否被其他用户使用
-        if (StringUtils.isNotBlank(user.getEmail()) && 
-            !user.getEmail().equals(existingUser.getEmail()) && 
-            existsByEmail(user.getEmail())) {
-            throw BusinessException.of(ResultCode.DATA_ALREADY_EXISTS, "邮箱已被其他用户使用");
+        // 修改状态时加行锁读取旧状态，统计增量与本事务的更新基于同一行版本
+        Integer previousStatus = null;
+        if (status != null) {
+            previousStatus = baseMapper.selectStatusForUpdate(user.getId());
+            if (previousStatus == null) {
+                throw BusinessException.of(ResultCode.DATA_NOT_FOUND, "用户不存在");
+            }
         }
         
-        // 检查手机号是否被其他用户使用
-        if (StringUtils.isNotBlank(user.getPhone()) && 
-            !user.getPhone().equals(existingUser.getPhone()) && 
-            existsByPhone(user.getPhone())) {
-            throw BusinessException.of(ResultCode.DATA_ALREADY_EXISTS, "手机号已被其他用户使用");
-        }
+        // 更新时间由本次 UPDATE 显式写入并原样返回（CachedClock.now() 精确到秒，与 DATETIME 一致），
+        // 同时覆盖请求中携带的 updateTime
+        user.setUpdateTime(CachedClock.now());
         
-        // 更新用户
-        boolean updated = this.updateById(user);
+        // 单条条件更新：携带版本号时由乐观锁插件追加 version 条件，否则直接递增版本号
+        evictUser(user.getId());
+        registerUniqueKeys(user);
+        boolean updated;
+        try {
+            if (expectedVersion != null) {
+                updated = this.updateById(user);
+            } else {
+                updated = this.update(user, new LambdaUpdateWrapper<User>()
+                        .eq(User::getId, user.getId())
+                        .setSql("version = version + 1"));
+            }
+        } catch (DuplicateKeyException e) {
+            throw duplicateKey(e);
+        }
         if (!updated) {
-            throw BusinessException.of(ResultCode.DATABASE_ERROR, "用户更新失败");
+            throw writeMiss(user.getId(), expectedVersion);
+        }
+        if (previousStatus != null && !previousStatus.equals(status)) {
+            Integer from = previousStatus;
+            afterCommit(() -> userStatisticsCounter.statusChanged(from, status));
         }
+        Long id = user.getId();
+        String username = user.getUsername();
+        String email = user.getEmail();
+        afterCommit(() -> userSearchIndex.put(id, username, email));
         
-        log.info("用户更新成功: {}", user.getUsername());
-        return this.getById(user.getId());
+        log.info("用户更新成功: {}", user.getId());
+        if (previous == null) {
+            return this.getById(user.getId());
+        }
+        BeanUtil.copyProperties(user, previous, CopyOptions.create().ignoreNullValue());
+        if (expectedVersion == null && previous.getVersion() != null) {
+            previous.setVersion(previous.getVersion() + 1);
+        }
+        return previous;
     }
 
     @Override
@@ -151,17 +545,23 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
             throw BusinessException.of(ResultCode.BAD_REQUEST, "用户ID不能为空");
         }
         
-        User user = this.getById(id);
-        if (user == null) {
+        // 统计计数需要被删除用户的状态：加行锁读取，事务结束前不会被并发修改或删除
+        Integer status = baseMapper.selectStatusForUpdate(id);
+        if (status == null) {
             throw BusinessException.of(ResultCode.DATA_NOT_FOUND, "用户不存在");
         }
-        
-        boolean deleted = this.removeById(id);
-        if (deleted) {
-            log.info("用户删除成功: {}", user.getUsername());
+        evictUser(id);
+        if (!this.removeById(id)) {
+            throw BusinessException.of(ResultCode.DATA_NOT_FOUND, "用户不存在");
         }
+        afterCommit(() -> {
+            userStatisticsCounter.deleted(status);
+            userSearchIndex.remove(id);
+            userRoleCache.removeUser(id);
+        });
         
-        return deleted;
+        log.info("用户删除成功: {}", id);
+        return true;
     }
 
     @Override
@@ -170,86 +570,231 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
             throw BusinessException.of(ResultCode.BAD_REQUEST, "用户ID列表不能为空");
         }
         
-        boolean deleted = this.removeByIds(ids);
+        // 加行锁取出实际存在的用户，只删除这些用户，统计增量与删除的行一一对应
+        List<User> targets = baseMapper.selectStatusForUpdateByIds(ids);
+        if (targets.isEmpty()) {
+            return false;
+        }
+        List<Long> targetIds = targets.stream().map(User::getId).collect(Collectors.toList());
+        ids.forEach(this::evictUser);
+        boolean deleted = this.removeByIds(targetIds);
         if (deleted) {
-            log.info("批量删除用户成功，数量: {}", ids.size());
+            afterCommit(() -> targets.forEach(target -> {
+                userStatisticsCounter.deleted(target.getStatus());
+                userSearchIndex.remove(target.getId());
+                userRoleCache.removeUser(target.getId());
+            }));
+            log.info("批量删除用户成功，数量: {}", targetIds.size());
         }
         
         return deleted;
     }
 
     @Override
-    public boolean updateUserStatus(Long id, Integer status) {
+    public boolean updateUserStatus(Long id, Integer status, Integer version) {
         if (id == null || status == null) {
             throw BusinessException.of(ResultCode.BAD_REQUEST, "用户ID和状态不能为空");
         }
-        
-        User user = this.getById(id);
-        if (user == null) {
-            throw BusinessException.of(ResultCode.DATA_NOT_FOUND, "用户不存在");
+        if (status != STATUS_ACTIVE && status != STATUS_DISABLED) {
+            throw BusinessException.of(ResultCode.BAD_REQUEST, "状态只能为0（正常）或1（禁用）");
         }
         
-        user.setStatus(status);
-        boolean updated = this.updateById(user);
-        
-        if (updated) {
-            log.info("用户状态更新成功: {} -> {}", user.getUsername(), status);
+        // 条件中带 status <> ?，更新成功即说明旧状态是另一个取值
+        evictUser(id);
+        if (baseMapper.updateStatus(id, status, version) == 0) {
+            User current = baseMapper.selectById(id);
+            if (current == null) {
+                throw BusinessException.of(ResultCode.DATA_NOT_FOUND, "用户不存在");
+            }
+            if (version != null && !version.equals(current.getVersion())) {
+                throw BusinessException.of(ResultCode.CONFLICT, "用户已被修改，请刷新后重试");
+            }
+            // 状态本来就是目标值
+            return true;
         }
+        int previousStatus = status == STATUS_ACTIVE ? STATUS_DISABLED : STATUS_ACTIVE;
+        afterCommit(() -> userStatisticsCounter.statusChanged(previousStatus, status));
         
-        return updated;
+        log.info("用户状态更新成功: {} -> {}", id, status);
+        return true;
     }
 
     @Override
-    public boolean resetPassword(Long id, String newPassword) {
+    public boolean resetPassword(Long id, String newPassword, Integer version) {
         if (id == null || StringUtils.isBlank(newPassword)) {
             throw BusinessException.of(ResultCode.BAD_REQUEST, "用户ID和新密码不能为空");
         }
         
-        User user = this.getById(id);
-        if (user == null) {
-            throw BusinessException.of(ResultCode.DATA_NOT_FOUND, "用户不存在");
-        }
-        
-        user.setPassword(newPassword);
-        boolean updated = this.updateById(user);
-        
-        if (updated) {
-            log.info("用户密码重置成功: {}", user.getUsername());
+        evictUser(id);
+        if (baseMapper.updatePassword(id, newPassword, version) == 0) {
+            throw writeMiss(id, version);
         }
         
-        return updated;
+        log.info("用户密码重置成功: {}", id);
+        return true;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByUsername(String username) {
-        if (StringUtils.isBlank(username)) {
+        if (StringUtils.isBlank(username) || !userUniqueIndex.mightContainUsername(username)) {
             return false;
         }
         return this.count(new LambdaQueryWrapper<User>().eq(User::getUsername, username)) > 0;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
-        if (StringUtils.isBlank(email)) {
+        if (StringUtils.isBlank(email) || !userUniqueIndex.mightContainEmail(email)) {
             return false;
         }
         return this.count(new LambdaQueryWrapper<User>().eq(User::getEmail, email)) > 0;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByPhone(String phone) {
-        if (StringUtils.isBlank(phone)) {
+        if (StringUtils.isBlank(phone) || !userUniqueIndex.mightContainPhone(phone)) {
             return false;
         }
         return this.count(new LambdaQueryWrapper<User>().eq(User::getPhone, phone)) > 0;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserStatistics getUserStatistics() {
+        UserStatistics statistics = userStatisticsCounter.snapshot();
+        if (statistics != null) {
+            return statistics;
+        }
+        
+        // 计数器尚未初始化时直接查询数据库
         Long totalUsers = this.count();
         Long activeUsers = baseMapper.countByStatus(0);
         Long disabledUsers = baseMapper.countByStatus(1);
         
         return new UserStatistics(totalUsers, activeUsers, disabledUsers);
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportUsers(Integer status, Consumer<User> consumer) {
+        // 先取导出名额再开启事务，名额不足时不占用连接
+        if (!exportPermits.tryAcquire()) {
+            throw BusinessException.of(ResultCode.SERVICE_UNAVAILABLE, "导出任务过多，请稍后重试");
+        }
+        try {
+            // 流式结果集在事务内独占同一个连接，逐行回调，不累积到内存
+            readOnlyTransaction.executeWithoutResult(
+                    transaction -> baseMapper.scanForExport(status, context -> consumer.accept(context.getResultObject())));
+        } finally {
+            exportPermits.release();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachActiveUser(Consumer<User> consumer) {
+        try (Cursor<User> cursor = baseMapper.streamActiveUsers()) {
+            cursor.forEach(consumer);
+        } catch (IOException e) {
+            throw BusinessException.of(ResultCode.DATABASE_ERROR, "关闭用户游标失败");
+        }
+    }
+
+    /**
+     * 条件更新未生效时区分原因：只在失败路径上查询一次
+     */
+    private BusinessException writeMiss(Long id, Integer version) {
+        if (version == null || baseMapper.selectById(id) == null) {
+            return BusinessException.of(ResultCode.DATA_NOT_FOUND, "用户不存在");
+        }
+        return BusinessException.of(ResultCode.CONFLICT, "用户已被修改，请刷新后重试");
+    }
+
+    /**
+     * 根据冲突的唯一索引名转换为业务异常
+     */
+    private static BusinessException duplicateKey(DuplicateKeyException e) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage());
+        if (message.contains("uk_username")) {
+            return BusinessException.of(ResultCode.DATA_ALREADY_EXISTS, "用户名已存在");
+        }
+        if (message.contains("uk_email")) {
+            return BusinessException.of(ResultCode.DATA_ALREADY_EXISTS, "邮箱已存在");
+        }
+        if (message.contains("uk_phone")) {
+            return BusinessException.of(ResultCode.DATA_ALREADY_EXISTS, "手机号已存在");
+        }
+        return BusinessException.of(ResultCode.DATA_ALREADY_EXISTS, "用户名、邮箱或手机号已存在");
+    }
+
+    /**
+     * 使用户缓存和分页 ETag 失效
+     * 事务结束后再失效一次，避免提交前被并发读取的旧数据重新写入缓存
+     */
+    private void evictUser(Long id) {
+        userCache.invalidate(id);
+        afterCompletion(() -> {
+            userCache.invalidate(id);
+            userETags.changed();
+        });
+    }
+
+    /**
+     * 登记唯一键到内存索引
+     * 写入前登记保证提交后立即可见，提交后再登记一次，覆盖期间发生的索引重建
+     */
+    private void registerUniqueKeys(User user) {
+        userUniqueIndex.add(user);
+        afterCompletion(() -> userUniqueIndex.add(user));
+    }
+
+    /**
+     * 事务提交后将新建用户计入统计和搜索索引，并使分页 ETag 失效
+     */
+    private void onCreated(User user) {
+        Long id = user.getId();
+        Integer status = user.getStatus();
+        String username = user.getUsername();
+        String email = user.getEmail();
+        afterCommit(() -> {
+            userStatisticsCounter.created(status);
+            userSearchIndex.put(id, username, email);
+            userETags.changed();
+        });
+    }
+
+    /**
+     * 在当前事务提交后执行，回滚时不执行，无事务时立即执行
+     */
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    /**
+     * 在当前事务结束后执行，无事务时立即执行
+     */
+    private void afterCompletion(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                task.run();
+            }
+        });
+    }
+}
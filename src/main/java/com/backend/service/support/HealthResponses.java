@@ -0,0 +1,124 @@
+package com.backend.service.support;
+
+import com.backend.common.result.EncodedResult;
+import com.backend.common.result.Result;
+import com.backend.common.utils.DateUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 健康检查响应
+ * 探活请求频繁，响应预先编码：ping 只编码一次；health 每秒重新编码一次（数据中的时间精确到秒）；
+ * info 由后台定时刷新。输出时只填入响应时间戳。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class HealthResponses {
+
+    private static final String APPLICATION_NAME = "API Foundation";
+
+    private static final String APPLICATION_VERSION = "1.0.0";
+
+    private final ObjectMapper objectMapper;
+
+    private final EncodedResult ping;
+
+    private volatile HealthSnapshot health;
+
+    private volatile EncodedResult info;
+
+    public HealthResponses(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.ping = EncodedResult.encode(objectMapper, Result.success("pong"));
+        this.info = encodeInfo();
+    }
+
+    public EncodedResult ping() {
+        return ping;
+    }
+
+    public EncodedResult health() {
+        // 同一秒内 formatNow 返回同一个字符串，equals 直接按引用判断
+        String now = DateUtils.formatNow();
+        HealthSnapshot current = health;
+        if (current == null || !now.equals(current.timestamp)) {
+            current = new HealthSnapshot(now, encodeHealth(now));
+            health = current;
+        }
+        return current.encoded;
+    }
+
+    public EncodedResult info() {
+        return info;
+    }
+
+    @Scheduled(initialDelayString = "${app.health.info-refresh-interval:PT5S}",
+            fixedDelayString = "${app.health.info-refresh-interval:PT5S}")
+    public void refreshInfo() {
+        try {
+            info = encodeInfo();
+        } catch (Exception e) {
+            log.warn("系统信息刷新失败，继续使用上一次的结果", e);
+        }
+    }
+
+    private EncodedResult encodeHealth(String timestamp) {
+        Map<String, Object> healthInfo = new LinkedHashMap<>();
+        healthInfo.put("status", "UP");
+        healthInfo.put("timestamp", timestamp);
+        healthInfo.put("application", APPLICATION_NAME);
+        healthInfo.put("version", APPLICATION_VERSION);
+        return EncodedResult.encode(objectMapper, Result.success("系统运行正常", healthInfo));
+    }
+
+    private EncodedResult encodeInfo() {
+        Map<String, Object> systemInfo = new LinkedHashMap<>();
+
+        // 应用信息
+        Map<String, Object> appInfo = new LinkedHashMap<>();
+        appInfo.put("name", APPLICATION_NAME);
+        appInfo.put("version", APPLICATION_VERSION);
+        appInfo.put("description", "基础API服务");
+        systemInfo.put("application", appInfo);
+
+        // 系统信息
+        Map<String, Object> sysInfo = new LinkedHashMap<>();
+        sysInfo.put("java.version", System.getProperty("java.version"));
+        sysInfo.put("java.vendor", System.getProperty("java.vendor"));
+        sysInfo.put("os.name", System.getProperty("os.name"));
+        sysInfo.put("os.version", System.getProperty("os.version"));
+        sysInfo.put("os.arch", System.getProperty("os.arch"));
+        systemInfo.put("system", sysInfo);
+
+        // 运行时信息
+        Runtime runtime = Runtime.getRuntime();
+        Map<String, Object> runtimeInfo = new LinkedHashMap<>();
+        runtimeInfo.put("processors", runtime.availableProcessors());
+        runtimeInfo.put("totalMemory", runtime.totalMemory());
+        runtimeInfo.put("freeMemory", runtime.freeMemory());
+        runtimeInfo.put("maxMemory", runtime.maxMemory());
+        systemInfo.put("runtime", runtimeInfo);
+
+        return EncodedResult.encode(objectMapper, Result.success("系统信息获取成功", systemInfo));
+    }
+
+    private static final class HealthSnapshot {
+
+        private final String timestamp;
+
+        private final EncodedResult encoded;
+
+        private HealthSnapshot(String timestamp, EncodedResult encoded) {
+            this.timestamp = timestamp;
+            this.encoded = encoded;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.backend.service.support;
+
+import com.backend.common.concurrent.BoundedRingBuffer;
+import com.backend.config.OperationLogProperties;
+import com.backend.entity.OperationLog;
+import com.backend.mapper.OperationLogMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 操作日志异步批量写入器
+ * 请求线程只把日志放入有界无锁缓冲区；后台线程攒批后用一条多行 INSERT 写入，压缩和截断也在后台线程完成。
+ * 缓冲区满时按配置丢弃或短暂等待，关闭时写完缓冲区中剩余的日志。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class OperationLogWriter implements SmartLifecycle {
+
+    /**
+     * 压缩内容的前缀，读取时去掉前缀后 Base64 解码再 gzip 解压
+     */
+    public static final String GZIP_PREFIX = "gzip:";
+
+    private final OperationLogMapper operationLogMapper;
+
+    private final OperationLogProperties config;
+
+    private final BoundedRingBuffer<OperationLog> buffer;
+
+    private final LongAdder written = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running;
+
+    private volatile Thread writer;
+
+    public OperationLogWriter(OperationLogMapper operationLogMapper, OperationLogProperties config) {
+        this.operationLogMapper = operationLogMapper;
+        this.config = config;
+        this.buffer = new BoundedRingBuffer<>(config.getBufferSize());
+    }
+
+    /**
+     * 提交一条日志，不等待写入
+     */
+    public void submit(OperationLog operationLog) {
+        if (buffer.offer(operationLog)) {
+            if (buffer.size() >= config.getBatchSize()) {
+                wakeUp();
+            }
+            return;
+        }
+        if (config.getOverflowPolicy() == OperationLogProperties.OverflowPolicy.BLOCK) {
+            wakeUp();
+            long deadline = System.nanoTime() + config.getBlockTimeout().toNanos();
+            while (System.nanoTime() - deadline < 0) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+                if (buffer.offer(operationLog)) {
+                    return;
+                }
+            }
+        }
+        dropped.increment();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::run, "oper-log-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(config.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("操作日志写入未在超时时间内完成，未写入条数: {}", buffer.size());
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 在 Web 服务器停止之后停止，保证停止前的请求日志都已入队
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2048;
+    }
+
+    /**
+     * 写入统计信息
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("buffered", buffer.size());
+        stats.put("capacity", buffer.capacity());
+        stats.put("written", written.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("failed", failed.sum());
+        return stats;
+    }
+
+    private void run() {
+        int batchSize = config.getBatchSize();
+        long interval = config.getFlushInterval().toNanos();
+        List<OperationLog> batch = new ArrayList<>(batchSize);
+        long flushAt = System.nanoTime() + interval;
+        while (true) {
+            buffer.drainTo(batch, batchSize - batch.size());
+            boolean stopping = !running;
+            long now = System.nanoTime();
+            if (batch.size() >= batchSize || (!batch.isEmpty() && (stopping || now - flushAt >= 0))) {
+                write(batch);
+                batch.clear();
+                flushAt = System.nanoTime() + interval;
+                continue;
+            }
+            if (stopping && batch.isEmpty() && buffer.isEmpty()) {
+                return;
+            }
+            if (batch.isEmpty()) {
+                flushAt = now + interval;
+            }
+            LockSupport.parkNanos(Math.max(flushAt - now, TimeUnit.MILLISECONDS.toNanos(1)));
+        }
+    }
+
+    private void write(List<OperationLog> batch) {
+        try {
+            for (OperationLog operationLog : batch) {
+                operationLog.setParams(encode(operationLog.getParams()));
+                operationLog.setResult(encode(operationLog.getResult()));
+            }
+            operationLogMapper.insertBatch(batch);
+            written.add(batch.size());
+        } catch (Exception e) {
+            failed.add(batch.size());
+            log.warn("操作日志写入失败，丢弃 {} 条: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 超过阈值时压缩，压缩后仍过长则截断原文
+     */
+    private String encode(String payload) {
+        if (payload == null || payload.length() <= config.getCompressThreshold()) {
+            return payload;
+        }
+        String value = payload;
+        String compressed = GZIP_PREFIX + Base64.getEncoder().encodeToString(gzip(payload));
+        if (compressed.length() < payload.length()) {
+            value = compressed;
+        }
+        if (value.length() <= config.getMaxPayloadLength()) {
+            return value;
+        }
+        String suffix = "...(已截断，原长度" + payload.length() + ")";
+        return payload.substring(0, Math.max(0, config.getMaxPayloadLength() - suffix.length())) + suffix;
+    }
+
+    private static byte[] gzip(String payload) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(payload.length() / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void wakeUp() {
+        Thread thread = writer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+}
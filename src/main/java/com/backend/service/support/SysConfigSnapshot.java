@@ -0,0 +1,148 @@
+package com.backend.service.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 系统配置快照（不可变）
+ * 构建时按 config_type 解析好取值，读取只是一次哈希查找，不做解析和类型转换。
+ * 取值无法按类型解析时记为无效，读取返回调用方给出的默认值。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Getter
+public final class SysConfigSnapshot {
+
+    public static final SysConfigSnapshot EMPTY = new SysConfigSnapshot(Collections.emptyMap(), 0L, 0L, 0L, 0L);
+
+    private final Map<String, Entry> entries;
+
+    /**
+     * 快照版本，内容每变化一次加一
+     */
+    private final long version;
+
+    /**
+     * 加载时配置表的最后修改时间（秒）
+     */
+    private final long lastModified;
+
+    /**
+     * 加载时配置表总行数（含已删除）
+     */
+    private final long rowCount;
+
+    /**
+     * 加载时数据库当前时间（秒）
+     */
+    private final long loadedAt;
+
+    public SysConfigSnapshot(Map<String, Entry> entries, long version, long lastModified, long rowCount,
+                             long loadedAt) {
+        this.entries = Collections.unmodifiableMap(entries);
+        this.version = version;
+        this.lastModified = lastModified;
+        this.rowCount = rowCount;
+        this.loadedAt = loadedAt;
+    }
+
+    public Entry get(String key) {
+        return entries.get(key);
+    }
+
+    public String getString(String key, String defaultValue) {
+        Entry entry = entries.get(key);
+        return entry == null || entry.raw == null ? defaultValue : entry.raw;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.value instanceof Long ? ((Long) entry.value).intValue() : defaultValue;
+    }
+
+    public long getLong(String key, long defaultValue) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.value instanceof Long ? (Long) entry.value : defaultValue;
+    }
+
+    public BigDecimal getDecimal(String key, BigDecimal defaultValue) {
+        Entry entry = entries.get(key);
+        if (entry == null || !(entry.value instanceof Number)) {
+            return defaultValue;
+        }
+        return entry.value instanceof BigDecimal ? (BigDecimal) entry.value : BigDecimal.valueOf((Long) entry.value);
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.value instanceof Boolean ? (Boolean) entry.value : defaultValue;
+    }
+
+    public JsonNode getJson(String key) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.value instanceof JsonNode ? (JsonNode) entry.value : null;
+    }
+
+    /**
+     * 与旧快照相比新增、删除或取值变化的配置键
+     */
+    public Set<String> changedKeys(SysConfigSnapshot previous) {
+        Set<String> changed = new HashSet<>();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (!entry.getValue().sameAs(previous.entries.get(entry.getKey()))) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (String key : previous.entries.keySet()) {
+            if (!entries.containsKey(key)) {
+                changed.add(key);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * 单个配置项
+     */
+    @Getter
+    public static final class Entry {
+
+        private final String key;
+
+        /**
+         * 原始字符串
+         */
+        private final String raw;
+
+        private final String type;
+
+        /**
+         * 解析后的值：STRING 为 String，NUMBER 为 Long 或 BigDecimal，BOOLEAN 为 Boolean，JSON 为 JsonNode；
+         * 无法解析时为 null
+         */
+        private final Object value;
+
+        public Entry(String key, String raw, String type, Object value) {
+            this.key = key;
+            this.raw = raw;
+            this.type = type;
+            this.value = value;
+        }
+
+        public boolean isValid() {
+            return raw == null || value != null;
+        }
+
+        private boolean sameAs(Entry other) {
+            return other != null && Objects.equals(raw, other.raw) && Objects.equals(type, other.type);
+        }
+    }
+}
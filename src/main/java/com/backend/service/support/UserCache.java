@@ -0,0 +1,279 @@
+package com.backend.service.support;
+
+import com.backend.config.UserProperties;
+import com.backend.entity.User;
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 用户本地缓存
+ * 一条缓存记录可通过 id、用户名、邮箱、手机号四个键访问，按容量（先进先出）和有效期淘汰。
+ * 缓存中保存副本，读取时也返回副本，调用方修改返回对象不会影响缓存。
+ * 缓存只在本节点内失效：多节点部署时其他节点的修改最长在有效期后可见，有效期应按可接受的陈旧时间设置。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Component
+public class UserCache {
+
+    private final UserProperties.Cache config;
+
+    private final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> byUsername = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> byEmail = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> byPhone = new ConcurrentHashMap<>();
+
+    /**
+     * 写入顺序，用于容量淘汰；失效的 id 不会立即移出队列，淘汰时跳过
+     */
+    private final ConcurrentLinkedQueue<Long> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger queueSize = new AtomicInteger();
+
+    /**
+     * 失效版本号，每次失效递增；加载前后版本号不一致时放弃写入，避免旧数据覆盖失效
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    public UserCache(UserProperties userProperties) {
+        this.config = userProperties.getCache();
+    }
+
+    /**
+     * 获取当前失效版本号，从数据库加载前调用，写入缓存时传回
+     */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    public User getById(Long id) {
+        if (!config.isEnabled() || id == null) {
+            return null;
+        }
+        Entry entry = liveEntry(id);
+        return record(entry);
+    }
+
+    public User getByUsername(String username) {
+        return getByKey(byUsername, username, User::getUsername);
+    }
+
+    public User getByEmail(String email) {
+        return getByKey(byEmail, email, User::getEmail);
+    }
+
+    public User getByPhone(String phone) {
+        return getByKey(byPhone, phone, User::getPhone);
+    }
+
+    /**
+     * 查看缓存中的用户，不计入命中统计
+     */
+    public User peek(Long id) {
+        if (!config.isEnabled() || id == null) {
+            return null;
+        }
+        Entry entry = liveEntry(id);
+        return entry == null ? null : copy(entry.user);
+    }
+
+    /**
+     * 写入缓存
+     *
+     * @param stamp 加载前通过 {@link #stamp()} 获取的版本号
+     */
+    public void put(User user, long stamp) {
+        if (!config.isEnabled() || user == null || user.getId() == null || invalidations.get() != stamp) {
+            return;
+        }
+        Long id = user.getId();
+        Entry entry = new Entry(copy(user), System.nanoTime() + config.getTtl().toNanos());
+        Entry previous = byId.put(id, entry);
+        if (previous != null) {
+            unlink(id, previous.user);
+        } else {
+            insertionOrder.add(id);
+            queueSize.incrementAndGet();
+        }
+        link(byUsername, entry.user.getUsername(), id);
+        link(byEmail, entry.user.getEmail(), id);
+        link(byPhone, entry.user.getPhone(), id);
+
+        // 写入期间发生了失效，撤销本次写入
+        if (invalidations.get() != stamp) {
+            remove(id, entry);
+            return;
+        }
+        evictIfNecessary();
+    }
+
+    /**
+     * 使指定用户的缓存失效
+     */
+    public void invalidate(Long id) {
+        if (id == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        Entry entry = byId.get(id);
+        if (entry != null) {
+            remove(id, entry);
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        invalidations.incrementAndGet();
+        byId.clear();
+        byUsername.clear();
+        byEmail.clear();
+        byPhone.clear();
+        insertionOrder.clear();
+        queueSize.set(0);
+    }
+
+    /**
+     * 缓存统计信息
+     */
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requestCount = hitCount + missCount;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", config.isEnabled());
+        stats.put("size", byId.size());
+        stats.put("maximumSize", config.getMaximumSize());
+        stats.put("hitCount", hitCount);
+        stats.put("missCount", missCount);
+        stats.put("hitRate", requestCount == 0 ? 0D : (double) hitCount / requestCount);
+        stats.put("evictionCount", evictions.sum());
+        return stats;
+    }
+
+    private User getByKey(Map<String, Long> index, String key, Function<User, String> field) {
+        if (!config.isEnabled() || key == null) {
+            return null;
+        }
+        Long id = index.get(key);
+        Entry entry = id == null ? null : liveEntry(id);
+        // 索引可能指向已改名的记录，以记录本身的字段为准
+        if (entry != null && !key.equals(field.apply(entry.user))) {
+            index.remove(key, id);
+            entry = null;
+        }
+        return record(entry);
+    }
+
+    private Entry liveEntry(Long id) {
+        Entry entry = byId.get(id);
+        if (entry != null && System.nanoTime() - entry.expireAtNanos > 0) {
+            remove(id, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private User record(Entry entry) {
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return copy(entry.user);
+    }
+
+    private void remove(Long id, Entry entry) {
+        if (byId.remove(id, entry)) {
+            unlink(id, entry.user);
+        }
+    }
+
+    private void unlink(Long id, User user) {
+        if (user.getUsername() != null) {
+            byUsername.remove(user.getUsername(), id);
+        }
+        if (user.getEmail() != null) {
+            byEmail.remove(user.getEmail(), id);
+        }
+        if (user.getPhone() != null) {
+            byPhone.remove(user.getPhone(), id);
+        }
+    }
+
+    private static void link(Map<String, Long> index, String key, Long id) {
+        if (key != null) {
+            index.put(key, id);
+        }
+    }
+
+    private void evictIfNecessary() {
+        while (byId.size() > config.getMaximumSize()) {
+            Long id = insertionOrder.poll();
+            if (id == null) {
+                // 并发重建时可能丢失部分 id，按当前内容补齐
+                rebuildQueue();
+                id = insertionOrder.poll();
+                if (id == null) {
+                    return;
+                }
+            }
+            queueSize.decrementAndGet();
+            Entry entry = byId.get(id);
+            if (entry != null) {
+                remove(id, entry);
+                evictions.increment();
+            }
+        }
+        // 失效过的 id 会残留在队列中，残留过多时按当前内容重建
+        if (queueSize.get() > 2 * Math.max(config.getMaximumSize(), byId.size())) {
+            rebuildQueue();
+        }
+    }
+
+    private void rebuildQueue() {
+        synchronized (insertionOrder) {
+            insertionOrder.clear();
+            insertionOrder.addAll(byId.keySet());
+            queueSize.set(insertionOrder.size());
+        }
+    }
+
+    private static User copy(User source) {
+        User target = new User();
+        BeanUtils.copyProperties(source, target);
+        return target;
+    }
+
+    private static final class Entry {
+
+        private final User user;
+
+        private final long expireAtNanos;
+
+        private Entry(User user, long expireAtNanos) {
+            this.user = user;
+            this.expireAtNanos = expireAtNanos;
+        }
+    }
+}
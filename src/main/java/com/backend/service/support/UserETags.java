@@ -0,0 +1,70 @@
+package com.backend.service.support;
+
+import com.backend.common.http.ResponseFormats;
+import com.backend.common.utils.CachedClock;
+import com.backend.config.UserProperties;
+import com.backend.entity.User;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 用户查询 ETag
+ * 单个用户按 id、版本号和更新时间生成；分页按用户表的变更代数生成，本节点每次写入事务结束后代数递增。
+ * 分页 ETag 同时带上按有效期划分的时间段，其他节点或应用外的修改最迟一个有效期后生效。
+ * 同一数据的 JSON、CBOR、Smile 表示字节不同，ETag 末尾带上表示格式的后缀（JSON 为空）。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Component
+public class UserETags {
+
+    private final UserProperties.Etag config;
+
+    /**
+     * 启动时间，区分重启前后的代数
+     */
+    private final String epoch = Long.toString(CachedClock.currentTimeMillis(), 36);
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserETags(UserProperties userProperties) {
+        this.config = userProperties.getEtag();
+    }
+
+    /**
+     * 用户表发生变更
+     */
+    public void changed() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * 分页查询的 ETag，需在查询数据库之前获取，未启用时返回 null
+     *
+     * @param representation 表示格式后缀，见 {@link ResponseFormats#etagSuffix}
+     */
+    public String forPage(String representation) {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        long ttlMillis = config.getPageTtl().toMillis();
+        long period = ttlMillis > 0 ? CachedClock.currentTimeMillis() / ttlMillis : 0;
+        return "\"p" + epoch + "." + generation.get() + "." + period + representation + "\"";
+    }
+
+    /**
+     * 单个用户的 ETag，用户不存在或未启用时返回 null
+     *
+     * @param representation 表示格式后缀，见 {@link ResponseFormats#etagSuffix}
+     */
+    public String forUser(User user, String representation) {
+        if (!config.isEnabled() || user == null || user.getId() == null) {
+            return null;
+        }
+        long updated = user.getUpdateTime() == null ? 0 : user.getUpdateTime().toEpochSecond(ZoneOffset.UTC);
+        return "\"u" + user.getId() + "." + user.getVersion() + "." + updated + representation + "\"";
+    }
+}
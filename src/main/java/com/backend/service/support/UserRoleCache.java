@@ -0,0 +1,317 @@
+package com.backend.service.support;
+
+import com.backend.common.collection.ConcurrentLongMap;
+import com.backend.entity.SysRole;
+import com.backend.entity.UserRole;
+import com.backend.mapper.SysRoleMapper;
+import com.backend.mapper.UserRoleMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 用户角色缓存（位图）
+ * 每个角色分配一个固定的位序号，每个用户的角色存为 long[] 位图；启动时从 sys_user_role 流式全量加载，
+ * 角色分配变更后按用户刷新。角色判断为无锁、无分配的内存操作，不访问数据库。
+ * <p>
+ * 位序号在进程内只增不复用，角色删除或禁用只清除启用掩码，预先构建的 {@link #mask(String...)} 始终有效。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class UserRoleCache {
+
+    private static final int STATUS_ENABLED = 0;
+
+    private static final long[] NO_ROLES = new long[0];
+
+    private final SysRoleMapper sysRoleMapper;
+
+    private final UserRoleMapper userRoleMapper;
+
+    private volatile State state = new State(RoleIndex.EMPTY, new ConcurrentLongMap<>(), false);
+
+    public UserRoleCache(SysRoleMapper sysRoleMapper, UserRoleMapper userRoleMapper) {
+        this.sysRoleMapper = sysRoleMapper;
+        this.userRoleMapper = userRoleMapper;
+    }
+
+    /**
+     * 用户是否拥有启用状态的指定角色
+     */
+    public boolean hasRole(long userId, String roleCode) {
+        State current = state;
+        Integer bit = current.roles.bitByCode.get(roleCode);
+        if (bit == null) {
+            return false;
+        }
+        long[] bits = current.users.get(userId);
+        return bits != null && test(bits, bit) && test(current.roles.enabled, bit);
+    }
+
+    /**
+     * 用户是否拥有掩码中任一启用的角色
+     */
+    public boolean hasAnyRole(long userId, long[] mask) {
+        State current = state;
+        long[] bits = current.users.get(userId);
+        if (bits == null) {
+            return false;
+        }
+        long[] enabled = current.roles.enabled;
+        for (int i = 0; i < mask.length && i < bits.length && i < enabled.length; i++) {
+            if ((bits[i] & mask[i] & enabled[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 构建角色掩码，供 {@link #hasAnyRole(long, long[])} 重复使用；未知角色编码忽略
+     */
+    public long[] mask(String... roleCodes) {
+        RoleIndex roles = state.roles;
+        long[] mask = new long[roles.words()];
+        for (String roleCode : roleCodes) {
+            Integer bit = roles.bitByCode.get(roleCode);
+            if (bit != null) {
+                mask[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * 用户启用状态的角色编码
+     */
+    public Set<String> getRoleCodes(long userId) {
+        State current = state;
+        long[] bits = current.users.get(userId);
+        if (bits == null) {
+            return Collections.emptySet();
+        }
+        Set<String> codes = new LinkedHashSet<>();
+        for (int bit = 0; bit < current.roles.codes.length; bit++) {
+            if (test(bits, bit) && test(current.roles.enabled, bit)) {
+                codes.add(current.roles.codes[bit]);
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * 从数据库重新读取单个用户的角色，角色分配变更提交后调用
+     */
+    public synchronized void refreshUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        List<Long> roleIds = userRoleMapper.selectRoleIds(userId);
+        for (Long roleId : roleIds) {
+            if (state.roles.bitById.get(roleId) == null) {
+                reloadRoles();
+                break;
+            }
+        }
+        State current = state;
+        long[] bits = new long[current.roles.words()];
+        for (Long roleId : roleIds) {
+            Integer bit = current.roles.bitById.get(roleId);
+            if (bit != null) {
+                bits[bit >>> 6] |= 1L << bit;
+            }
+        }
+        current.users.put(userId, isEmpty(bits) ? null : bits);
+    }
+
+    /**
+     * 移除用户，用户删除提交后调用
+     */
+    public synchronized void removeUser(Long userId) {
+        if (userId != null) {
+            state.users.remove(userId);
+        }
+    }
+
+    /**
+     * 重新读取角色表（新增、删除、启用或禁用角色后调用），用户位图不变
+     */
+    public synchronized void reloadRoles() {
+        State current = state;
+        state = new State(buildRoleIndex(current.roles), current.users, current.ready);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${app.role.rebuild-interval:PT10M}",
+            fixedDelayString = "${app.role.rebuild-interval:PT10M}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * 全量重建，覆盖应用外对角色和角色分配的修改
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            RoleIndex roles = buildRoleIndex(state.roles);
+            ConcurrentLongMap<long[]> users = new ConcurrentLongMap<>(Math.max(16, state.users.size()));
+            int words = roles.words();
+            long[][] current = {null};
+            long[] currentUser = {0L};
+            int[] loaded = {0};
+            userRoleMapper.scanAll(context -> {
+                UserRole row = context.getResultObject();
+                Integer bit = roles.bitById.get(row.getRoleId());
+                if (bit == null) {
+                    return;
+                }
+                // 结果按 user_id 排序，用户切换时写入上一个用户
+                if (current[0] == null || currentUser[0] != row.getUserId()) {
+                    if (current[0] != null) {
+                        users.put(currentUser[0], current[0]);
+                        loaded[0]++;
+                    }
+                    current[0] = new long[words];
+                    currentUser[0] = row.getUserId();
+                }
+                current[0][bit >>> 6] |= 1L << bit;
+            });
+            if (current[0] != null) {
+                users.put(currentUser[0], current[0]);
+                loaded[0]++;
+            }
+            state = new State(roles, users, true);
+            log.info("用户角色缓存构建完成，角色数: {}, 用户数: {}, 耗时: {}ms", roles.bitByCode.size(), loaded[0],
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("用户角色缓存构建失败，继续使用当前缓存", e);
+        }
+    }
+
+    /**
+     * 缓存统计信息
+     */
+    public Map<String, Object> stats() {
+        State current = state;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", current.ready);
+        stats.put("roles", current.roles.bitByCode.size());
+        stats.put("bits", current.roles.codes.length);
+        stats.put("users", current.users.size());
+        return stats;
+    }
+
+    /**
+     * 沿用已有角色的位序号，新角色追加在末尾
+     */
+    private RoleIndex buildRoleIndex(RoleIndex previous) {
+        List<SysRole> rows = sysRoleMapper.selectRoleIndexRows();
+        // 已删除角色的映射保留，避免恢复后分配到新的位序号
+        Map<Long, Integer> bits = new HashMap<>();
+        previous.bitById.forEach(bits::put);
+        String[] codes = Arrays.copyOf(previous.codes, previous.codes.length);
+        int next = codes.length;
+        for (SysRole row : rows) {
+            if (!bits.containsKey(row.getId())) {
+                bits.put(row.getId(), next++);
+            }
+        }
+        codes = Arrays.copyOf(codes, next);
+        long[] enabled = new long[(next + 63) >>> 6];
+        Map<String, Integer> bitByCode = new HashMap<>();
+        ConcurrentLongMap<Integer> bitById = new ConcurrentLongMap<>(bits.size());
+        bits.forEach(bitById::put);
+        for (SysRole row : rows) {
+            int bit = bits.get(row.getId());
+            codes[bit] = row.getRoleCode();
+            bitByCode.put(row.getRoleCode(), bit);
+            if (row.getStatus() != null && row.getStatus() == STATUS_ENABLED) {
+                enabled[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return new RoleIndex(bitByCode, bitById, codes, enabled);
+    }
+
+    private static boolean test(long[] bits, int bit) {
+        int word = bit >>> 6;
+        return word < bits.length && (bits[word] & (1L << bit)) != 0;
+    }
+
+    private static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 角色索引与用户位图，整体替换
+     */
+    private static final class State {
+
+        private final RoleIndex roles;
+
+        private final ConcurrentLongMap<long[]> users;
+
+        private final boolean ready;
+
+        private State(RoleIndex roles, ConcurrentLongMap<long[]> users, boolean ready) {
+            this.roles = roles;
+            this.users = users;
+            this.ready = ready;
+        }
+    }
+
+    /**
+     * 角色编码/ID 到位序号的映射（不可变）
+     */
+    private static final class RoleIndex {
+
+        private static final RoleIndex EMPTY = new RoleIndex(Collections.emptyMap(), new ConcurrentLongMap<>(),
+                new String[0], NO_ROLES);
+
+        private final Map<String, Integer> bitByCode;
+
+        private final ConcurrentLongMap<Integer> bitById;
+
+        /**
+         * 位序号对应的角色编码，已删除角色保留原编码但不在启用掩码中
+         */
+        private final String[] codes;
+
+        private final long[] enabled;
+
+        private RoleIndex(Map<String, Integer> bitByCode, ConcurrentLongMap<Integer> bitById, String[] codes,
+                          long[] enabled) {
+            this.bitByCode = bitByCode;
+            this.bitById = bitById;
+            this.codes = codes;
+            this.enabled = enabled;
+        }
+
+        private int words() {
+            return (codes.length + 63) >>> 6;
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package com.backend.service.support;
+
+import com.backend.common.collection.IntList;
+import com.backend.common.collection.LongIntMap;
+import com.backend.config.UserProperties;
+import com.backend.entity.User;
+import com.backend.mapper.UserMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 用户名、邮箱子串搜索索引（三元组倒排）
+ * 每个用户分配递增的内部序号，每个三元组对应一个升序的序号列表；
+ * 查询时对子串的各个三元组求交集，再按原值校验，耗时取决于最短的列表（约等于匹配数），与表大小无关。
+ * <p>
+ * 写入路径在事务提交后更新；改名和删除只标记旧序号，定时重建时压缩。
+ * 只处理 ASCII 且不含 LIKE 通配符、长度不小于 3 的搜索词，其余情况返回 null，由数据库 LIKE 查询处理。
+ * 序号表和三元组表都是基本类型的开放寻址表，不保存装箱的键值。
+ * <p>
+ * 索引只能看到本节点的写入和定时重建时的全量数据，查询方会直接信任空结果和候选集合，
+ * 因此默认关闭；只有所有写入都经过本节点时（单节点部署，且没有直接 SQL 修改用户）才能开启，
+ * 否则其他节点新建或改名的用户在下次重建前会从搜索结果中消失。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class UserSearchIndex {
+
+    private static final int GRAM = 3;
+
+    private final UserMapper userMapper;
+
+    private final UserProperties.Search config;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 当前索引，为空表示尚未构建完成
+     */
+    private Index index;
+
+    /**
+     * 重建期间的写入，重建完成后重放到新索引
+     */
+    private List<Consumer<Index>> pending;
+
+    public UserSearchIndex(UserMapper userMapper, UserProperties userProperties) {
+        this.userMapper = userMapper;
+        this.config = userProperties.getSearch();
+    }
+
+    /**
+     * 按子串查询候选用户 id
+     *
+     * @return 匹配的用户 id；索引不可用、搜索词不适用或匹配数超过上限时返回 null
+     */
+    public Set<Long> search(String username, String email) {
+        String usernameTerm = searchable(username);
+        String emailTerm = searchable(email);
+        if (!config.isEnabled() || (usernameTerm == null && emailTerm == null)) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                return null;
+            }
+            Set<Long> byUsername = usernameTerm == null ? null
+                    : index.search(index.usernameGrams, index.usernames, usernameTerm, config.getMaxCandidates());
+            Set<Long> byEmail = emailTerm == null ? null
+                    : index.search(index.emailGrams, index.emails, emailTerm, config.getMaxCandidates());
+            if (byUsername == null) {
+                return byEmail;
+            }
+            if (byEmail != null) {
+                byUsername.retainAll(byEmail);
+            }
+            return byUsername;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 新增或更新用户，username/email 为空时保留原值
+     */
+    public void put(Long id, String username, String email) {
+        if (id != null) {
+            apply(index -> index.put(id, username, email));
+        }
+    }
+
+    /**
+     * 移除用户
+     */
+    public void remove(Long id) {
+        if (id != null) {
+            apply(index -> index.remove(id));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${app.user.search.rebuild-interval:PT1H}",
+            fixedDelayString = "${app.user.search.rebuild-interval:PT1H}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * 从数据库全量重建，同时清理已标记删除的序号
+     */
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (!config.isEnabled()) {
+                index = null;
+                return;
+            }
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        Index built = null;
+        try {
+            Index target = new Index();
+            userMapper.scanUniqueKeys(context -> {
+                User user = context.getResultObject();
+                target.put(user.getId(), user.getUsername(), user.getEmail());
+            });
+            target.trimToSize();
+            built = target;
+        } catch (Exception e) {
+            log.warn("用户搜索索引构建失败，子串搜索将直接查询数据库", e);
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (built != null) {
+                for (Consumer<Index> operation : pending) {
+                    operation.accept(built);
+                }
+                index = built;
+                log.info("用户搜索索引构建完成，用户数: {}, 三元组数: {}, 耗时: {}ms", built.ordinals.size(),
+                        built.usernameGrams.size() + built.emailGrams.size(), System.currentTimeMillis() - start);
+            }
+        } finally {
+            pending = null;
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 索引统计信息
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            stats.put("ready", index != null);
+            stats.put("documents", index == null ? 0 : index.ordinals.size());
+            stats.put("removed", index == null ? 0 : index.removed.cardinality());
+            stats.put("grams", index == null ? 0 : index.usernameGrams.size() + index.emailGrams.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return stats;
+    }
+
+    private void apply(Consumer<Index> operation) {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                operation.accept(index);
+            }
+            if (pending != null) {
+                pending.add(operation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 归一化搜索词，不适用索引时返回 null
+     */
+    private static String searchable(String term) {
+        if (term == null || term.trim().isEmpty()) {
+            return null;
+        }
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            // 非 ASCII 的排序规则等价关系无法完全复现；MyBatis-Plus 不转义 LIKE 通配符
+            if (c >= 0x80 || c == '%' || c == '_' || c == '\\') {
+                return null;
+            }
+        }
+        String normalized = UserUniqueIndex.normalize(term);
+        return normalized.length() < GRAM ? null : normalized;
+    }
+
+    private static long gram(String value, int offset) {
+        return ((long) value.charAt(offset) << 32) | ((long) value.charAt(offset + 1) << 16) | value.charAt(offset + 2);
+    }
+
+    /**
+     * 索引数据，由外层读写锁保护
+     */
+    private static final class Index {
+
+        private long[] ids = new long[1024];
+
+        private String[] usernames = new String[1024];
+
+        private String[] emails = new String[1024];
+
+        private int size;
+
+        private final LongIntMap ordinals = new LongIntMap();
+
+        private final BitSet removed = new BitSet();
+
+        private final Grams usernameGrams = new Grams();
+
+        private final Grams emailGrams = new Grams();
+
+        private void put(long id, String username, String email) {
+            int previous = ordinals.get(id, -1);
+            String normalizedUsername = username != null ? UserUniqueIndex.normalize(username)
+                    : previous >= 0 ? usernames[previous] : null;
+            String normalizedEmail = email != null ? UserUniqueIndex.normalize(email)
+                    : previous >= 0 ? emails[previous] : null;
+            if (previous >= 0) {
+                if (Objects.equals(normalizedUsername, usernames[previous])
+                        && Objects.equals(normalizedEmail, emails[previous])) {
+                    return;
+                }
+                remove(id);
+            }
+
+            if (size == ids.length) {
+                int capacity = size + (size >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                usernames = Arrays.copyOf(usernames, capacity);
+                emails = Arrays.copyOf(emails, capacity);
+            }
+            int ordinal = size++;
+            ids[ordinal] = id;
+            usernames[ordinal] = normalizedUsername;
+            emails[ordinal] = normalizedEmail;
+            ordinals.put(id, ordinal);
+            addGrams(usernameGrams, normalizedUsername, ordinal);
+            addGrams(emailGrams, normalizedEmail, ordinal);
+        }
+
+        private void remove(long id) {
+            int ordinal = ordinals.remove(id, -1);
+            if (ordinal >= 0) {
+                removed.set(ordinal);
+                usernames[ordinal] = null;
+                emails[ordinal] = null;
+            }
+        }
+
+        private static void addGrams(Grams grams, String value, int ordinal) {
+            if (value == null) {
+                return;
+            }
+            for (int i = 0; i + GRAM <= value.length(); i++) {
+                IntList postings = grams.getOrCreate(gram(value, i));
+                // 序号递增追加，同一值内重复的三元组只会出现在列表末尾
+                if (postings.isEmpty() || postings.get(postings.size() - 1) != ordinal) {
+                    postings.add(ordinal);
+                }
+            }
+        }
+
+        /**
+         * 求各三元组列表的交集并校验原值，超过上限时返回 null
+         */
+        private Set<Long> search(Grams grams, String[] values, String term, int limit) {
+            List<IntList> lists = new ArrayList<>();
+            for (int i = 0; i + GRAM <= term.length(); i++) {
+                IntList postings = grams.get(gram(term, i));
+                if (postings == null) {
+                    return new LinkedHashSet<>();
+                }
+                if (!lists.contains(postings)) {
+                    lists.add(postings);
+                }
+            }
+            lists.sort(Comparator.comparingInt(IntList::size));
+
+            IntList smallest = lists.get(0);
+            int[] positions = new int[lists.size()];
+            Set<Long> matches = new LinkedHashSet<>();
+            for (int i = 0; i < smallest.size(); i++) {
+                int ordinal = smallest.get(i);
+                if (!containsAll(lists, positions, ordinal) || removed.get(ordinal)) {
+                    continue;
+                }
+                String value = values[ordinal];
+                if (value != null && value.contains(term)) {
+                    matches.add(ids[ordinal]);
+                    if (matches.size() > limit) {
+                        return null;
+                    }
+                }
+            }
+            return matches;
+        }
+
+        private static boolean containsAll(List<IntList> lists, int[] positions, int ordinal) {
+            for (int j = 1; j < lists.size(); j++) {
+                IntList postings = lists.get(j);
+                positions[j] = postings.lowerBound(ordinal, positions[j]);
+                if (positions[j] >= postings.size() || postings.get(positions[j]) != ordinal) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void trimToSize() {
+            usernameGrams.trimToSize();
+            emailGrams.trimToSize();
+        }
+    }
+
+    /**
+     * 三元组到记录列表：编码后的三元组映射为列表下标，列表存放在数组中
+     */
+    private static final class Grams {
+
+        private final LongIntMap slots = new LongIntMap();
+
+        private IntList[] lists = new IntList[1024];
+
+        private int size;
+
+        private IntList get(long gram) {
+            int slot = slots.get(gram, -1);
+            return slot < 0 ? null : lists[slot];
+        }
+
+        private IntList getOrCreate(long gram) {
+            int slot = slots.get(gram, -1);
+            if (slot >= 0) {
+                return lists[slot];
+            }
+            if (size == lists.length) {
+                lists = Arrays.copyOf(lists, size + (size >> 1));
+            }
+            IntList postings = new IntList(1);
+            lists[size] = postings;
+            slots.put(gram, size++);
+            return postings;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private void trimToSize() {
+            for (int i = 0; i < size; i++) {
+                lists[i].trimToSize();
+            }
+        }
+    }
+}
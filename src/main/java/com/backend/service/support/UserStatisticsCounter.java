@@ -0,0 +1,204 @@
+package com.backend.service.support;
+
+import com.backend.mapper.UserMapper;
+import com.backend.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 用户统计计数器
+ * 启动时按状态从数据库计数一次，之后由创建、删除、状态变更在事务提交后增量调整，读取为内存操作。
+ * 定时对账：与数据库重新计数比较，记录偏差并修正。
+ * <p>
+ * 内存计数与数据库计数必须对应同一组已提交的写入才能相减：每次增量递增版本号，
+ * 读取内存计数到数据库计数返回之间版本号有变化时，无法判断这些增量是否已包含在数据库计数中，放弃本次结果重试；
+ * 多次重试仍有写入时跳过本轮，留待下次对账。事务提交到增量生效之间的极短间隔仍可能造成 ±1 的偏差，由下次对账修正。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class UserStatisticsCounter {
+
+    private static final int STATUS_ACTIVE = 0;
+
+    private static final int STATUS_DISABLED = 1;
+
+    private final UserMapper userMapper;
+
+    private final Map<Integer, AtomicLong> byStatus = new ConcurrentHashMap<>();
+
+    private static final int RECONCILE_ATTEMPTS = 5;
+
+    /**
+     * 是否已完成首次对账，之前计数只含启动后的增量，不对外提供
+     */
+    private volatile boolean ready;
+
+    /**
+     * 增量版本号，每次增量生效后递增
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    private final LongAdder reconciles = new LongAdder();
+
+    private final LongAdder drifts = new LongAdder();
+
+    private final LongAdder skips = new LongAdder();
+
+    private volatile Map<Integer, Long> lastDrift = new HashMap<>();
+
+    public UserStatisticsCounter(UserMapper userMapper) {
+        this.userMapper = userMapper;
+    }
+
+    public void created(Integer status) {
+        adjust(status, 1);
+    }
+
+    public void deleted(Integer status) {
+        adjust(status, -1);
+    }
+
+    public void statusChanged(Integer from, Integer to) {
+        adjust(from, -1);
+        adjust(to, 1);
+    }
+
+    /**
+     * 当前统计，尚未完成首次计数时返回 null
+     */
+    public UserService.UserStatistics snapshot() {
+        if (!ready) {
+            return null;
+        }
+        long total = 0;
+        for (AtomicLong count : byStatus.values()) {
+            total += count.get();
+        }
+        return new UserService.UserStatistics(total, get(STATUS_ACTIVE), get(STATUS_DISABLED));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile();
+    }
+
+    @Scheduled(initialDelayString = "${app.user.statistics.reconcile-interval:PT5M}",
+            fixedDelayString = "${app.user.statistics.reconcile-interval:PT5M}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * 与数据库对账
+     */
+    public synchronized void reconcile() {
+        try {
+            Map<Integer, Long> before = null;
+            Map<Integer, Long> actual = null;
+            boolean consistent = false;
+            for (int attempt = 0; attempt < RECONCILE_ATTEMPTS && !consistent; attempt++) {
+                long startVersion = version.get();
+                before = current();
+                actual = countFromDatabase();
+                consistent = version.get() == startVersion;
+            }
+            if (!consistent) {
+                if (ready) {
+                    skips.increment();
+                    log.info("用户统计对账期间持续有写入，跳过本轮");
+                    return;
+                }
+                // 首次对账不能跳过，按最后一次结果初始化，少量偏差由下次对账修正
+                log.warn("用户统计初始化期间持续有写入，计数可能存在少量偏差");
+            }
+
+            Set<Integer> statuses = new HashSet<>(actual.keySet());
+            statuses.addAll(before.keySet());
+            Map<Integer, Long> drift = new HashMap<>();
+            for (Integer status : statuses) {
+                long diff = before.getOrDefault(status, 0L) - actual.getOrDefault(status, 0L);
+                if (diff != 0) {
+                    // 按偏差修正，保留读取内存计数之后的增量
+                    byStatus.computeIfAbsent(status, key -> new AtomicLong()).addAndGet(-diff);
+                    if (ready) {
+                        drift.put(status, diff);
+                    }
+                }
+            }
+            reconciles.increment();
+            if (!ready) {
+                ready = true;
+                log.info("用户统计计数初始化完成: {}", actual);
+            } else if (!drift.isEmpty()) {
+                drifts.increment();
+                log.warn("用户统计计数存在偏差（内存 - 数据库），已修正: {}", drift);
+            }
+            lastDrift = drift;
+        } catch (Exception e) {
+            log.warn("用户统计计数对账失败", e);
+        }
+    }
+
+    /**
+     * 计数器统计信息
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", ready);
+        stats.put("counts", current());
+        stats.put("reconcileCount", reconciles.sum());
+        stats.put("driftCount", drifts.sum());
+        stats.put("skipCount", skips.sum());
+        stats.put("lastDrift", lastDrift);
+        return stats;
+    }
+
+    private void adjust(Integer status, long delta) {
+        if (status == null) {
+            return;
+        }
+        byStatus.computeIfAbsent(status, key -> new AtomicLong()).addAndGet(delta);
+        // 先生效再递增版本号：对账读到旧版本号时，读到的内存计数一定已包含之前的增量
+        version.incrementAndGet();
+    }
+
+    private long get(int status) {
+        AtomicLong count = byStatus.get(status);
+        return count == null ? 0L : count.get();
+    }
+
+    private Map<Integer, Long> current() {
+        Map<Integer, Long> counts = new HashMap<>();
+        byStatus.forEach((status, count) -> counts.put(status, count.get()));
+        return counts;
+    }
+
+    private Map<Integer, Long> countFromDatabase() {
+        Map<Integer, Long> counts = new HashMap<>();
+        List<Map<String, Object>> rows = userMapper.countGroupByStatus();
+        for (Map<String, Object> row : rows) {
+            Number status = (Number) row.get("status");
+            Number total = (Number) row.get("total");
+            if (status != null && total != null) {
+                counts.put(status.intValue(), total.longValue());
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,281 @@
+package com.backend.service.support;
+
+import com.backend.common.collection.BloomFilter;
+import com.backend.config.UserProperties;
+import com.backend.entity.User;
+import com.backend.mapper.UserMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 用户唯一键内存索引
+ * 用户名、邮箱、手机号各一个布隆过滤器，过滤器判定不存在时无需查询数据库。
+ * 启动时从 sys_user 全量构建，写入路径实时追加；删除和改名无法从布隆过滤器移除，由定时重建清理。
+ * <p>
+ * 归一化只是 utf8mb4_unicode_ci 的近似（ß 与 ss、Æ 与 AE 等展开规则无法完整复现），
+ * 因此只对可打印 ASCII 的查询键采信“不存在”的判定，其他键直接查询数据库。
+ * 已存在的非 ASCII 键额外登记其 ASCII 折叠形式，使 “strasse” 能命中已有的 “straße”；
+ * 含有无法折叠的拉丁字母时，该批过滤器不再给出“不存在”的判定，直到下次重建。
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class UserUniqueIndex {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    /**
+     * NFKD 不分解、但排序规则按多个字母展开或视同基本字母的拉丁字母
+     */
+    private static final Map<Character, String> LATIN_EXPANSIONS = new HashMap<>();
+
+    static {
+        LATIN_EXPANSIONS.put('ß', "ss");
+        LATIN_EXPANSIONS.put('æ', "ae");
+        LATIN_EXPANSIONS.put('œ', "oe");
+        LATIN_EXPANSIONS.put('ø', "o");
+        LATIN_EXPANSIONS.put('đ', "d");
+        LATIN_EXPANSIONS.put('ð', "d");
+        LATIN_EXPANSIONS.put('ħ', "h");
+        LATIN_EXPANSIONS.put('ı', "i");
+        LATIN_EXPANSIONS.put('ł', "l");
+        LATIN_EXPANSIONS.put('þ', "th");
+        LATIN_EXPANSIONS.put('ŧ', "t");
+    }
+
+    private final UserMapper userMapper;
+
+    private final UserProperties.UniqueIndex config;
+
+    /**
+     * 当前生效的过滤器，为空表示尚未构建完成
+     */
+    private volatile Filters active;
+
+    /**
+     * 重建中的过滤器，重建期间的写入同时追加到这里
+     */
+    private volatile Filters building;
+
+    private final LongAdder definiteMisses = new LongAdder();
+
+    private final LongAdder databaseChecks = new LongAdder();
+
+    public UserUniqueIndex(UserMapper userMapper, UserProperties userProperties) {
+        this.userMapper = userMapper;
+        this.config = userProperties.getUniqueIndex();
+    }
+
+    public boolean mightContainUsername(String username) {
+        Filters filters = active;
+        return filters == null || mightContain(filters, filters.usernames, username);
+    }
+
+    public boolean mightContainEmail(String email) {
+        Filters filters = active;
+        return filters == null || mightContain(filters, filters.emails, email);
+    }
+
+    public boolean mightContainPhone(String phone) {
+        Filters filters = active;
+        return filters == null || mightContain(filters, filters.phones, phone);
+    }
+
+    private boolean mightContain(Filters filters, BloomFilter filter, String value) {
+        if (filters.uncertain || !isPrintableAscii(value)) {
+            databaseChecks.increment();
+            return true;
+        }
+        return record(filter.mightContain(normalize(value)));
+    }
+
+    /**
+     * 登记用户的唯一键，写入数据库前调用即可，多登记只会增加误判
+     */
+    public void add(User user) {
+        Filters filters = active;
+        if (filters != null) {
+            filters.add(user);
+        }
+        Filters rebuilding = building;
+        if (rebuilding != null) {
+            rebuilding.add(user);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${app.user.unique-index.rebuild-interval:PT30M}",
+            fixedDelayString = "${app.user.unique-index.rebuild-interval:PT30M}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * 从数据库全量重建
+     */
+    public synchronized void rebuild() {
+        if (!config.isEnabled()) {
+            active = null;
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            long count = userMapper.selectCount(null);
+            Filters filters = new Filters(Math.max(count * 2, config.getMinCapacity()), config.getFalsePositiveRate());
+            building = filters;
+            userMapper.scanUniqueKeys(context -> filters.add(context.getResultObject()));
+            active = filters;
+            log.info("用户唯一键索引构建完成，用户数: {}, 耗时: {}ms", count, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("用户唯一键索引构建失败，存在性检查将直接查询数据库", e);
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * 索引统计信息
+     */
+    public Map<String, Object> stats() {
+        Filters filters = active;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", filters != null);
+        stats.put("uncertain", filters != null && filters.uncertain);
+        stats.put("bitSize", filters == null ? 0L : filters.usernames.bitSize());
+        stats.put("definiteMissCount", definiteMisses.sum());
+        stats.put("databaseCheckCount", databaseChecks.sum());
+        return stats;
+    }
+
+    private boolean record(boolean mightContain) {
+        if (mightContain) {
+            databaseChecks.increment();
+        } else {
+            definiteMisses.increment();
+        }
+        return mightContain;
+    }
+
+    /**
+     * 按 utf8mb4_unicode_ci 的比较规则近似归一：忽略大小写、重音和尾部空格，全角转半角
+     */
+    public static String normalize(String value) {
+        int end = value.length();
+        while (end > 0 && value.charAt(end - 1) == ' ') {
+            end--;
+        }
+        String trimmed = value.substring(0, end);
+        boolean ascii = true;
+        for (int i = 0; i < trimmed.length(); i++) {
+            if (trimmed.charAt(i) >= 0x80) {
+                ascii = false;
+                break;
+            }
+        }
+        if (!ascii) {
+            trimmed = COMBINING_MARKS.matcher(Normalizer.normalize(trimmed, Normalizer.Form.NFKD)).replaceAll("");
+        }
+        return trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isPrintableAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c > 0x7e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 已归一的非 ASCII 键按排序规则可能等于的 ASCII 形式；不含拉丁字母时返回原值（不会与 ASCII 键相等），
+     * 含有无法折叠的拉丁字母时返回 null
+     */
+    static String asciiFold(String normalized) {
+        StringBuilder folded = new StringBuilder(normalized.length());
+        boolean foldable = true;
+        boolean latin = false;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c < 0x80) {
+                folded.append(c);
+                continue;
+            }
+            String expansion = LATIN_EXPANSIONS.get(c);
+            if (expansion != null) {
+                folded.append(expansion);
+                latin = true;
+            } else if (Character.UnicodeScript.of(c) == Character.UnicodeScript.LATIN) {
+                foldable = false;
+            } else {
+                // 其他文字的字符不会与 ASCII 相等，整个键也就不会等于任何 ASCII 键
+                return normalized;
+            }
+        }
+        if (!foldable) {
+            return null;
+        }
+        return latin ? folded.toString() : normalized;
+    }
+
+    private static final class Filters {
+
+        private final BloomFilter usernames;
+
+        private final BloomFilter emails;
+
+        private final BloomFilter phones;
+
+        /**
+         * 存在无法折叠为 ASCII 的键，不能再给出“不存在”的判定
+         */
+        private volatile boolean uncertain;
+
+        private Filters(long expectedInsertions, double falsePositiveRate) {
+            this.usernames = new BloomFilter(expectedInsertions, falsePositiveRate);
+            this.emails = new BloomFilter(expectedInsertions, falsePositiveRate);
+            this.phones = new BloomFilter(expectedInsertions, falsePositiveRate);
+        }
+
+        private void add(User user) {
+            put(usernames, user.getUsername());
+            put(emails, user.getEmail());
+            put(phones, user.getPhone());
+        }
+
+        private void put(BloomFilter filter, String value) {
+            if (value == null) {
+                return;
+            }
+            String normalized = normalize(value);
+            filter.put(normalized);
+            if (isPrintableAscii(normalized)) {
+                return;
+            }
+            String folded = asciiFold(normalized);
+            if (folded == null) {
+                uncertain = true;
+            } else if (!folded.equals(normalized)) {
+                filter.put(folded);
+            }
+        }
+    }
+}
@@ -16,6 +16,7 @@ CREATE TABLE IF NOT EXISTS `sys_user` (
     `avatar` VARCHAR(500) DEFAULT NULL COMMENT '头像URL',
     `status` INT NOT NULL DEFAULT 0 COMMENT '状态 (0: 正常, 1: 禁用)',
     `remark` VARCHAR(500) DEFAULT NULL COMMENT '备注',
+    `version` INT NOT NULL DEFAULT 0 COMMENT '乐观锁版本号',
     `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     `update_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     `create_by` VARCHAR(50) DEFAULT 'system' COMMENT '创建者',
@@ -0,0 +1,7 @@
+-- API底座项目数据库升级脚本
+-- 已有库按顺序执行，新库直接使用 init.sql
+
+USE `api_foundation`;
+
+-- 用户表增加乐观锁版本号
+ALTER TABLE `sys_user` ADD COLUMN `version` INT NOT NULL DEFAULT 0 COMMENT '乐观锁版本号' AFTER `remark`;
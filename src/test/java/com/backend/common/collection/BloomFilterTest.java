@@ -0,0 +1,55 @@
+package com.backend.common.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 布隆过滤器测试：无漏判、误判率和超过 2^31 位时的下标范围
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class BloomFilterTest {
+
+    @Test
+    void neverReportsInsertedValuesAsAbsent() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@example.com"));
+        }
+    }
+
+    @Test
+    void keepsFalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("present-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "误判数: " + falsePositives);
+    }
+
+    @Test
+    void addressesBitsBeyondIntRange() {
+        long bitSize = (1L << 36) + 64;
+        SplittableRandom random = new SplittableRandom(42);
+        long max = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long index = BloomFilter.bitIndex(random.nextLong(), bitSize);
+            assertTrue(index >= 0 && index < bitSize);
+            max = Math.max(max, index);
+        }
+        assertTrue(max > Integer.MAX_VALUE, "最大下标: " + max);
+    }
+}
@@ -0,0 +1,113 @@
+package com.backend.common.concurrent;
+
+import com.backend.common.exception.BulkheadRejectedException;
+import com.backend.common.exception.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 隔离舱测试：拒绝与排队超时、异常转换、请求超时属性
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class BulkheadTest {
+
+    private final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1);
+
+    @AfterEach
+    void tearDown() {
+        timer.shutdownNow();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        Bulkhead bulkhead = bulkhead(1, 1, TimeUnit.SECONDS.toNanos(5));
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            bulkhead.submit(() -> await(release));
+            bulkhead.submit(() -> "queued");
+            CompletableFuture<String> rejected = bulkhead.submit(() -> "rejected");
+            assertInstanceOf(BulkheadRejectedException.class, cause(rejected));
+            assertEquals(1L, bulkhead.stats().get("rejected"));
+        } finally {
+            release.countDown();
+            bulkhead.shutdown();
+        }
+    }
+
+    @Test
+    void failsTasksThatWaitLongerThanQueueTimeout() throws Exception {
+        Bulkhead bulkhead = bulkhead(1, 4, TimeUnit.MILLISECONDS.toNanos(50));
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            bulkhead.submit(() -> await(release));
+            CompletableFuture<String> waiting = bulkhead.submit(() -> "late");
+            assertInstanceOf(BulkheadRejectedException.class, cause(waiting));
+        } finally {
+            release.countDown();
+            bulkhead.shutdown();
+        }
+    }
+
+    @Test
+    void executeConvertsOnlyUnexpectedExceptions() throws Exception {
+        Bulkhead bulkhead = bulkhead(1, 4, TimeUnit.SECONDS.toNanos(5));
+        try {
+            assertEquals("fallback", bulkhead.execute(() -> {
+                throw new IllegalStateException("boom");
+            }, e -> "fallback").get(5, TimeUnit.SECONDS));
+            assertInstanceOf(BusinessException.class, cause(bulkhead.execute(() -> {
+                throw BusinessException.of("业务失败");
+            }, e -> "fallback")));
+            assertInstanceOf(CannotGetJdbcConnectionException.class, cause(bulkhead.execute(() -> {
+                throw new CannotGetJdbcConnectionException("连接池耗尽");
+            }, e -> "fallback")));
+        } finally {
+            bulkhead.shutdown();
+        }
+    }
+
+    @Test
+    void executeRecordsRequestTimeoutOnCurrentRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        Bulkhead bulkhead = new Bulkhead("test", 1, 1, TimeUnit.SECONDS.toNanos(1), 1234, timer, false);
+        assertEquals("ok", bulkhead.execute(() -> "ok", e -> "fallback").get());
+        assertEquals(1234L, RequestContextHolder.currentRequestAttributes()
+                .getAttribute(Bulkhead.REQUEST_TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    private Bulkhead bulkhead(int threads, int queueCapacity, long timeoutNanos) {
+        return new Bulkhead("test", threads, queueCapacity, timeoutNanos, 10_000, timer, true);
+    }
+
+    private static String await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+
+    private static Throwable cause(CompletableFuture<?> future) {
+        return assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS)).getCause();
+    }
+}
@@ -0,0 +1,127 @@
+package com.backend.common.concurrent;
+
+import com.backend.config.AdmissionProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 客户端限速（GCRA）测试：突发容量、按速率回填、客户端隔离、跟踪上限和清理
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class ClientRateLimiterTest {
+
+    @Test
+    void allowsBurstThenReportsWaitForNextToken() {
+        ClientRateLimiter limiter = new ClientRateLimiter(config(1, 5, 100));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1"), "第 " + i + " 个请求");
+        }
+        long wait = limiter.tryAcquire("10.0.0.1");
+
+        assertTrue(wait > 0 && wait <= TimeUnit.SECONDS.toNanos(1), "等待: " + wait);
+        assertEquals(5L, limiter.stats().get("allowed"));
+        assertEquals(1L, limiter.stats().get("rejected"));
+    }
+
+    @Test
+    void refillsAtConfiguredRate() throws InterruptedException {
+        ClientRateLimiter limiter = new ClientRateLimiter(config(100, 2, 100));
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertEquals(0, limiter.tryAcquire("client"));
+        long wait = limiter.tryAcquire("client");
+        assertTrue(wait > 0 && wait <= TimeUnit.MILLISECONDS.toNanos(10), "等待: " + wait);
+
+        TimeUnit.NANOSECONDS.sleep(wait + TimeUnit.MILLISECONDS.toNanos(2));
+
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertTrue(limiter.tryAcquire("client") > 0);
+    }
+
+    @Test
+    void clientsDoNotShareTokens() {
+        ClientRateLimiter limiter = new ClientRateLimiter(config(1, 1, 100));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void clientsBeyondTrackingLimitShareOneBucket() {
+        ClientRateLimiter limiter = new ClientRateLimiter(config(1, 1, 2));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("b"));
+
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertTrue(limiter.tryAcquire("d") > 0);
+        assertEquals(3, limiter.stats().get("clients"));
+    }
+
+    @Test
+    void cleanupRemovesOnlyRefilledClients() throws InterruptedException {
+        ClientRateLimiter limiter = new ClientRateLimiter(config(1, 10, 100));
+        assertEquals(0, limiter.tryAcquire("busy"));
+        ClientRateLimiter fast = new ClientRateLimiter(config(1000, 10, 100));
+        assertEquals(0, fast.tryAcquire("idle"));
+        TimeUnit.MILLISECONDS.sleep(5);
+
+        limiter.cleanup();
+        fast.cleanup();
+
+        assertEquals(1, limiter.stats().get("clients"));
+        assertEquals(0, fast.stats().get("clients"));
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedBurst() throws Exception {
+        // 发放间隔 100 秒，测试期间不会回填
+        ClientRateLimiter limiter = new ClientRateLimiter(config(0.01, 100, 100));
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 1_000; i++) {
+                        if (limiter.tryAcquire("shared") == 0) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(100, allowed.get());
+        assertEquals(7_900L, limiter.stats().get("rejected"));
+    }
+
+    private static AdmissionProperties.Client config(double rate, int burst, int maxClients) {
+        AdmissionProperties.Client config = new AdmissionProperties.Client();
+        config.setRate(rate);
+        config.setBurst(burst);
+        config.setMaxClients(maxClients);
+        return config;
+    }
+}
@@ -0,0 +1,151 @@
+package com.backend.common.concurrent;
+
+import com.backend.config.AdmissionProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 梯度并发上限测试：上限内放行、延迟不变时增长、延迟升高时收缩、空闲时不调整、并发放行不超限
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class GradientLimiterTest {
+
+    @Test
+    void rejectsBeyondLimitUntilReleased() {
+        AdmissionProperties.Limit config = config(2);
+        config.setMinLimit(1);
+        config.setAdaptive(false);
+        GradientLimiter limiter = new GradientLimiter(config);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        limiter.release(System.nanoTime());
+        assertTrue(limiter.tryAcquire());
+
+        assertEquals(3L, limiter.stats().get("admitted"));
+        assertEquals(1L, limiter.stats().get("rejected"));
+        assertEquals(2L, limiter.stats().get("inflight"));
+    }
+
+    @Test
+    void growsWhileLatencyStaysAtBaseline() {
+        GradientLimiter limiter = new GradientLimiter(config(10));
+
+        int previous = limiter.getLimit();
+        for (int i = 0; i < 5; i++) {
+            saturatedWindow(limiter, TimeUnit.MILLISECONDS.toNanos(10));
+            assertTrue(limiter.getLimit() > previous, "第 " + i + " 个窗口: " + limiter.getLimit());
+            previous = limiter.getLimit();
+        }
+        for (int i = 0; i < 100; i++) {
+            saturatedWindow(limiter, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        assertEquals(100, limiter.getLimit());
+    }
+
+    @Test
+    void shrinksWhenLatencyRisesAboveTolerance() {
+        GradientLimiter limiter = new GradientLimiter(config(80));
+        saturatedWindow(limiter, TimeUnit.MILLISECONDS.toNanos(10));
+        int previous = limiter.getLimit();
+
+        // 延迟升到基线的 10 倍：梯度取下限 0.5
+        for (int i = 0; i < 3; i++) {
+            saturatedWindow(limiter, TimeUnit.MILLISECONDS.toNanos(100));
+            assertTrue(limiter.getLimit() < previous, "第 " + i + " 个窗口: " + limiter.getLimit());
+            previous = limiter.getLimit();
+        }
+        // 基线只缓慢跟随，仍远低于当前延迟
+        double baseline = (Double) limiter.stats().get("baselineRttMillis");
+        assertTrue(baseline < 50, "基线: " + baseline);
+    }
+
+    @Test
+    void keepsLimitWhenPeakConcurrencyIsLow() {
+        GradientLimiter limiter = new GradientLimiter(config(20));
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void neverAdmitsMoreThanLimitConcurrently() throws Exception {
+        AdmissionProperties.Limit config = config(4);
+        config.setAdaptive(false);
+        GradientLimiter limiter = new GradientLimiter(config);
+        AtomicInteger inflight = new AtomicInteger();
+        LongAccumulator peak = new LongAccumulator(Math::max, 0);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 20_000; i++) {
+                        if (limiter.tryAcquire()) {
+                            peak.accumulate(inflight.incrementAndGet());
+                            inflight.decrementAndGet();
+                            limiter.release(System.nanoTime());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertTrue(peak.get() <= 4, "峰值并发: " + peak.get());
+        assertEquals(0L, limiter.stats().get("inflight"));
+    }
+
+    /**
+     * 并发占满上限后全部完成，每个请求耗时 rttNanos；窗口长度为 0，每个完成的请求各结束一个窗口，只有第一个窗口的峰值达到上限
+     */
+    private static void saturatedWindow(GradientLimiter limiter, long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        long startNanos = System.nanoTime() - rttNanos;
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(startNanos);
+        }
+    }
+
+    private static AdmissionProperties.Limit config(int initialLimit) {
+        AdmissionProperties.Limit config = new AdmissionProperties.Limit();
+        config.setInitialLimit(initialLimit);
+        config.setMinLimit(4);
+        config.setMaxLimit(100);
+        config.setWindow(Duration.ZERO);
+        config.setMinWindowSamples(1);
+        config.setSmoothing(1);
+        return config;
+    }
+}
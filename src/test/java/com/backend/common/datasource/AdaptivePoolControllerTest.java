@@ -0,0 +1,172 @@
+package com.backend.common.datasource;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import com.backend.config.RoutingDataSourceProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 连接池上限自适应测试，使用 H2 内存库上的 Druid 连接池：初始范围、用满等待时扩容、持续空闲时缩容
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class AdaptivePoolControllerTest {
+
+    private final List<Connection> borrowed = new ArrayList<>();
+
+    private final List<DruidDataSource> pools = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        for (Connection connection : borrowed) {
+            connection.close();
+        }
+        pools.forEach(DruidDataSource::close);
+    }
+
+    @Test
+    void clampsInitialLimitToConfiguredRange() {
+        AdaptivePoolController controller = new AdaptivePoolController(config());
+
+        DruidDataSource large = pool("large", 100);
+        controller.register(large);
+        DruidDataSource small = pool("small", 2);
+        controller.register(small);
+
+        assertEquals(16, large.getMaxActive());
+        assertEquals(4, small.getMaxActive());
+    }
+
+    @Test
+    void growsByQuarterWhenAllConnectionsAreBorrowedAndRequestsWait() throws SQLException {
+        AdaptivePoolController controller = new AdaptivePoolController(config());
+        DruidDataSource pool = pool("primary", 8);
+        AdaptivePoolDataSource dataSource = controller.register(pool);
+        borrow(dataSource, 8);
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        controller.adjust();
+
+        assertEquals(10, pool.getMaxActive());
+        assertTrue(lastDecision(controller).startsWith("扩容 8 -> 10"), lastDecision(controller));
+        // 扩容后的连接可以立即借出
+        borrow(dataSource, 2);
+    }
+
+    @Test
+    void growthStopsAtConfiguredMaximum() throws SQLException {
+        AdaptivePoolController controller = new AdaptivePoolController(config());
+        DruidDataSource pool = pool("primary", 14);
+        AdaptivePoolDataSource dataSource = controller.register(pool);
+        borrow(dataSource, 14);
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        controller.adjust();
+        assertEquals(16, pool.getMaxActive());
+
+        borrow(dataSource, 2);
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        controller.adjust();
+        assertEquals(16, pool.getMaxActive());
+    }
+
+    @Test
+    void keepsLimitWhileMoreThanHalfIsInUse() throws SQLException {
+        AdaptivePoolController controller = new AdaptivePoolController(config());
+        DruidDataSource pool = pool("primary", 8);
+        AdaptivePoolDataSource dataSource = controller.register(pool);
+        borrow(dataSource, 5);
+
+        for (int i = 0; i < 5; i++) {
+            controller.adjust();
+        }
+
+        assertEquals(8, pool.getMaxActive());
+        assertTrue(decisions(controller).isEmpty());
+    }
+
+    @Test
+    void shrinksAfterConsecutiveIdleIntervalsDownToLowerBound() {
+        AdaptivePoolController controller = new AdaptivePoolController(config());
+        DruidDataSource pool = pool("primary", 8);
+        controller.register(pool);
+
+        controller.adjust();
+        assertEquals(8, pool.getMaxActive());
+        controller.adjust();
+        assertEquals(6, pool.getMaxActive());
+        assertTrue(lastDecision(controller).startsWith("缩容 8 -> 6"), lastDecision(controller));
+
+        for (int i = 0; i < 20; i++) {
+            controller.adjust();
+        }
+        assertEquals(4, pool.getMaxActive());
+    }
+
+    @Test
+    void leavesLimitAloneWhenNotAdaptive() throws SQLException {
+        RoutingDataSourceProperties.Pool config = config();
+        config.setAdaptive(false);
+        AdaptivePoolController controller = new AdaptivePoolController(config);
+        DruidDataSource pool = pool("primary", 2);
+        AdaptivePoolDataSource dataSource = controller.register(pool);
+        borrow(dataSource, 2);
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        controller.adjust();
+
+        assertEquals(2, pool.getMaxActive());
+        assertTrue(decisions(controller).isEmpty());
+    }
+
+    private void borrow(AdaptivePoolDataSource dataSource, int count) throws SQLException {
+        for (int i = 0; i < count; i++) {
+            borrowed.add(dataSource.getConnection());
+        }
+    }
+
+    private DruidDataSource pool(String name, int maxActive) {
+        DruidDataSource pool = new DruidDataSource();
+        pool.setName(name);
+        pool.setUrl("jdbc:h2:mem:adaptive;DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        // 首次借出时同步建好全部连接，借出不受建连耗时影响
+        pool.setInitialSize(maxActive);
+        pool.setMinIdle(0);
+        pool.setMaxActive(maxActive);
+        pool.setTestWhileIdle(false);
+        pools.add(pool);
+        return pool;
+    }
+
+    private static RoutingDataSourceProperties.Pool config() {
+        RoutingDataSourceProperties.Pool config = new RoutingDataSourceProperties.Pool();
+        config.setMinActive(4);
+        config.setMaxActive(16);
+        config.setLatencyBudget(Duration.ofMillis(200));
+        config.setGrowWait(Duration.ofMillis(10));
+        config.setShrinkAfter(2);
+        return config;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> decisions(AdaptivePoolController controller) {
+        return (List<Map<String, Object>>) controller.stats().get("decisions");
+    }
+
+    private static String lastDecision(AdaptivePoolController controller) {
+        return (String) decisions(controller).get(0).get("decision");
+    }
+}
@@ -0,0 +1,100 @@
+package com.backend.common.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 读写分离路由测试，使用两个 H2 内存库分别模拟主库和从库
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate writeTransaction;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, Collections.singletonList(replica)));
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        // 代理初始化时会在事务外取一次连接，清除由此产生的主库固定
+        RoutingContext.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoutingContext.clear();
+    }
+
+    @Test
+    void readOnlyTransactionRoutesToReplica() {
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void writeTransactionRoutesToPrimary() {
+        assertEquals("primary", writeTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readAfterWriteStaysOnPrimaryUntilCleared() {
+        writeTransaction.execute(status -> jdbcTemplate.update("UPDATE marker SET hits = hits + 1"));
+        assertEquals("primary", readOnlyTransaction.execute(status -> currentDatabase()));
+
+        RoutingContext.clear();
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readOnlyTransactionsAreSpreadAcrossReplicas() {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+                database("primary"), Arrays.asList(database("replica"), database("replica2"))));
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+        // 代理初始化时会在事务外取一次连接，清除由此产生的主库固定
+        RoutingContext.clear();
+
+        String first = readOnly.execute(status -> template.queryForObject("SELECT name FROM marker", String.class));
+        String second = readOnly.execute(status -> template.queryForObject("SELECT name FROM marker", String.class));
+        assertEquals(2, Arrays.asList(first, second).stream().distinct().count());
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(20), hits INT)");
+        template.update("DELETE FROM marker");
+        template.update("INSERT INTO marker (name, hits) VALUES (?, 0)", name);
+        return dataSource;
+    }
+}
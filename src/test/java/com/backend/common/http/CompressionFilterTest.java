@@ -0,0 +1,159 @@
+package com.backend.common.http;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 压缩过滤器测试：压缩阈值、Content-Length 改写、ETag 后缀和 If-None-Match 还原
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class CompressionFilterTest {
+
+    private static final int MIN_SIZE = 64;
+
+    private final CompressionFilter filter = new CompressionFilter(MIN_SIZE,
+            Collections.singletonList("application/json"), new EncodingMetrics());
+
+    @Test
+    void compressesLargeBodyAndRewritesHeaders() throws Exception {
+        byte[] body = body(1000);
+        MockHttpServletResponse response = run(request(null), (req, resp) -> {
+            resp.setContentType("application/json");
+            resp.setHeader(HttpHeaders.ETAG, "\"u1.2.3\"");
+            resp.setContentLength(body.length);
+            resp.getOutputStream().write(body);
+        });
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"u1.2.3-gzip\"", response.getHeader(HttpHeaders.ETAG));
+        assertTrue(response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+        // 原始长度不能作为压缩后的长度输出
+        assertNull(response.getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertArrayEquals(body, gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    void keepsSmallBodyAndContentLength() throws Exception {
+        byte[] body = body(MIN_SIZE - 1);
+        MockHttpServletResponse response = run(request(null), (req, resp) -> {
+            resp.setContentType("application/json");
+            resp.setHeader(HttpHeaders.ETAG, "\"u1.2.3\"");
+            resp.setContentLength(body.length);
+            resp.getOutputStream().write(body);
+        });
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"u1.2.3\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(String.valueOf(body.length), response.getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertTrue(response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    @Test
+    void skipsUncompressibleTypes() throws Exception {
+        byte[] body = body(1000);
+        MockHttpServletResponse response = run(request(null), (req, resp) -> {
+            resp.setContentType("image/png");
+            resp.getOutputStream().write(body);
+        });
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(body, response.getContentAsByteArray());
+    }
+
+    @Test
+    void stripsGzipSuffixForConditionalRequest() throws Exception {
+        String[] seen = new String[1];
+        MockHttpServletResponse response = run(request("\"u1.2.3-cbor-gzip\""), (req, resp) -> {
+            seen[0] = req.getHeader(HttpHeaders.IF_NONE_MATCH);
+            resp.setHeader(HttpHeaders.ETAG, "\"u1.2.3-cbor\"");
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        });
+
+        // 控制器看到未压缩版本的 ETag，304 返回客户端持有的压缩版本 ETag
+        assertEquals("\"u1.2.3-cbor\"", seen[0]);
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals("\"u1.2.3-cbor-gzip\"", response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void passesThroughWithoutAcceptEncoding() throws Exception {
+        MockHttpServletRequest request = request(null);
+        request.removeHeader(HttpHeaders.ACCEPT_ENCODING);
+        byte[] body = body(1000);
+        MockHttpServletResponse response = run(request, (req, resp) -> {
+            resp.setContentType("application/json");
+            resp.setContentLength(body.length);
+            resp.getOutputStream().write(body);
+        });
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(String.valueOf(body.length), response.getHeader(HttpHeaders.CONTENT_LENGTH));
+    }
+
+    private MockHttpServletResponse run(MockHttpServletRequest request, Handler handler) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                handler.handle(req, resp);
+            }
+        }));
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user/1");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return request;
+    }
+
+    private static byte[] body(int length) {
+        byte[] body = new byte[length];
+        Arrays.fill(body, (byte) 'a');
+        return "{\"v\":\"".concat(new String(body, StandardCharsets.US_ASCII)).substring(0, length)
+                .getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private interface Handler {
+
+        void handle(HttpServletRequest request, HttpServletResponse response) throws IOException;
+    }
+}
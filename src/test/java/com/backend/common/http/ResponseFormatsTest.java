@@ -0,0 +1,59 @@
+package com.backend.common.http;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * 表示格式选择测试：与 Spring MVC 按 Accept 选择转换器的结果一致
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class ResponseFormatsTest {
+
+    private final ResponseFormats formats =
+            new ResponseFormats(true, true, new MediaType("application", "x-jackson-smile"));
+
+    @Test
+    void selectsRepresentationFromAccept() {
+        assertEquals("", suffix(null));
+        assertEquals("", suffix("*/*"));
+        assertEquals("", suffix("application/json"));
+        assertEquals("-cbor", suffix("application/cbor"));
+        assertEquals("-smile", suffix("application/x-jackson-smile"));
+        assertEquals("-cbor", suffix("application/json;q=0.5, application/cbor"));
+        assertEquals("", suffix("application/cbor;q=0.5, application/json"));
+        // q 值优先于具体程度：通配的 JSON（q=1）胜过低权重的 CBOR
+        assertEquals("", suffix("*/*, application/cbor;q=0.1"));
+        assertEquals("-smile", suffix("application/*, application/x-jackson-smile"));
+        assertEquals("", suffix("text/html"));
+    }
+
+    @Test
+    void disabledFormatsFallBackToJson() {
+        ResponseFormats jsonOnly = new ResponseFormats(false, false, MediaType.APPLICATION_JSON);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT, "application/cbor");
+        assertEquals("", jsonOnly.etagSuffix(request));
+        assertFalse(jsonOnly.negotiated());
+    }
+
+    @Test
+    void tagsStrongETags() {
+        assertEquals("\"u1.2.3-cbor\"", ResponseFormats.tag("\"u1.2.3\"", "-cbor"));
+        assertEquals("\"u1.2.3\"", ResponseFormats.tag("\"u1.2.3\"", ""));
+    }
+
+    private String suffix(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        return formats.etagSuffix(request);
+    }
+}
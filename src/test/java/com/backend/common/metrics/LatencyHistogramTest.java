@@ -0,0 +1,117 @@
+package com.backend.common.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 延迟直方图测试：分桶边界、百分位数精度和快照合并
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void bucketsAreContiguousAndOrdered() {
+        for (int i = 0; i < LatencyHistogram.BUCKETS - 1; i++) {
+            long highest = LatencyHistogram.highestValue(i);
+            assertEquals(i, LatencyHistogram.index(highest), "桶 " + i);
+            assertEquals(i + 1, LatencyHistogram.index(highest + 1), "桶 " + i);
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.index(Long.MAX_VALUE));
+    }
+
+    @Test
+    void bucketWidthStaysWithinRelativeError() {
+        for (int i = 32; i < LatencyHistogram.BUCKETS; i++) {
+            long highest = LatencyHistogram.highestValue(i);
+            long lowest = LatencyHistogram.highestValue(i - 1) + 1;
+            assertTrue((double) (highest - lowest) / lowest < 1.0 / 32, "桶 " + i);
+        }
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.percentile(99));
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 20; micros++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+        histogram.record(-5);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(21, snapshot.getCount());
+        assertEquals(0, snapshot.percentile(0));
+        assertEquals(10, snapshot.percentile(50));
+        assertEquals(20, snapshot.percentile(100));
+        assertEquals(210, snapshot.getSumMicros());
+    }
+
+    @Test
+    void percentilesOfUniformDistributionAreWithinThreePercent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long millis = 1; millis <= 10_000; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertWithin(5_000_000, snapshot.percentile(50));
+        assertWithin(9_000_000, snapshot.percentile(90));
+        assertWithin(9_900_000, snapshot.percentile(99));
+        assertWithin(9_990_000, snapshot.percentile(99.9));
+        // 最高百分位不超过记录到的最大值
+        assertEquals(10_000_000, snapshot.percentile(100));
+        assertEquals(10_000_000, snapshot.getMaxMicros());
+    }
+
+    @Test
+    void tailPercentileSeesRareSlowRequests() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 990; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(2));
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(TimeUnit.SECONDS.toNanos(3));
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertWithin(2_000, snapshot.percentile(99));
+        assertWithin(3_000_000, snapshot.percentile(99.5));
+    }
+
+    @Test
+    void mergedSnapshotsMatchSingleHistogram() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        LatencyHistogram all = new LatencyHistogram();
+        for (long millis = 1; millis <= 1_000; millis++) {
+            long nanos = TimeUnit.MILLISECONDS.toNanos(millis);
+            (millis % 3 == 0 ? a : b).record(nanos);
+            all.record(nanos);
+        }
+
+        LatencyHistogram.Snapshot merged = a.snapshot().add(b.snapshot());
+        LatencyHistogram.Snapshot expected = all.snapshot();
+        assertEquals(expected.getCount(), merged.getCount());
+        assertEquals(expected.getSumMicros(), merged.getSumMicros());
+        assertEquals(expected.getMaxMicros(), merged.getMaxMicros());
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            assertEquals(expected.percentile(percentile), merged.percentile(percentile));
+        }
+    }
+
+    private static void assertWithin(long expectedMicros, long actualMicros) {
+        assertTrue(Math.abs(actualMicros - expectedMicros) <= expectedMicros * 0.03,
+                "期望约 " + expectedMicros + "，实际 " + actualMicros);
+    }
+}
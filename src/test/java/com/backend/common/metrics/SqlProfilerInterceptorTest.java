@@ -0,0 +1,59 @@
+package com.backend.common.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+/**
+ * SQL 耗时统计插件测试：执行计划采集范围和参数重放
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class SqlProfilerInterceptorTest {
+
+    @Test
+    void explainsPlainQueriesOnly() {
+        assertTrue(SqlProfilerInterceptor.explainable("SELECT * FROM sys_user WHERE id = ?"));
+        assertTrue(SqlProfilerInterceptor.explainable("  /* hint */ select id from sys_user"));
+        assertTrue(SqlProfilerInterceptor.explainable("WITH t AS (SELECT 1) SELECT * FROM t"));
+        assertTrue(SqlProfilerInterceptor.explainable("SELECT * FROM sys_user WHERE remark = 'for updates'"));
+
+        assertFalse(SqlProfilerInterceptor.explainable("EXPLAIN SELECT * FROM sys_user"));
+        assertFalse(SqlProfilerInterceptor.explainable("/* x */ explain select 1"));
+        assertFalse(SqlProfilerInterceptor.explainable("DESCRIBE sys_user"));
+        assertFalse(SqlProfilerInterceptor.explainable("UPDATE sys_user SET status = 1"));
+    }
+
+    @Test
+    void skipsLockingReads() {
+        assertFalse(SqlProfilerInterceptor.explainable("SELECT * FROM sys_user WHERE id = ? FOR UPDATE"));
+        assertFalse(SqlProfilerInterceptor.explainable("select * from sys_user where id = ?\nfor  share"));
+        assertFalse(SqlProfilerInterceptor.explainable("SELECT * FROM sys_user LOCK IN SHARE MODE"));
+    }
+
+    @Test
+    void replaysRecordedParametersInOrder() throws Exception {
+        SqlProfilerInterceptor.RecordedParameters parameters = new SqlProfilerInterceptor.RecordedParameters();
+        PreparedStatement recorder = parameters.proxy();
+        recorder.setString(1, "alice");
+        recorder.setLong(2, 42L);
+        recorder.setNull(3, Types.INTEGER);
+        assertThrows(UnsupportedOperationException.class, recorder::getConnection);
+
+        PreparedStatement target = mock(PreparedStatement.class);
+        parameters.applyTo(target);
+        InOrder order = inOrder(target);
+        order.verify(target).setString(1, "alice");
+        order.verify(target).setLong(2, 42L);
+        order.verify(target).setNull(3, Types.INTEGER);
+    }
+}
@@ -0,0 +1,37 @@
+package com.backend.common.page;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * 计数缓存键测试
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class CountContextTest {
+
+    @Test
+    void separatorsInConditionsDoNotCollide() {
+        assertNotEquals(CountContext.cacheKey("sys_user", "a:b", "c", 0),
+                CountContext.cacheKey("sys_user", "a", "b:c", 0));
+        assertNotEquals(CountContext.cacheKey("sys_user", "a:1:b", null, null),
+                CountContext.cacheKey("sys_user", "a", "b", null));
+    }
+
+    @Test
+    void nullDiffersFromLiteralNull() {
+        assertNotEquals(CountContext.cacheKey("sys_user", null, "x", null),
+                CountContext.cacheKey("sys_user", "null", "x", null));
+        assertNotEquals(CountContext.cacheKey("sys_user", null, ""),
+                CountContext.cacheKey("sys_user", "", null));
+    }
+
+    @Test
+    void sameConditionsProduceSameKey() {
+        assertEquals(CountContext.cacheKey("sys_user", "alice", null, 1),
+                CountContext.cacheKey("sys_user", "alice", null, 1));
+    }
+}
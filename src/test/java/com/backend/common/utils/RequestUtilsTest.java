@@ -0,0 +1,44 @@
+package com.backend.common.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 请求工具类测试：可信客户端地址只取可信代理追加的 X-Forwarded-For 地址
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class RequestUtilsTest {
+
+    @Test
+    void ignoresForwardedForWithoutTrustedProxies() {
+        assertEquals("10.0.0.1", RequestUtils.clientIp(request("6.6.6.6"), 0));
+    }
+
+    @Test
+    void takesEntryAddedByOutermostTrustedProxy() {
+        // 客户端伪造了 6.6.6.6，一层代理追加真实地址 1.2.3.4
+        assertEquals("1.2.3.4", RequestUtils.clientIp(request("6.6.6.6, 1.2.3.4"), 1));
+        // 两层代理：外层追加 1.2.3.4，内层追加外层代理地址 172.16.0.1
+        assertEquals("1.2.3.4", RequestUtils.clientIp(request("6.6.6.6,1.2.3.4, 172.16.0.1"), 2));
+    }
+
+    @Test
+    void fallsBackWhenHeaderShorterThanProxyChain() {
+        assertEquals("1.2.3.4", RequestUtils.clientIp(request("1.2.3.4"), 2));
+        assertEquals("10.0.0.1", RequestUtils.clientIp(request(null), 1));
+        assertEquals("10.0.0.1", RequestUtils.clientIp(request("6.6.6.6, "), 1));
+    }
+
+    private static MockHttpServletRequest request(String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
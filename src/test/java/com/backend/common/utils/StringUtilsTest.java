@@ -0,0 +1,212 @@
+package com.backend.common.utils;
+
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import net.jqwik.api.constraints.IntRange;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 字符串工具类属性测试，逐个方法与改写前的实现比较结果
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class StringUtilsTest {
+
+    @Property
+    void isBlankMatchesTrim(@ForAll("text") String str) {
+        assertEquals(Legacy.isBlank(str), StringUtils.isBlank(str));
+        assertEquals(!Legacy.isBlank(str), StringUtils.isNotBlank(str));
+        assertEquals(Legacy.isBlank(str) ? "default" : str, StringUtils.defaultIfBlank(str, "default"));
+    }
+
+    @Property
+    void trimMethodsUnchanged(@ForAll("text") String str) {
+        assertEquals(Legacy.trimToNull(str), StringUtils.trimToNull(str));
+        assertEquals(str == null ? "" : str.trim(), StringUtils.trimToEmpty(str));
+    }
+
+    @Property
+    void capitalizeMatchesLegacy(@ForAll("text") String str, @ForAll("locales") Locale locale) {
+        withLocale(locale, () -> {
+            assertEquals(Legacy.capitalize(str), StringUtils.capitalize(str));
+            assertEquals(Legacy.uncapitalize(str), StringUtils.uncapitalize(str));
+            return null;
+        });
+    }
+
+    @Property
+    void camelToUnderscoreMatchesLegacy(@ForAll("names") String str, @ForAll("locales") Locale locale) {
+        withLocale(locale, () -> {
+            // 调用两次，第二次可能命中缓存
+            assertEquals(Legacy.camelToUnderscore(str), StringUtils.camelToUnderscore(str));
+            assertEquals(Legacy.camelToUnderscore(str), StringUtils.camelToUnderscore(str));
+            return null;
+        });
+    }
+
+    @Property
+    void camelToUnderscoreMatchesLegacyForAnyText(@ForAll("text") String str, @ForAll("locales") Locale locale) {
+        withLocale(locale, () -> {
+            assertEquals(Legacy.camelToUnderscore(str), StringUtils.camelToUnderscore(str));
+            return null;
+        });
+    }
+
+    @Property
+    void underscoreToCamelMatchesLegacy(@ForAll("names") String str) {
+        assertEquals(Legacy.underscoreToCamel(str), StringUtils.underscoreToCamel(str));
+        assertEquals(Legacy.underscoreToCamel(str), StringUtils.underscoreToCamel(str));
+    }
+
+    @Property
+    void underscoreToCamelMatchesLegacyForAnyText(@ForAll("text") String str) {
+        assertEquals(Legacy.underscoreToCamel(str), StringUtils.underscoreToCamel(str));
+    }
+
+    @Property
+    void repeatMatchesLegacy(@ForAll("text") String str, @ForAll @IntRange(min = -2, max = 40) int count) {
+        assertEquals(Legacy.repeat(str, count), StringUtils.repeat(str, count));
+    }
+
+    @Property
+    void padMatchesLegacy(@ForAll("text") String str, @ForAll @IntRange(min = -2, max = 80) int size,
+                          @ForAll char padChar) {
+        assertEquals(Legacy.leftPad(str, size, padChar), StringUtils.leftPad(str, size, padChar));
+        assertEquals(Legacy.rightPad(str, size, padChar), StringUtils.rightPad(str, size, padChar));
+    }
+
+    /**
+     * 字段名、列名风格的字符串，包含与语言环境相关的 I/i
+     */
+    @Provide
+    Arbitrary<String> names() {
+        return Arbitraries.strings().withChars("abcdeiwxyzABCDEIWXYZ_019").ofMaxLength(40).injectNull(0.02);
+    }
+
+    /**
+     * 任意文本，偏重空白、控制字符和大小写有特殊规则的字符
+     */
+    @Provide
+    Arbitrary<String> text() {
+        Arbitrary<String> any = Arbitraries.strings().all().ofMaxLength(30);
+        Arbitrary<String> tricky = Arbitraries.strings()
+                .withCharRange('\u0000', ' ')
+                .withChars("aAiIzZ_   　ßİıΣ̇Ìǅ")
+                .ofMaxLength(30);
+        return Arbitraries.oneOf(any, tricky, names()).injectNull(0.02);
+    }
+
+    @Provide
+    Arbitrary<Locale> locales() {
+        return Arbitraries.of(Locale.ROOT, Locale.ENGLISH, Locale.GERMAN,
+                new Locale("tr"), new Locale("az"), new Locale("lt"), new Locale("el"));
+    }
+
+    private static <T> T withLocale(Locale locale, Supplier<T> action) {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(locale);
+        try {
+            return action.get();
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    /**
+     * 改写前的实现，作为对照
+     */
+    private static final class Legacy {
+
+        static boolean isBlank(String str) {
+            return str == null || str.trim().length() == 0;
+        }
+
+        static String trimToNull(String str) {
+            String trimmed = str == null ? null : str.trim();
+            return trimmed == null || trimmed.length() == 0 ? null : trimmed;
+        }
+
+        static String capitalize(String str) {
+            if (str == null || str.length() == 0) {
+                return str;
+            }
+            return str.substring(0, 1).toUpperCase() + str.substring(1);
+        }
+
+        static String uncapitalize(String str) {
+            if (str == null || str.length() == 0) {
+                return str;
+            }
+            return str.substring(0, 1).toLowerCase() + str.substring(1);
+        }
+
+        static String camelToUnderscore(String str) {
+            if (str == null || str.length() == 0) {
+                return str;
+            }
+            return str.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase();
+        }
+
+        static String underscoreToCamel(String str) {
+            if (str == null || str.length() == 0) {
+                return str;
+            }
+            StringBuilder result = new StringBuilder();
+            boolean nextUpper = false;
+            for (char c : str.toCharArray()) {
+                if (c == '_') {
+                    nextUpper = true;
+                } else {
+                    if (nextUpper) {
+                        result.append(Character.toUpperCase(c));
+                        nextUpper = false;
+                    } else {
+                        result.append(c);
+                    }
+                }
+            }
+            return result.toString();
+        }
+
+        static String repeat(String str, int count) {
+            if (str == null || count <= 0) {
+                return "";
+            }
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < count; i++) {
+                sb.append(str);
+            }
+            return sb.toString();
+        }
+
+        static String leftPad(String str, int size, char padChar) {
+            if (str == null) {
+                return null;
+            }
+            int pads = size - str.length();
+            if (pads <= 0) {
+                return str;
+            }
+            return repeat(String.valueOf(padChar), pads) + str;
+        }
+
+        static String rightPad(String str, int size, char padChar) {
+            if (str == null) {
+                return null;
+            }
+            int pads = size - str.length();
+            if (pads <= 0) {
+                return str;
+            }
+            return str + repeat(String.valueOf(padChar), pads);
+        }
+    }
+}
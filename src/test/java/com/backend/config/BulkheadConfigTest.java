@@ -0,0 +1,48 @@
+package com.backend.config;
+
+import com.backend.common.concurrent.Bulkhead;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 隔离舱请求超时拦截器测试
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class BulkheadConfigTest {
+
+    @Test
+    void appliesBulkheadRequestTimeoutBeforeAsyncStarts() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        request.setAttribute(Bulkhead.REQUEST_TIMEOUT_ATTRIBUTE, 1234L);
+        StandardServletAsyncWebRequest asyncRequest =
+                new StandardServletAsyncWebRequest(request, new MockHttpServletResponse());
+        asyncRequest.setTimeout(30_000L);
+
+        new BulkheadConfig.RequestTimeoutInterceptor().beforeConcurrentHandling(asyncRequest, new DeferredResult<>());
+        asyncRequest.startAsync();
+
+        assertEquals(1234L, request.getAsyncContext().getTimeout());
+    }
+
+    @Test
+    void keepsDefaultTimeoutForOtherRequests() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        StandardServletAsyncWebRequest asyncRequest =
+                new StandardServletAsyncWebRequest(request, new MockHttpServletResponse());
+        asyncRequest.setTimeout(30_000L);
+
+        new BulkheadConfig.RequestTimeoutInterceptor().beforeConcurrentHandling(asyncRequest, new DeferredResult<>());
+        asyncRequest.startAsync();
+
+        assertEquals(30_000L, request.getAsyncContext().getTimeout());
+    }
+}
@@ -0,0 +1,43 @@
+package com.backend.service.impl;
+
+import com.backend.common.exception.BusinessException;
+import com.backend.common.result.ResultCode;
+import com.backend.config.UserProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 用户服务测试：分页参数校验
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class UserServiceImplTest {
+
+    private final UserServiceImpl userService = new UserServiceImpl();
+
+    UserServiceImplTest() {
+        ReflectionTestUtils.setField(userService, "userProperties", new UserProperties());
+    }
+
+    @Test
+    void rejectsOffsetBeyondLimit() {
+        assertBadRequest(1002L, 10L);
+    }
+
+    @Test
+    void rejectsPageNumbersWhoseOffsetWouldOverflow() {
+        // (current - 1) * size 溢出为负数时不能绕过偏移量上限
+        assertBadRequest(Long.MAX_VALUE / 4, 500L);
+        assertBadRequest(Long.MAX_VALUE, 10L);
+    }
+
+    private void assertBadRequest(Long current, Long size) {
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> userService.getUserPage(current, size, null, null, null, true));
+        assertEquals(ResultCode.BAD_REQUEST.getCode(), e.getCode());
+    }
+}
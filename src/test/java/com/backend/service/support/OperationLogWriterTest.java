@@ -0,0 +1,196 @@
+package com.backend.service.support;
+
+import com.backend.config.OperationLogProperties;
+import com.backend.entity.OperationLog;
+import com.backend.mapper.OperationLogMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 操作日志写入器测试：缓冲区满时的丢弃和等待策略、攒批、关闭时写完以及压缩截断
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class OperationLogWriterTest {
+
+    private final OperationLogMapper mapper = mock(OperationLogMapper.class);
+
+    private final List<List<OperationLog>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    private OperationLogWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null && writer.isRunning()) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void dropsWhenBufferIsFull() {
+        OperationLogProperties config = config(4, 100);
+        writer = new OperationLogWriter(mapper, config);
+
+        for (int i = 0; i < 6; i++) {
+            writer.submit(log("op" + i));
+        }
+
+        assertEquals(4, writer.stats().get("buffered"));
+        assertEquals(2L, writer.stats().get("dropped"));
+    }
+
+    @Test
+    void blockPolicyWaitsUpToTimeoutThenDrops() {
+        OperationLogProperties config = config(2, 100);
+        config.setOverflowPolicy(OperationLogProperties.OverflowPolicy.BLOCK);
+        config.setBlockTimeout(Duration.ofMillis(50));
+        writer = new OperationLogWriter(mapper, config);
+        writer.submit(log("a"));
+        writer.submit(log("b"));
+
+        long start = System.nanoTime();
+        writer.submit(log("c"));
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(1L, writer.stats().get("dropped"));
+    }
+
+    @Test
+    void blockPolicyLosesNothingWhileWriterKeepsUp() throws Exception {
+        recordBatches();
+        OperationLogProperties config = config(8, 4);
+        config.setOverflowPolicy(OperationLogProperties.OverflowPolicy.BLOCK);
+        config.setBlockTimeout(Duration.ofSeconds(5));
+        writer = new OperationLogWriter(mapper, config);
+        writer.start();
+
+        for (int i = 0; i < 500; i++) {
+            writer.submit(log("op" + i));
+        }
+        writer.stop();
+
+        assertEquals(0L, writer.stats().get("dropped"));
+        assertEquals(500L, writer.stats().get("written"));
+        for (List<OperationLog> batch : batches) {
+            assertTrue(batch.size() <= 4, "批大小: " + batch.size());
+        }
+    }
+
+    @Test
+    void flushesPartialBatchAfterInterval() throws Exception {
+        CountDownLatch flushed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            batches.add(new ArrayList<>(invocation.getArgument(0)));
+            flushed.countDown();
+            return 0;
+        }).when(mapper).insertBatch(anyList());
+        OperationLogProperties config = config(64, 100);
+        config.setFlushInterval(Duration.ofMillis(20));
+        writer = new OperationLogWriter(mapper, config);
+        writer.start();
+
+        writer.submit(log("a"));
+        writer.submit(log("b"));
+
+        assertTrue(flushed.await(5, TimeUnit.SECONDS));
+        assertEquals(2, batches.get(0).size());
+    }
+
+    @Test
+    void writesRemainingLogsOnStop() {
+        recordBatches();
+        OperationLogProperties config = config(64, 100);
+        config.setFlushInterval(Duration.ofMinutes(10));
+        writer = new OperationLogWriter(mapper, config);
+        writer.start();
+
+        for (int i = 0; i < 10; i++) {
+            writer.submit(log("op" + i));
+        }
+        writer.stop();
+
+        assertEquals(10L, writer.stats().get("written"));
+        assertEquals(0, writer.stats().get("buffered"));
+    }
+
+    @Test
+    void compressesLargePayloadsAndTruncatesWhatStillDoesNotFit() throws IOException {
+        recordBatches();
+        OperationLogProperties config = config(64, 100);
+        config.setCompressThreshold(100);
+        config.setMaxPayloadLength(200);
+        writer = new OperationLogWriter(mapper, config);
+        writer.start();
+
+        String repetitive = String.join("", Collections.nCopies(100, "abcdef"));
+        StringBuilder random = new StringBuilder();
+        java.util.Random generator = new java.util.Random(1);
+        for (int i = 0; i < 400; i++) {
+            random.append((char) ('a' + generator.nextInt(26)));
+        }
+        OperationLog operationLog = log("big");
+        operationLog.setParams(repetitive);
+        operationLog.setResult(random.toString());
+        writer.submit(operationLog);
+        writer.stop();
+
+        OperationLog written = batches.get(0).get(0);
+        assertTrue(written.getParams().startsWith(OperationLogWriter.GZIP_PREFIX));
+        assertEquals(repetitive, gunzip(written.getParams()));
+        assertEquals(200, written.getResult().length());
+        assertTrue(written.getResult().endsWith("(已截断，原长度400)"));
+    }
+
+    private void recordBatches() {
+        doAnswer(invocation -> {
+            batches.add(new ArrayList<>(invocation.getArgument(0)));
+            return 0;
+        }).when(mapper).insertBatch(anyList());
+    }
+
+    private static OperationLogProperties config(int bufferSize, int batchSize) {
+        OperationLogProperties config = new OperationLogProperties();
+        config.setBufferSize(bufferSize);
+        config.setBatchSize(batchSize);
+        config.setShutdownTimeout(Duration.ofSeconds(10));
+        return config;
+    }
+
+    private static OperationLog log(String operation) {
+        OperationLog operationLog = new OperationLog();
+        operationLog.setOperation(operation);
+        return operationLog;
+    }
+
+    private static String gunzip(String encoded) throws IOException {
+        byte[] bytes = Base64.getDecoder().decode(encoded.substring(OperationLogWriter.GZIP_PREFIX.length()));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            java.io.ByteArrayOutputStream out = new java.io.ByteArrayOutputStream();
+            byte[] chunk = new byte[4096];
+            int n;
+            while ((n = in.read(chunk)) > 0) {
+                out.write(chunk, 0, n);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
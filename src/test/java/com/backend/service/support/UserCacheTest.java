@@ -0,0 +1,116 @@
+package com.backend.service.support;
+
+import com.backend.config.UserProperties;
+import com.backend.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 用户本地缓存测试：多键访问、容量淘汰、有效期和失效版本号
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class UserCacheTest {
+
+    @Test
+    void resolvesAllKeysAndReturnsCopies() {
+        UserCache cache = cache(10, Duration.ofMinutes(1));
+        cache.put(user(1L, "alice"), cache.stamp());
+
+        User byId = cache.getById(1L);
+        byId.setUsername("changed");
+        assertEquals("alice", cache.getById(1L).getUsername());
+        assertEquals(1L, cache.getByUsername("alice").getId());
+        assertEquals(1L, cache.getByEmail("alice@example.com").getId());
+        assertEquals(1L, cache.getByPhone("alice-phone").getId());
+    }
+
+    @Test
+    void dropsSecondaryKeysOfRenamedUser() {
+        UserCache cache = cache(10, Duration.ofMinutes(1));
+        cache.put(user(1L, "alice"), cache.stamp());
+        cache.put(user(1L, "alicia"), cache.stamp());
+
+        assertNull(cache.getByUsername("alice"));
+        assertEquals("alicia", cache.getByUsername("alicia").getUsername());
+    }
+
+    @Test
+    void evictsOldestEntriesBeyondMaximumSize() {
+        UserCache cache = cache(3, Duration.ofMinutes(1));
+        for (long id = 1; id <= 5; id++) {
+            cache.put(user(id, "user" + id), cache.stamp());
+        }
+
+        assertNull(cache.peek(1L));
+        assertNull(cache.peek(2L));
+        assertNull(cache.getByUsername("user1"));
+        assertNotNull(cache.peek(3L));
+        assertNotNull(cache.peek(5L));
+        assertEquals(3, cache.stats().get("size"));
+        assertEquals(2L, cache.stats().get("evictionCount"));
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() throws InterruptedException {
+        UserCache cache = cache(10, Duration.ofMillis(20));
+        cache.put(user(1L, "alice"), cache.stamp());
+        assertNotNull(cache.getById(1L));
+
+        Thread.sleep(50);
+        assertNull(cache.getById(1L));
+        assertNull(cache.getByUsername("alice"));
+        assertEquals(0, cache.stats().get("size"));
+    }
+
+    @Test
+    void ignoresLoadsThatStartedBeforeInvalidation() {
+        UserCache cache = cache(10, Duration.ofMinutes(1));
+        long stamp = cache.stamp();
+        // 加载期间其他请求修改了用户并使缓存失效，先前读到的旧数据不应写入
+        cache.invalidate(1L);
+        cache.put(user(1L, "stale"), stamp);
+        assertNull(cache.peek(1L));
+
+        cache.put(user(1L, "fresh"), cache.stamp());
+        assertEquals("fresh", cache.peek(1L).getUsername());
+    }
+
+    @Test
+    void invalidateAndClearRemoveEntries() {
+        UserCache cache = cache(10, Duration.ofMinutes(1));
+        cache.put(user(1L, "alice"), cache.stamp());
+        cache.put(user(2L, "bob"), cache.stamp());
+
+        cache.invalidate(1L);
+        assertNull(cache.peek(1L));
+        assertNull(cache.getByUsername("alice"));
+        assertNotNull(cache.peek(2L));
+
+        cache.clear();
+        assertNull(cache.peek(2L));
+        assertEquals(0, cache.stats().get("size"));
+    }
+
+    private static UserCache cache(int maximumSize, Duration ttl) {
+        UserProperties properties = new UserProperties();
+        properties.getCache().setMaximumSize(maximumSize);
+        properties.getCache().setTtl(ttl);
+        return new UserCache(properties);
+    }
+
+    private static User user(Long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPhone(username + "-phone");
+        return user;
+    }
+}
@@ -0,0 +1,183 @@
+package com.backend.service.support;
+
+import com.backend.entity.SysRole;
+import com.backend.entity.UserRole;
+import com.backend.mapper.SysRoleMapper;
+import com.backend.mapper.UserRoleMapper;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 用户角色缓存测试：位序号分配、跨字位图、角色表重载时位序号保持不变
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class UserRoleCacheTest {
+
+    private SysRoleMapper sysRoleMapper;
+
+    private UserRoleMapper userRoleMapper;
+
+    private UserRoleCache cache;
+
+    @BeforeEach
+    void setUp() {
+        sysRoleMapper = mock(SysRoleMapper.class);
+        userRoleMapper = mock(UserRoleMapper.class);
+        cache = new UserRoleCache(sysRoleMapper, userRoleMapper);
+    }
+
+    @Test
+    void assignsOneBitPerRoleAndLoadsUsers() {
+        roles(role(10L, "ADMIN", 0), role(20L, "EDITOR", 0), role(30L, "VIEWER", 1));
+        assignments(userRole(1L, 10L), userRole(1L, 30L), userRole(2L, 20L), userRole(3L, 99L));
+
+        cache.rebuild();
+
+        assertEquals(3, cache.stats().get("bits"));
+        assertEquals(2, cache.stats().get("users"));
+        assertArrayEquals(new long[]{0b001L}, cache.mask("ADMIN"));
+        assertArrayEquals(new long[]{0b110L}, cache.mask("EDITOR", "VIEWER", "UNKNOWN"));
+        assertTrue(cache.hasRole(1L, "ADMIN"));
+        // 禁用的角色即使已分配也不生效
+        assertFalse(cache.hasRole(1L, "VIEWER"));
+        assertEquals(Collections.singleton("ADMIN"), cache.getRoleCodes(1L));
+        assertTrue(cache.hasAnyRole(2L, cache.mask("ADMIN", "EDITOR")));
+        assertFalse(cache.hasAnyRole(2L, cache.mask("ADMIN")));
+        // 只分配了未知角色的用户不占用缓存
+        assertFalse(cache.hasAnyRole(3L, cache.mask("ADMIN", "EDITOR", "VIEWER")));
+    }
+
+    @Test
+    void spansMultipleWordsBeyondSixtyFourRoles() {
+        SysRole[] rows = new SysRole[70];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = role(i + 1L, "R" + i, 0);
+        }
+        roles(rows);
+        assignments(userRole(1L, 1L), userRole(1L, 70L));
+
+        cache.rebuild();
+
+        assertArrayEquals(new long[]{0L, 1L << 5}, cache.mask("R69"));
+        assertTrue(cache.hasRole(1L, "R69"));
+        assertTrue(cache.hasAnyRole(1L, cache.mask("R69")));
+        assertFalse(cache.hasRole(1L, "R64"));
+        assertEquals(new LinkedHashSet<>(Arrays.asList("R0", "R69")), cache.getRoleCodes(1L));
+    }
+
+    @Test
+    void reloadRolesKeepsExistingBitsAndMasks() {
+        roles(role(10L, "ADMIN", 0), role(20L, "EDITOR", 0));
+        assignments(userRole(1L, 10L), userRole(2L, 20L));
+        cache.rebuild();
+        long[] adminMask = cache.mask("ADMIN");
+        long[] editorMask = cache.mask("EDITOR");
+
+        // 删除 ADMIN，新增 AUDITOR：新角色追加在末尾，不复用 ADMIN 的位
+        roles(role(30L, "AUDITOR", 0), role(20L, "EDITOR", 0));
+        cache.reloadRoles();
+
+        assertEquals(3, cache.stats().get("bits"));
+        assertArrayEquals(editorMask, cache.mask("EDITOR"));
+        assertArrayEquals(new long[]{0b100L}, cache.mask("AUDITOR"));
+        assertTrue(cache.hasAnyRole(2L, editorMask));
+        assertFalse(cache.hasAnyRole(1L, adminMask));
+        assertFalse(cache.hasRole(1L, "ADMIN"));
+
+        // 恢复 ADMIN：沿用原位序号，用户位图无需重建即重新生效
+        roles(role(10L, "ADMIN", 0), role(20L, "EDITOR", 0), role(30L, "AUDITOR", 0));
+        cache.reloadRoles();
+
+        assertEquals(3, cache.stats().get("bits"));
+        assertArrayEquals(adminMask, cache.mask("ADMIN"));
+        assertTrue(cache.hasAnyRole(1L, adminMask));
+    }
+
+    @Test
+    void rebuildKeepsBitsOfExistingRoles() {
+        roles(role(10L, "ADMIN", 0), role(20L, "EDITOR", 0));
+        assignments(userRole(1L, 10L));
+        cache.rebuild();
+        long[] editorMask = cache.mask("EDITOR");
+
+        roles(role(5L, "AUDITOR", 0), role(10L, "ADMIN", 0), role(20L, "EDITOR", 0));
+        assignments(userRole(1L, 5L), userRole(1L, 20L));
+        cache.rebuild();
+
+        assertArrayEquals(editorMask, cache.mask("EDITOR"));
+        assertArrayEquals(new long[]{0b100L}, cache.mask("AUDITOR"));
+        assertEquals(new LinkedHashSet<>(Arrays.asList("EDITOR", "AUDITOR")), cache.getRoleCodes(1L));
+    }
+
+    @Test
+    void refreshUserLoadsRolesCreatedAfterBuild() {
+        roles(role(10L, "ADMIN", 0));
+        assignments();
+        cache.rebuild();
+
+        roles(role(10L, "ADMIN", 0), role(40L, "OPERATOR", 0));
+        doReturn(Arrays.asList(10L, 40L)).when(userRoleMapper).selectRoleIds(7L);
+        cache.refreshUser(7L);
+
+        assertEquals(new LinkedHashSet<>(Arrays.asList("ADMIN", "OPERATOR")), cache.getRoleCodes(7L));
+
+        doReturn(Collections.emptyList()).when(userRoleMapper).selectRoleIds(7L);
+        cache.refreshUser(7L);
+        assertEquals(0, cache.stats().get("users"));
+    }
+
+    private void roles(SysRole... rows) {
+        doReturn(Arrays.asList(rows)).when(sysRoleMapper).selectRoleIndexRows();
+    }
+
+    /**
+     * 模拟按 user_id 排序的流式结果
+     */
+    private void assignments(UserRole... rows) {
+        List<UserRole> sorted = new ArrayList<>(Arrays.asList(rows));
+        sorted.sort((a, b) -> Long.compare(a.getUserId(), b.getUserId()));
+        doAnswer(invocation -> {
+            ResultHandler<UserRole> handler = invocation.getArgument(0);
+            for (UserRole row : sorted) {
+                DefaultResultContext<UserRole> context = new DefaultResultContext<>();
+                context.nextResultObject(row);
+                handler.handleResult(context);
+            }
+            return null;
+        }).when(userRoleMapper).scanAll(any());
+    }
+
+    private static SysRole role(Long id, String roleCode, int status) {
+        SysRole role = new SysRole();
+        role.setId(id);
+        role.setRoleCode(roleCode);
+        role.setStatus(status);
+        return role;
+    }
+
+    private static UserRole userRole(Long userId, Long roleId) {
+        UserRole userRole = new UserRole();
+        userRole.setUserId(userId);
+        userRole.setRoleId(roleId);
+        return userRole;
+    }
+}
@@ -0,0 +1,142 @@
+package com.backend.service.support;
+
+import com.backend.config.UserProperties;
+import com.backend.entity.User;
+import com.backend.mapper.UserMapper;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 子串搜索索引测试：重建、增量写入、重建期间写入的重放和不适用时的回退
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class UserSearchIndexTest {
+
+    private UserMapper userMapper;
+
+    private UserProperties properties;
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        userMapper = mock(UserMapper.class);
+        properties = new UserProperties();
+        properties.getSearch().setEnabled(true);
+        properties.getSearch().setMaxCandidates(10);
+        index = new UserSearchIndex(userMapper, properties);
+    }
+
+    @Test
+    void findsSubstringsAfterRebuild() {
+        scan(Arrays.asList(user(1L, "alice", "alice@example.com"), user(2L, "Malice", "m@test.org"),
+                user(3L, "bob", "bob@example.com")));
+        index.rebuild();
+
+        assertEquals(ids(1L, 2L), index.search("LIC", null));
+        assertEquals(ids(1L, 3L), index.search(null, "example"));
+        assertEquals(ids(1L), index.search("lic", "example"));
+        assertEquals(ids(), index.search("zzz", null));
+    }
+
+    @Test
+    void fallsBackWhenIndexCannotAnswer() {
+        scan(Collections.singletonList(user(1L, "alice", "alice@example.com")));
+        assertNull(index.search("alice", null), "构建前");
+        index.rebuild();
+
+        assertNull(index.search("al", null), "短于三元组");
+        assertNull(index.search("al%ce", null), "LIKE 通配符");
+        assertNull(index.search("алиса", null), "非 ASCII");
+
+        properties.getSearch().setEnabled(false);
+        assertNull(index.search("alice", null), "关闭");
+    }
+
+    @Test
+    void appliesRenamesAndRemovals() {
+        scan(Arrays.asList(user(1L, "alice", "alice@example.com"), user(2L, "bob", "bob@example.com")));
+        index.rebuild();
+
+        index.put(1L, "carol", null);
+        index.remove(2L);
+        index.put(3L, "alicia", "alicia@example.com");
+
+        assertEquals(ids(3L), index.search("ali", null));
+        assertEquals(ids(1L), index.search("carol", null));
+        // 只改用户名时保留原邮箱
+        assertEquals(ids(1L, 3L), index.search(null, "example"));
+    }
+
+    @Test
+    void replaysWritesCommittedDuringRebuild() {
+        doAnswer(invocation -> {
+            ResultHandler<User> handler = invocation.getArgument(0);
+            handle(handler, user(1L, "alice", "alice@example.com"));
+            // 扫描期间提交的写入：新建用户，并把已扫描的用户改名
+            index.put(2L, "alina", "alina@example.com");
+            index.put(1L, "carol", null);
+            handle(handler, user(3L, "bob", "bob@example.com"));
+            return null;
+        }).when(userMapper).scanUniqueKeys(any());
+        index.rebuild();
+
+        assertEquals(ids(2L), index.search("ali", null));
+        assertEquals(ids(1L), index.search("carol", null));
+        assertEquals(ids(3L), index.search("bob", null));
+    }
+
+    @Test
+    void returnsNullWhenCandidatesExceedLimit() {
+        User[] users = new User[11];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = user(i + 1L, "user" + i, null);
+        }
+        scan(Arrays.asList(users));
+        index.rebuild();
+
+        assertNull(index.search("user", null));
+        assertEquals(ids(2L, 11L), index.search("user1", null));
+    }
+
+    private void scan(List<User> users) {
+        doAnswer(invocation -> {
+            ResultHandler<User> handler = invocation.getArgument(0);
+            users.forEach(user -> handle(handler, user));
+            return null;
+        }).when(userMapper).scanUniqueKeys(any());
+    }
+
+    private static void handle(ResultHandler<User> handler, User user) {
+        DefaultResultContext<User> context = new DefaultResultContext<>();
+        context.nextResultObject(user);
+        handler.handleResult(context);
+    }
+
+    private static User user(Long id, String username, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(email);
+        return user;
+    }
+
+    private static HashSet<Long> ids(Long... ids) {
+        return new HashSet<>(Arrays.asList(ids));
+    }
+}
@@ -0,0 +1,151 @@
+package com.backend.service.support;
+
+import com.backend.mapper.UserMapper;
+import com.backend.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 用户统计计数器测试：首次对账、增量、偏差修正和对账期间写入的处理
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class UserStatisticsCounterTest {
+
+    private UserMapper userMapper;
+
+    private UserStatisticsCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        userMapper = mock(UserMapper.class);
+        counter = new UserStatisticsCounter(userMapper);
+    }
+
+    @Test
+    void servesNothingUntilFirstReconcile() {
+        counter.created(0);
+        assertNull(counter.snapshot());
+
+        when(userMapper.countGroupByStatus()).thenReturn(rows(5, 2));
+        counter.reconcile();
+
+        assertStatistics(7, 5, 2);
+        assertEquals(Collections.emptyMap(), counter.stats().get("lastDrift"));
+    }
+
+    @Test
+    void appliesIncrementsAfterReconcile() {
+        when(userMapper.countGroupByStatus()).thenReturn(rows(5, 2));
+        counter.reconcile();
+
+        counter.created(0);
+        counter.statusChanged(0, 1);
+        counter.deleted(1);
+        counter.created(null);
+
+        assertStatistics(7, 5, 2);
+        counter.created(1);
+        assertStatistics(8, 5, 3);
+    }
+
+    @Test
+    void correctsDriftAgainstDatabase() {
+        when(userMapper.countGroupByStatus()).thenReturn(rows(5, 2));
+        counter.reconcile();
+        // 增量与数据库不一致（例如事务提交后增量丢失）
+        counter.created(0);
+        counter.deleted(1);
+
+        counter.reconcile();
+
+        assertStatistics(7, 5, 2);
+        Map<Integer, Long> drift = new HashMap<>();
+        drift.put(0, 1L);
+        drift.put(1, -1L);
+        assertEquals(drift, counter.stats().get("lastDrift"));
+        assertEquals(1L, counter.stats().get("driftCount"));
+    }
+
+    @Test
+    void retriesWhenWritesLandDuringCount() {
+        when(userMapper.countGroupByStatus()).thenReturn(rows(5, 2));
+        counter.reconcile();
+
+        // 第一次计数期间提交了一个创建：数据库计数已包含，内存读取时尚未包含，不能直接相减
+        doAnswer(invocation -> {
+            counter.created(0);
+            return rows(6, 2);
+        }).doReturn(rows(6, 2)).when(userMapper).countGroupByStatus();
+        counter.reconcile();
+
+        verify(userMapper, times(3)).countGroupByStatus();
+        assertStatistics(8, 6, 2);
+        assertEquals(0L, counter.stats().get("driftCount"));
+    }
+
+    @Test
+    void skipsRoundWhenWritesNeverSettle() {
+        when(userMapper.countGroupByStatus()).thenReturn(rows(5, 2));
+        counter.reconcile();
+
+        doAnswer(invocation -> {
+            counter.created(0);
+            return rows(100, 100);
+        }).when(userMapper).countGroupByStatus();
+        counter.reconcile();
+
+        assertEquals(1L, counter.stats().get("skipCount"));
+        // 跳过时不按数据库结果修正，保留全部增量
+        assertStatistics(12, 10, 2);
+    }
+
+    @Test
+    void keepsCountsWhenDatabaseFails() {
+        when(userMapper.countGroupByStatus()).thenReturn(rows(5, 2));
+        counter.reconcile();
+        doThrow(new IllegalStateException("数据库不可用")).when(userMapper).countGroupByStatus();
+
+        counter.reconcile();
+
+        assertStatistics(7, 5, 2);
+        assertEquals(1L, counter.stats().get("reconcileCount"));
+    }
+
+    private void assertStatistics(long total, long active, long disabled) {
+        UserService.UserStatistics statistics = counter.snapshot();
+        assertEquals(total, statistics.getTotalUsers());
+        assertEquals(active, statistics.getActiveUsers());
+        assertEquals(disabled, statistics.getDisabledUsers());
+    }
+
+    private static List<Map<String, Object>> rows(long active, long disabled) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        rows.add(row(0, active));
+        rows.add(row(1, disabled));
+        return rows;
+    }
+
+    private static Map<String, Object> row(int status, long total) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("status", status);
+        row.put("total", total);
+        return row;
+    }
+}
@@ -0,0 +1,96 @@
+package com.backend.service.support;
+
+import com.backend.config.UserProperties;
+import com.backend.entity.User;
+import com.backend.mapper.UserMapper;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 唯一键索引测试：归一化、ASCII 折叠和“不存在”判定的适用范围
+ *
+ * @author backend
+ * @since 1.0.0
+ */
+class UserUniqueIndexTest {
+
+    @Test
+    void normalizesCaseAccentsWidthAndTrailingSpaces() {
+        assertEquals("alice", UserUniqueIndex.normalize("Alice  "));
+        assertEquals("  alice", UserUniqueIndex.normalize("  alice"));
+        assertEquals("cafe", UserUniqueIndex.normalize("Café"));
+        assertEquals("abc123", UserUniqueIndex.normalize("ＡＢＣ１２３"));
+        assertEquals("straße", UserUniqueIndex.normalize("STRAßE"));
+        assertEquals("张三", UserUniqueIndex.normalize("张三"));
+    }
+
+    @Test
+    void foldsLatinLettersThatCollationExpands() {
+        assertEquals("strasse", UserUniqueIndex.asciiFold("straße"));
+        assertEquals("aeon", UserUniqueIndex.asciiFold("æon"));
+        assertEquals("lodz", UserUniqueIndex.asciiFold("łodz"));
+    }
+
+    @Test
+    void foldingLeavesOtherScriptsAndGivesUpOnUnknownLatin() {
+        assertEquals("张三", UserUniqueIndex.asciiFold("张三"));
+        assertEquals("ß张", UserUniqueIndex.asciiFold("ß张"));
+        assertNull(UserUniqueIndex.asciiFold("ŋa"));
+    }
+
+    @Test
+    void trustsAbsenceOnlyForPrintableAsciiKeys() {
+        UserUniqueIndex index = index(Arrays.asList(user("Alice", "alice@example.com"), user("Straße", null)));
+
+        assertTrue(index.mightContainUsername("ALICE "));
+        assertTrue(index.mightContainUsername("strasse"));
+        assertTrue(index.mightContainEmail("Alice@Example.com"));
+        assertFalse(index.mightContainUsername("bob"));
+        assertFalse(index.mightContainEmail("bob@example.com"));
+        // 非 ASCII 查询键总是回源数据库
+        assertTrue(index.mightContainUsername("bøb"));
+    }
+
+    @Test
+    void unfoldableKeyDisablesAbsenceAnswers() {
+        UserUniqueIndex index = index(Arrays.asList(user("alice", null), user("ŋo", null)));
+
+        assertTrue(index.mightContainUsername("bob"));
+        assertEquals(true, index.stats().get("uncertain"));
+    }
+
+    private static UserUniqueIndex index(List<User> users) {
+        UserMapper userMapper = mock(UserMapper.class);
+        doAnswer(invocation -> {
+            ResultHandler<User> handler = invocation.getArgument(0);
+            for (User user : users) {
+                DefaultResultContext<User> context = new DefaultResultContext<>();
+                context.nextResultObject(user);
+                handler.handleResult(context);
+            }
+            return null;
+        }).when(userMapper).scanUniqueKeys(any());
+        UserUniqueIndex index = new UserUniqueIndex(userMapper, new UserProperties());
+        index.rebuild();
+        return index;
+    }
+
+    private static User user(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        return user;
+    }
+}